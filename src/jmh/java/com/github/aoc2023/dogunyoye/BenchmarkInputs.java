@@ -0,0 +1,39 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.github.aoc2023.dogunyoye.generator.Generators;
+
+/**
+ * Inputs shared by the JMH harnesses.
+ * <p>
+ * Each harness takes a {@code size} parameter. Size 0 is the bundled puzzle example;
+ * any other size is a synthetic input from the day's generator, built from a fixed
+ * seed so every run measures the same input.
+ */
+final class BenchmarkInputs {
+
+    private static final long SEED = 2023L;
+
+    private BenchmarkInputs() { }
+
+    static List<String> testInput(String fileName) {
+        try {
+            return Files.readAllLines(Path.of("src/test/resources", fileName));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<String> generated(int day, int size) {
+        return Generators.create(day).generate(size, SEED);
+    }
+
+    static List<String> input(int day, int size, String fileName) {
+        return size == 0 ? testInput(fileName) : generated(day, size);
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The brute force solutions kept alongside the fast ones, which are only practical on
+ * the puzzle examples, so there is no {@code size} to vary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BruteForceBenchmark {
+
+    private List<String> almanac;
+    private List<String> wiringDiagram;
+
+    @Setup
+    public void setUp() {
+        almanac = BenchmarkInputs.testInput("Day05TestInput.txt");
+        wiringDiagram = BenchmarkInputs.testInput("Day25TestInput.txt");
+    }
+
+    // walks every seed in every range, which takes minutes on a generated almanac
+    @Benchmark
+    public long day05FindLowestLocationForSeedNumberRangeBruteForce() {
+        return new Day05().findLowestLocationForSeedNumberRangeBruteForce(almanac);
+    }
+
+    // tries every triple of wires, which takes seconds even on a small generated diagram
+    @Benchmark
+    public int day25FindProductOfDisconnectedComponentsBruteForce() {
+        return new Day25().findProductOfDisconnectedComponentsBruteForce(wiringDiagram);
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The scalar and vector {@link ByteKernels} over every row of a generated grid
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ByteKernelsBenchmark {
+
+    @Param({"scalar", "vector"})
+    private String kernel;
+
+    @Param({"140", "1000"})
+    private int size;
+
+    private ByteKernels kernels;
+    private Grid grid;
+    private byte[] marks;
+
+    @Setup
+    public void setUp() {
+        kernels = "scalar".equals(kernel) ? ByteKernels.scalar() : new VectorByteKernels();
+        // Day03's schematic has symbols, digits and '.', like the other days' grids
+        final List<String> data = BenchmarkInputs.generated(3, size);
+        grid = Grid.of(data, '.');
+        marks = new byte[grid.length()];
+    }
+
+    @Benchmark
+    public int count() {
+        int sum = 0;
+        for (int i = 0; i < grid.depth(); i++) {
+            sum += kernels.count(grid.cells(), grid.index(i, 0), grid.length(), (byte) '.');
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public byte[] markDiffering() {
+        for (int i = 0; i < grid.depth(); i++) {
+            kernels.markDiffering(grid.cells(), grid.index(i, 0), grid.length(), (byte) '.', marks);
+        }
+        return marks;
+    }
+
+    @Benchmark
+    public int indexOfSymbol() {
+        int symbols = 0;
+        for (int i = 0; i < grid.depth(); i++) {
+            final int start = grid.index(i, 0);
+            final int end = start + grid.length();
+            for (int idx = kernels.indexOfSymbol(grid.cells(), start, end); idx < end; idx = kernels.indexOfSymbol(grid.cells(), idx + 1, end)) {
+                symbols++;
+            }
+        }
+        return symbols;
+    }
+}
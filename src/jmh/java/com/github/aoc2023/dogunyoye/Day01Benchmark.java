@@ -0,0 +1,47 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Day01Benchmark {
+
+    @Param({"0", "10000"})
+    private int size;
+
+    private List<String> documentLines;
+    private List<String> revisedDocumentLines;
+
+    @Setup
+    public void setUp() {
+        documentLines = BenchmarkInputs.input(1, size, "Day01Part1TestInput.txt");
+        revisedDocumentLines = BenchmarkInputs.input(1, size, "Day01Part2TestInput.txt");
+    }
+
+    @Benchmark
+    public long sumOfAllCalibrationValues() {
+        return new Day01().sumOfAllCalibrationValues(documentLines);
+    }
+
+    @Benchmark
+    public long sumOfAllRevisedCalibrationValues() {
+        return new Day01().sumOfAllRevisedCalibrationValues(revisedDocumentLines);
+    }
+}
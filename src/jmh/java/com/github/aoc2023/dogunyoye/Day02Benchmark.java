@@ -0,0 +1,45 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Day02Benchmark {
+
+    @Param({"0", "10000"})
+    private int size;
+
+    private List<String> gamesList;
+
+    @Setup
+    public void setUp() {
+        gamesList = BenchmarkInputs.input(2, size, "Day02TestInput.txt");
+    }
+
+    @Benchmark
+    public int sumCandidateGameIds() {
+        return new Day02().sumCandidateGameIds(gamesList);
+    }
+
+    @Benchmark
+    public int sumMaxCubesPerGame() {
+        return new Day02().sumMaxCubesPerGame(gamesList);
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Day05Benchmark {
+
+    @Param({"0", "200"})
+    private int size;
+
+    private List<String> farmInfo;
+
+    @Setup
+    public void setUp() {
+        farmInfo = BenchmarkInputs.input(5, size, "Day05TestInput.txt");
+    }
+
+    @Benchmark
+    public long findLowestLocationNumber() {
+        return new Day05().findLowestLocationNumber(farmInfo);
+    }
+
+    @Benchmark
+    public long findLowestLocationForSeedNumberRange() {
+        return new Day05().findLowestLocationForSeedNumberRange(farmInfo);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Day06Benchmark {
+
+    @Param({"0", "10000000"})
+    private int size;
+
+    private List<String> data;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkInputs.input(6, size, "Day06TestInput.txt");
+    }
+
+    @Benchmark
+    public long calculateMarginOfError() {
+        return new Day06().calculateMarginOfError(data);
+    }
+
+    @Benchmark
+    public long findNumberOfWaysToBeatRecordBruteForce() {
+        return new Day06().findNumberOfWaysToBeatRecordBruteForce(data);
+    }
+
+    @Benchmark
+    public long findNumberOfWaysToBeatRecord() {
+        return new Day06().findNumberOfWaysToBeatRecord(data);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Day08Benchmark {
+
+    @Param({"0", "20000"})
+    private int size;
+
+    private List<String> data;
+    private List<String> data2;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkInputs.input(8, size, "Day08Part1TestInput.txt");
+        data2 = BenchmarkInputs.input(8, size, "Day08Part2TestInput.txt");
+    }
+
+    @Benchmark
+    public int findNumberOfStepsToEnd() {
+        return new Day08().findNumberOfStepsToEnd(data);
+    }
+
+    @Benchmark
+    public long findNumberOfStepsToEndStartingFromANodes() {
+        return new Day08().findNumberOfStepsToEndStartingFromANodes(data2);
+    }
+}
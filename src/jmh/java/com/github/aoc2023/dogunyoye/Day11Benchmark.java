@@ -0,0 +1,45 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Day11Benchmark {
+
+    @Param({"0", "300"})
+    private int size;
+
+    private List<String> data;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkInputs.input(11, size, "Day11TestInput.txt");
+    }
+
+    @Benchmark
+    public long findSumOfShortestLengths() {
+        return new Day11().findSumOfShortestLengths(data);
+    }
+
+    @Benchmark
+    public long findSumOfShortestLengthsPart2() {
+        return new Day11().findSumOfShortestLengthsPart2(data, 1_000_000L);
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Day24Benchmark {
+
+    @Param({"0", "300"})
+    private int size;
+
+    private List<String> data;
+    private long testAreaMin;
+    private long testAreaMax;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkInputs.input(24, size, "Day24TestInput.txt");
+        testAreaMin = size == 0 ? 7 : 200_000_000_000_000L;
+        testAreaMax = size == 0 ? 27 : 400_000_000_000_000L;
+    }
+
+    @Benchmark
+    public long findNumberOfIntersectionsInTheTestArea() {
+        return new Day24().findNumberOfIntersectionsInTheTestArea(data, testAreaMin, testAreaMax);
+    }
+
+    @Benchmark
+    public long sumOfCoordinatesThatHitAllHailstones() {
+        return new Day24().sumOfCoordinatesThatHitAllHailstones(data);
+    }
+}
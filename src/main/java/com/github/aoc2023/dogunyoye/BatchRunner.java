@@ -0,0 +1,145 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Solves every input in a directory with one day's solver, e.g. a few thousand generated inputs.
+ * <p>
+ * Each input is a task on a work stealing {@link ForkJoinPool}, so a few expensive inputs
+ * do not leave the other threads idle. At most {@code maxInFlight} inputs are loaded or
+ * being solved at once: submission waits for a permit, which bounds the memory held by
+ * loaded inputs however many files there are. Rows are handed to the sink as each input
+ * finishes, so they arrive in completion order.
+ * <p>
+ * Usage: {@code BatchRunner <day> <inputDirectory> [output.csv] [parallelism] [maxInFlight]},
+ * with the output defaulting to {@code target/batch/DayXX.csv}.
+ */
+public class BatchRunner {
+
+    static final String HEADER = "input,answer1,answer2,load_nanos,part1_nanos,part2_nanos,error";
+
+    record Row(Path input, Object partOne, Object partTwo, long loadNanos, long partOneNanos, long partTwoNanos, String error) {
+
+        String csv() {
+            return String.join(",", csvField(this.input.toString()), csvField(this.partOne), csvField(this.partTwo),
+                Long.toString(this.loadNanos), Long.toString(this.partOneNanos), Long.toString(this.partTwoNanos),
+                csvField(this.error));
+        }
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        final String s = value.toString();
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+
+    static Row solve(Solver solver, Path input) {
+        try {
+            final long start = System.nanoTime();
+            final Input data = solver.load(input);
+            final long loaded = System.nanoTime();
+            final Object partOne = solver.partOne(data);
+            final long solvedOne = System.nanoTime();
+            final Object partTwo = solver.partTwo(data);
+            final long solvedTwo = System.nanoTime();
+
+            return new Row(input, partOne, partTwo, loaded - start, solvedOne - loaded, solvedTwo - solvedOne, null);
+        } catch (InternalError | UnknownError e) {
+            // the VM itself is broken, so no row it produces can be trusted
+            throw e;
+        } catch (Throwable e) {
+            // a StackOverflowError or OutOfMemoryError on one input is that input's error
+            return new Row(input, null, null, 0, 0, 0, e.toString());
+        }
+    }
+
+    /**
+     * Solves {@code inputs} with one (shared) solver for {@code day}, handing each row to
+     * {@code sink} as it is done. {@code sink} is called by one thread at a time.
+     *
+     * @return the number of inputs which failed
+     */
+    static int run(int day, List<Path> inputs, int parallelism, int maxInFlight, Consumer<Row> sink) throws InterruptedException {
+        final Solver solver = Solvers.create(day);
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        final AtomicInteger errors = new AtomicInteger();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            for (final Path input : inputs) {
+                inFlight.acquire();
+                pool.execute(() -> {
+                    try {
+                        final Row row = solve(solver, input);
+                        if (row.error() != null) {
+                            errors.incrementAndGet();
+                        }
+                        synchronized (sink) {
+                            sink.accept(row);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+
+            // every permit back means every task has finished
+            inFlight.acquire(maxInFlight);
+            return errors.get();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    static List<Path> inputs(Path directory) {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchRunner <day> <inputDirectory> [output.csv] [parallelism] [maxInFlight]");
+            System.exit(1);
+        }
+
+        final int day = Integer.parseInt(args[0]);
+        final List<Path> inputs = inputs(Path.of(args[1]));
+        final Path output = args.length > 2 ? Path.of(args[2]) : Path.of("target", "batch", Solvers.name(day) + ".csv");
+        final int parallelism = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        final int maxInFlight = args.length > 4 ? Integer.parseInt(args[4]) : 2 * parallelism;
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        final long start = System.nanoTime();
+        final int errors;
+        try (final PrintWriter out = new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            out.println(HEADER);
+            errors = run(day, inputs, parallelism, maxInFlight, (row) -> out.println(row.csv()));
+        }
+
+        System.out.println(String.format("%s: %d inputs, %d errors in %.3f ms, written to %s",
+            Solvers.name(day), inputs.size(), errors, (System.nanoTime() - start) / 1_000_000.0, output));
+    }
+}
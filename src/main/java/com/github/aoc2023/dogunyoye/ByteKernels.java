@@ -0,0 +1,81 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte scans over whole rows of a grid, for the days which compare or count the
+ * cells of a row at a time (Day03, Day11, Day14). Rows shorter than a register,
+ * like Day13's, gain nothing from them.
+ * <p>
+ * There is a scalar implementation and one using the incubating Vector API
+ * ({@code jdk.incubator.vector}), which compares a full SIMD register of bytes per
+ * instruction. The vector one is picked at runtime when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} and it gives the same answers as the scalar
+ * one on a sample; otherwise, or with {@code -Daoc.vector=off}, the scalar one is used.
+ */
+interface ByteKernels {
+
+    String PROPERTY = "aoc.vector";
+
+    /**
+     * @return how many of {@code a[from, from + length)} equal {@code value}
+     */
+    int count(byte[] a, int from, int length, byte value);
+
+    /**
+     * Sets {@code marks[k]} to 1 wherever {@code a[from + k]} is not {@code value}, for
+     * {@code k < length}, leaving the other marks as they are
+     */
+    void markDiffering(byte[] a, int from, int length, byte value, byte[] marks);
+
+    /**
+     * @return the first index in {@code [from, to)} holding neither '.' nor a digit, or
+     *         {@code to} if there is none
+     */
+    int indexOfSymbol(byte[] a, int from, int to);
+
+    static ByteKernels get() {
+        return Holder.KERNELS;
+    }
+
+    static ByteKernels scalar() {
+        return Holder.SCALAR;
+    }
+
+    final class Holder {
+
+        private static final ByteKernels SCALAR = new ScalarByteKernels();
+        private static final ByteKernels KERNELS = pick();
+
+        private Holder() { }
+
+        private static ByteKernels pick() {
+            if ("off".equals(System.getProperty(PROPERTY))) {
+                return SCALAR;
+            }
+
+            try {
+                final ByteKernels vector = (ByteKernels) Class.forName("com.github.aoc2023.dogunyoye.VectorByteKernels")
+                    .getDeclaredConstructor().newInstance();
+                return agrees(vector) ? vector : SCALAR;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // the jdk.incubator.vector module was not added
+                return SCALAR;
+            }
+        }
+
+        // a sample long enough for the vector loops and their scalar tails
+        private static boolean agrees(ByteKernels vector) {
+            final byte[] a = "..#.1*..#...........#.....9....$...#....#..#..........#.....#....#...#.....".getBytes(StandardCharsets.US_ASCII);
+            final byte[] vectorMarks = new byte[a.length];
+            final byte[] scalarMarks = new byte[a.length];
+            vector.markDiffering(a, 1, a.length - 1, (byte) '.', vectorMarks);
+            SCALAR.markDiffering(a, 1, a.length - 1, (byte) '.', scalarMarks);
+
+            return vector.count(a, 1, a.length - 1, (byte) '#') == SCALAR.count(a, 1, a.length - 1, (byte) '#')
+                && vector.indexOfSymbol(a, 6, a.length) == SCALAR.indexOfSymbol(a, 6, a.length)
+                && Arrays.equals(vectorMarks, scalarMarks);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.aoc2023.dogunyoye;
+
+/**
+ * Packs small coordinates into a single {@code long}, so positions can be kept in
+ * a {@link LongHashSet} or {@link LongLongHashMap} instead of boxing a record per point.
+ * <p>
+ * 2D positions use 32 bits per axis. 3D positions use 21 bits per axis, which holds
+ * values from -1048576 to 1048575. Both are signed and round trip exactly.
+ */
+public final class Coordinates {
+
+    private static final int BITS_3D = 21;
+    private static final long MASK_3D = (1L << BITS_3D) - 1;
+
+    private Coordinates() { }
+
+    public static long pack(int i, int j) {
+        return ((long) i << 32) | (j & 0xFFFFFFFFL);
+    }
+
+    public static int i(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int j(long packed) {
+        return (int) packed;
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((x & MASK_3D) << (2 * BITS_3D)) | ((y & MASK_3D) << BITS_3D) | (z & MASK_3D);
+    }
+
+    public static int x(long packed) {
+        return signExtend(packed >>> (2 * BITS_3D));
+    }
+
+    public static int y(long packed) {
+        return signExtend(packed >>> BITS_3D);
+    }
+
+    public static int z(long packed) {
+        return signExtend(packed);
+    }
+
+    private static int signExtend(long field) {
+        return (int) ((field & MASK_3D) << (64 - BITS_3D) >> (64 - BITS_3D));
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Cycle detection for the long simulations (Day08, Day14, Day20), so they can skip
+ * ahead to an iteration far beyond any they could run.
+ * <p>
+ * A simulation feeds a {@link Detector} a 64 bit fingerprint of its state after each
+ * iteration. The detector runs Brent's algorithm on them, finding the period after at
+ * most about twice the prefix plus the period in iterations, and keeps the fingerprints
+ * seen so the prefix can be found without running the simulation again. The resulting
+ * {@link Cycle} maps any iteration to an equivalent one that has already been seen.
+ * <p>
+ * {@link #firstCommon} combines several cycles, finding the first iteration at which
+ * every one of them is at one of its marked iterations (e.g. every ghost on a "..Z"
+ * node), with the Chinese remainder theorem rather than assuming the marks fall on
+ * multiples of the periods.
+ */
+public final class Cycles {
+
+    private Cycles() { }
+
+    /**
+     * Iterations {@code prefix} onwards repeat every {@code period} iterations
+     */
+    public record Cycle(long prefix, long period) {
+
+        /**
+         * @return the iteration before {@code prefix + period} in the same state as iteration {@code n}
+         */
+        public long reduce(long n) {
+            return n < this.prefix ? n : this.prefix + ((n - this.prefix) % this.period);
+        }
+
+        /**
+         * @return the same cycle, for something which follows the state one iteration behind
+         */
+        public Cycle shifted() {
+            return new Cycle(this.prefix + 1, this.period);
+        }
+    }
+
+    /**
+     * Brent's cycle detection, fed one fingerprint at a time
+     * <p>
+     * https://en.wikipedia.org/wiki/Cycle_detection#Brent's_algorithm
+     */
+    public static final class Detector {
+
+        private long[] seen = new long[64];
+        private int count;
+        private long tortoise;
+        private long power = 1;
+        private long period = 1;
+        private Cycle cycle;
+
+        /**
+         * @param fingerprint the state after the next iteration, starting from iteration 0
+         * @return true once the cycle is known
+         */
+        public boolean add(long fingerprint) {
+            if (this.cycle != null) {
+                return true;
+            }
+
+            if (this.count == this.seen.length) {
+                this.seen = Arrays.copyOf(this.seen, this.count * 2);
+            }
+            this.seen[this.count++] = fingerprint;
+
+            if (this.count == 1) {
+                this.tortoise = fingerprint;
+                return false;
+            }
+
+            if (fingerprint == this.tortoise) {
+                this.cycle = new Cycle(prefix(), this.period);
+                return true;
+            }
+
+            // the tortoise teleports to the hare at every power of two
+            if (this.power == this.period) {
+                this.tortoise = fingerprint;
+                this.power *= 2;
+                this.period = 0;
+            }
+            this.period++;
+            return false;
+        }
+
+        // the first iteration in the same state as the one a period later
+        private long prefix() {
+            int i = 0;
+            while (this.seen[i] != this.seen[i + (int) this.period]) {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * @return the cycle, or null if it has not been found yet
+         */
+        public Cycle cycle() {
+            return this.cycle;
+        }
+
+        /**
+         * @return the number of fingerprints added
+         */
+        public int iterations() {
+            return this.count;
+        }
+    }
+
+    /**
+     * @param cycles the cycle of each simulation
+     * @param marks for each simulation, the ascending iterations before
+     *              {@code prefix + period} which are marked
+     * @return the first iteration which is marked in every simulation, or -1 if there is none
+     */
+    public static long firstCommon(Cycle[] cycles, long[][] marks) {
+        long repeating = 0;
+        for (final Cycle cycle : cycles) {
+            repeating = Math.max(repeating, cycle.prefix());
+        }
+
+        // before every simulation is repeating, try the first one's marks
+        long first = -1;
+        for (final long mark : marks[0]) {
+            for (long n = mark; n < repeating; n += cycles[0].period()) {
+                if (isCommon(cycles, marks, n)) {
+                    first = first == -1 ? n : Math.min(first, n);
+                }
+                if (mark < cycles[0].prefix()) {
+                    break;
+                }
+            }
+        }
+        if (first != -1) {
+            return first;
+        }
+
+        // from then on, every choice of one repeating mark per simulation is a system of
+        // congruences n = mark (mod period)
+        return firstCongruent(cycles, marks, 0, BigInteger.ZERO, BigInteger.ONE, repeating);
+    }
+
+    private static boolean isCommon(Cycle[] cycles, long[][] marks, long n) {
+        for (int i = 0; i < cycles.length; i++) {
+            if (Arrays.binarySearch(marks[i], cycles[i].reduce(n)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long firstCongruent(Cycle[] cycles, long[][] marks, int i, BigInteger residue, BigInteger modulus, long from) {
+        if (i == cycles.length) {
+            // the least n >= from with n = residue (mod modulus)
+            final BigInteger start = BigInteger.valueOf(from);
+            return start.add(residue.subtract(start).mod(modulus)).longValueExact();
+        }
+
+        long first = -1;
+        final BigInteger period = BigInteger.valueOf(cycles[i].period());
+        for (final long mark : marks[i]) {
+            if (mark < cycles[i].prefix()) {
+                continue;
+            }
+
+            // n = residue (mod modulus) and n = mark (mod period) have a common solution
+            // only if residue and mark agree modulo the gcd
+            final BigInteger gcd = modulus.gcd(period);
+            final BigInteger difference = BigInteger.valueOf(mark).subtract(residue);
+            if (difference.mod(gcd).signum() != 0) {
+                continue;
+            }
+
+            final BigInteger m = modulus.divide(gcd);
+            final BigInteger p = period.divide(gcd);
+            final BigInteger k = difference.divide(gcd).multiply(m.modInverse(p)).mod(p);
+            final BigInteger combined = modulus.multiply(p);
+
+            final long n = firstCongruent(cycles, marks, i + 1, residue.add(modulus.multiply(k)).mod(combined), combined, from);
+            if (n != -1) {
+                first = first == -1 ? n : Math.min(first, n);
+            }
+        }
+        return first;
+    }
+}
@@ -1,71 +1,258 @@
 package com.github.aoc2023.dogunyoye;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.IntStream;
 
-public class Day01 {
+public class Day01 implements Solver {
 
-    private static Map<String, Character> map;
+    // the most bytes mapped at once
+    private static final long MAX_CHUNK = 1L << 30;
 
-    static {
-        map = new HashMap<>();
-        map.put("one", '1');
-        map.put("two", '2');
-        map.put("three", '3');
-        map.put("four", '4');
-        map.put("five", '5');
-        map.put("six", '6');
-        map.put("seven", '7');
-        map.put("eight", '8');
-        map.put("nine", '9');
+    private static final String[] DIGIT_WORDS = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+
+    private static final DigitAutomaton DIGITS = new DigitAutomaton(new String[0]);
+    private static final DigitAutomaton WORDS_FORWARDS = new DigitAutomaton(DIGIT_WORDS);
+    private static final DigitAutomaton WORDS_BACKWARDS = new DigitAutomaton(reversed(DIGIT_WORDS));
+
+    private static String[] reversed(String[] words) {
+        final String[] reversed = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            reversed[i] = new StringBuilder(words[i]).reverse().toString();
+        }
+        return reversed;
     }
 
-    private static String normalisedValue(String line) {
-        final Map<Integer, Character> indexToValueMap = new HashMap<>();
+    /**
+     * Aho-Corasick automaton over the spelled out digits, word i standing for digit
+     * i + 1, with every transition on 'a' to 'z' filled in up front. Any other byte
+     * leads back to the root.
+     * <p>
+     * No word contains another, so the first match to end is also the first to start,
+     * and a scan can stop at it. The backwards scan runs the same way over the words
+     * reversed.
+     * <p>
+     * https://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_algorithm
+     */
+    private static final class DigitAutomaton {
+
+        private static final int LETTERS = 26;
+
+        // state * LETTERS + letter
+        private final int[] next;
+        // the digit a match ending on entering the state stands for, or 0
+        private final int[] digit;
+
+        private DigitAutomaton(String[] words) {
+            int maxStates = 1;
+            for (final String word : words) {
+                maxStates += word.length();
+            }
+
+            final int[] next = new int[maxStates * LETTERS];
+            final int[] digit = new int[maxStates];
+            Arrays.fill(next, -1);
+            int states = 1;
 
-        for (int i = 0; i < line.length(); i++) {
-            final char c = line.charAt(i);
-            if (Character.isDigit(c)) {
-                indexToValueMap.put(i, c);
+            // the trie
+            for (int w = 0; w < words.length; w++) {
+                int state = 0;
+                for (int i = 0; i < words[w].length(); i++) {
+                    final int edge = state * LETTERS + (words[w].charAt(i) - 'a');
+                    if (next[edge] == -1) {
+                        next[edge] = states++;
+                    }
+                    state = next[edge];
+                }
+                digit[state] = w + 1;
             }
+
+            // failure links in breadth first order, replacing each missing edge with
+            // the one its failure state takes
+            final int[] fail = new int[states];
+            final Deque<Integer> queue = new ArrayDeque<>();
+            for (int c = 0; c < LETTERS; c++) {
+                if (next[c] == -1) {
+                    next[c] = 0;
+                } else {
+                    queue.add(next[c]);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                final int state = queue.poll();
+                if (digit[state] == 0) {
+                    digit[state] = digit[fail[state]];
+                }
+
+                for (int c = 0; c < LETTERS; c++) {
+                    final int edge = state * LETTERS + c;
+                    if (next[edge] == -1) {
+                        next[edge] = next[fail[state] * LETTERS + c];
+                    } else {
+                        fail[next[edge]] = next[fail[state] * LETTERS + c];
+                        queue.add(next[edge]);
+                    }
+                }
+            }
+
+            this.next = Arrays.copyOf(next, states * LETTERS);
+            this.digit = Arrays.copyOf(digit, states);
         }
 
-        map.entrySet().forEach((e) -> {
-            int index = line.indexOf(e.getKey());
-            while (index != -1) {
-                indexToValueMap.put(index, e.getValue());
-                index = line.indexOf(e.getKey(), index + 1);
+        private int step(int state, byte b) {
+            return b >= 'a' && b <= 'z' ? this.next[state * LETTERS + (b - 'a')] : 0;
+        }
+    }
+
+    // -1 where b is no digit, as '0' is one
+    private static int digitAt(byte b) {
+        return b >= '0' && b <= '9' ? b - '0' : -1;
+    }
+
+    private static int firstDigit(ByteBuffer bytes, int from, int to, DigitAutomaton automaton) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            final byte b = bytes.get(i);
+            final int digit = digitAt(b);
+            if (digit >= 0) {
+                return digit;
             }
-        });
 
-        final int first = indexToValueMap.keySet().stream().min(Integer::compare).get();
-        final int last = indexToValueMap.keySet().stream().max(Integer::compare).get();
+            state = automaton.step(state, b);
+            if (automaton.digit[state] != 0) {
+                return automaton.digit[state];
+            }
+        }
 
-        return String.format("%c%c", indexToValueMap.get(first), indexToValueMap.get(last));
+        throw new RuntimeException("No digit in the line at byte " + from);
     }
 
-    public int sumOfAllCalibrationValues(List<String> lines) {
-        return lines.stream()
-            .map(line -> line.replaceAll("[a-z]", ""))
-            .map(line -> String.format("%c%c", line.charAt(0), line.charAt(line.length()-1)))
-            .mapToInt(digits -> Integer.parseInt(digits))
-            .sum();
+    private static int lastDigit(ByteBuffer bytes, int from, int to, DigitAutomaton automaton) {
+        int state = 0;
+        for (int i = to - 1; i >= from; i--) {
+            final byte b = bytes.get(i);
+            final int digit = digitAt(b);
+            if (digit >= 0) {
+                return digit;
+            }
+
+            state = automaton.step(state, b);
+            if (automaton.digit[state] != 0) {
+                return automaton.digit[state];
+            }
+        }
+
+        throw new RuntimeException("No digit in the line at byte " + from);
     }
 
-    public int sumOfAllRevisedCalibrationValues(List<String> lines) {
-        return lines.stream()
-            .map(Day01::normalisedValue)
-            .mapToInt(digits -> Integer.parseInt(digits))
-            .sum();
+    // the sum over the lines in [from, to) of bytes, from being the start of a line. A
+    // '\r' before the '\n' is neither a letter nor a digit, so the scans pass over it
+    private static long sumOfCalibrationValues(ByteBuffer bytes, int from, int to, DigitAutomaton forwards, DigitAutomaton backwards) {
+        long sum = 0;
+        int start = from;
+        while (start < to) {
+            int end = start;
+            while (end < to && bytes.get(end) != '\n') {
+                end++;
+            }
+
+            sum += firstDigit(bytes, start, end, forwards) * 10 + lastDigit(bytes, start, end, backwards);
+            start = end + 1;
+        }
+        return sum;
     }
-    
+
+    private static long sumOfCalibrationValues(Input input, DigitAutomaton forwards, DigitAutomaton backwards) {
+        final ByteBuffer bytes = input.bytes();
+        return sumOfCalibrationValues(bytes, 0, bytes.limit(), forwards, backwards);
+    }
+
+    /**
+     * Maps {@code file} in newline aligned chunks, at least one per core and none over
+     * {@link #MAX_CHUNK} bytes, and sums the chunks in parallel. Nothing is allocated per
+     * line, so files of any size can be summed in little more than the time to read them.
+     */
+    private static long sumOfCalibrationValues(Path file, DigitAutomaton forwards, DigitAutomaton backwards) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final int chunks = (int) Math.max(Runtime.getRuntime().availableProcessors(), (channel.size() + MAX_CHUNK - 1) / MAX_CHUNK);
+            final long[] bounds = StreamingSolvers.chunkBounds(channel, chunks);
+            try {
+                return IntStream.range(0, chunks).parallel().mapToLong((i) -> {
+                    final long size = bounds[i + 1] - bounds[i];
+                    if (size > Integer.MAX_VALUE) {
+                        throw new RuntimeException("Line too long to map at byte " + bounds[i] + " of " + file);
+                    }
+
+                    try {
+                        final ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, bounds[i], size);
+                        return sumOfCalibrationValues(chunk, 0, (int) size, forwards, backwards);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).sum();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    public long sumOfAllCalibrationValues(List<String> lines) {
+        return sumOfAllCalibrationValues(Input.of(lines));
+    }
+
+    public long sumOfAllCalibrationValues(Input input) {
+        return sumOfCalibrationValues(input, DIGITS, DIGITS);
+    }
+
+    public long sumOfAllCalibrationValues(Path file) throws IOException {
+        return sumOfCalibrationValues(file, DIGITS, DIGITS);
+    }
+
+    public long sumOfAllRevisedCalibrationValues(List<String> lines) {
+        return sumOfAllRevisedCalibrationValues(Input.of(lines));
+    }
+
+    public long sumOfAllRevisedCalibrationValues(Input input) {
+        return sumOfCalibrationValues(input, WORDS_FORWARDS, WORDS_BACKWARDS);
+    }
+
+    public long sumOfAllRevisedCalibrationValues(Path file) throws IOException {
+        return sumOfCalibrationValues(file, WORDS_FORWARDS, WORDS_BACKWARDS);
+    }
+
+    @Override
+    public Object partOne(List<String> data) {
+        return sumOfAllCalibrationValues(data);
+    }
+
+    @Override
+    public Object partOne(Input input) {
+        return sumOfAllCalibrationValues(input);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return sumOfAllRevisedCalibrationValues(data);
+    }
+
+    @Override
+    public Object partTwo(Input input) {
+        return sumOfAllRevisedCalibrationValues(input);
+    }
+
     public static void main(String[] args) throws IOException {
-        final List<String> documentLines = Files.readAllLines(Path.of("src/main/resources/Day01.txt"));
-        System.out.println("Part 1: " + new Day01().sumOfAllCalibrationValues(documentLines));
-        System.out.println("Part 2: " + new Day01().sumOfAllRevisedCalibrationValues(documentLines));
+        // any document, however large, can be given instead of the puzzle input
+        final Path document = Path.of(args.length > 0 ? args[0] : "src/main/resources/Day01.txt");
+        System.out.println("Part 1: " + new Day01().sumOfAllCalibrationValues(document));
+        System.out.println("Part 2: " + new Day01().sumOfAllRevisedCalibrationValues(document));
     }
 }
@@ -1,116 +1,400 @@
 package com.github.aoc2023.dogunyoye;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-public class Day02 {
+public class Day02 implements Solver {
 
-    private record Round (int blueCubes, int redCubes, int greenCubes) { }
+    record Round (int blueCubes, int redCubes, int greenCubes) { }
 
-    private record Game (int id, List<Round> rounds) { }
+    record Game (int id, List<Round> rounds) { }
 
     private static final int RED_CUBE_LIMIT = 12;
     private static final int GREEN_CUBE_LIMIT = 13;
     private static final int BLUE_CUBE_LIMIT = 14;
 
-    private Game createGame(String game) {
+    private Game createGame(Input.Cursor cursor) {
         // Game 1: 3 blue, 4 red; 1 red, 2 green, 6 blue; 2 green
-        final String[] split = game.split(": ");
-        // Game 1
-        final int gameId = Integer.parseInt(split[0].split(" ")[1]);
+        final int gameId = cursor.nextInt();
+        cursor.skipPast(':');
+
         final List<Round> rounds = new ArrayList<>();
+        int blueCubes = 0;
+        int redCubes = 0;
+        int greenCubes = 0;
 
         // 3 blue, 4 red; 1 red, 2 green, 6 blue; 2 green
-        final String[] gameRounds = split[1].split("; ");
-
-        for (final String r : gameRounds) {
-            int blueCubes = 0;
-            int redCubes = 0;
-            int greenCubes = 0;
-
-            // 3 blue, 4 red
-            final String[] cubes = r.split(", ");
-            for (final String cube : cubes) {
-                // 3 blue
-                final String[] cubeParts = cube.split(" ");
-                final int numberOfCubes = Integer.parseInt(cubeParts[0]);
-                final String cubeColour = cubeParts[1];
-                
-                switch (cubeColour) {
-                    case "blue":
-                        blueCubes = numberOfCubes;
-                        break;
-                    case "red":
-                        redCubes = numberOfCubes;
-                        break;
-                    case "green":
-                        greenCubes = numberOfCubes;
-                        break;
-                    default:
-                        throw new RuntimeException("Unknown cube colour");
-                }
+        while (cursor.hasNextNumber()) {
+            // 3 blue
+            final int numberOfCubes = cursor.nextInt();
+            final byte cubeColour = cursor.skip(1).next();
+
+            switch (cubeColour) {
+                case 'b':
+                    blueCubes = numberOfCubes;
+                    cursor.skip(3);
+                    break;
+                case 'r':
+                    redCubes = numberOfCubes;
+                    cursor.skip(2);
+                    break;
+                case 'g':
+                    greenCubes = numberOfCubes;
+                    cursor.skip(4);
+                    break;
+                default:
+                    throw new RuntimeException("Unknown cube colour");
             }
 
-            rounds.add(new Round(blueCubes, redCubes, greenCubes));
+            // a round ends at a ';' or the end of the line
+            if (!cursor.hasNext() || cursor.next() == ';') {
+                rounds.add(new Round(blueCubes, redCubes, greenCubes));
+                blueCubes = 0;
+                redCubes = 0;
+                greenCubes = 0;
+            }
         }
 
         return new Game(gameId, rounds);
     }
 
-    private List<Game> createGames(List<String> gamesList) {
-        final List<Game> games = new ArrayList<>();
+    /**
+     * Every game as its list of rounds, which neither part needs
+     */
+    List<Game> createGames(Input input) {
+        final List<Game> games = new ArrayList<>(input.lineCount());
+        final Input.Cursor cursor = input.cursor();
 
-        gamesList.stream().forEach((game) -> {
-            games.add(createGame(game));
-        });
+        for (int i = 0; i < input.lineCount(); i++) {
+            games.add(createGame(cursor.line(i)));
+        }
 
         return games;
     }
 
-    public int sumCandidateGameIds(List<String> gamesList) {
-        final List<Game> games = createGames(gamesList);
-
-        return
-            games.stream().filter((game) -> {
-                for (final Round round : game.rounds()) {
-                    if (round.blueCubes() <= BLUE_CUBE_LIMIT &&
-                        round.greenCubes() <= GREEN_CUBE_LIMIT &&
-                        round.redCubes() <= RED_CUBE_LIMIT) {
-                        continue;
+    /**
+     * Every game reduced to the most cubes of each colour shown in any of its rounds, a
+     * column per colour, with both parts' sums taken as the games are added
+     */
+    static final class GameLog {
+
+        private final int[] ids;
+        private final int[] maxRed;
+        private final int[] maxGreen;
+        private final int[] maxBlue;
+        private int size;
+        private int candidateIdSum;
+        private int powerSum;
+
+        private GameLog(int capacity) {
+            this.ids = new int[capacity];
+            this.maxRed = new int[capacity];
+            this.maxGreen = new int[capacity];
+            this.maxBlue = new int[capacity];
+        }
+
+        private void add(int id, int red, int green, int blue) {
+            this.ids[this.size] = id;
+            this.maxRed[this.size] = red;
+            this.maxGreen[this.size] = green;
+            this.maxBlue[this.size] = blue;
+            this.size++;
+
+            if (red <= RED_CUBE_LIMIT && green <= GREEN_CUBE_LIMIT && blue <= BLUE_CUBE_LIMIT) {
+                this.candidateIdSum += id;
+            }
+            this.powerSum += red * green * blue;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        int id(int game) {
+            return this.ids[game];
+        }
+
+        int maxRed(int game) {
+            return this.maxRed[game];
+        }
+
+        int maxGreen(int game) {
+            return this.maxGreen[game];
+        }
+
+        int maxBlue(int game) {
+            return this.maxBlue[game];
+        }
+
+        long candidateIdSum(int red, int green, int blue) {
+            long sum = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (this.maxRed[i] <= red && this.maxGreen[i] <= green && this.maxBlue[i] <= blue) {
+                    sum += this.ids[i];
+                }
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Answers which games would have been possible with any bag of cubes: for each limit
+     * triple, the number of games and the sum of their ids whose maxima are all within it.
+     * <p>
+     * Queries are answered in batches, offline: they are sorted by their red limit and
+     * swept in that order, adding each game to a 2D Fenwick tree over its green and blue
+     * maxima once the red limit reaches its red maximum. A query is then a prefix sum of
+     * the tree, so a batch of {@code q} queries over {@code n} games costs
+     * {@code O((n + q) log n + (n + q) log g log b)} rather than {@code O(n q)}, where
+     * {@code g} and {@code b} are the numbers of distinct green and blue maxima. Each
+     * batch builds its own tree of {@code g * b} cells, so the index itself is never
+     * changed after it is built and can be queried from several threads at once. A single
+     * query is cheaper as a scan over the games, see
+     * {@link Day02#sumCandidateGameIds(Input, int, int, int)}.
+     * <p>
+     * https://en.wikipedia.org/wiki/Fenwick_tree
+     */
+    public static final class FeasibilityIndex {
+
+        // game indices in order of their red maximum, and those maxima
+        private final int[] byRed;
+        private final int[] sortedRed;
+        private final int[] greens;
+        private final int[] blues;
+        // each game's 1-based position in greens and blues
+        private final int[] greenRank;
+        private final int[] blueRank;
+        private final int[] ids;
+
+        private FeasibilityIndex(GameLog log) {
+            final int n = log.size();
+            final long[] packed = new long[n];
+            for (int i = 0; i < n; i++) {
+                packed[i] = ((long) log.maxRed(i) << 32) | i;
+            }
+            Arrays.sort(packed);
+
+            this.byRed = new int[n];
+            this.sortedRed = new int[n];
+            this.ids = new int[n];
+            for (int i = 0; i < n; i++) {
+                this.byRed[i] = (int) packed[i];
+                this.sortedRed[i] = (int) (packed[i] >> 32);
+                this.ids[i] = log.id(i);
+            }
+
+            this.greens = distinct(log.maxGreen, n);
+            this.blues = distinct(log.maxBlue, n);
+            this.greenRank = new int[n];
+            this.blueRank = new int[n];
+            for (int i = 0; i < n; i++) {
+                this.greenRank[i] = Arrays.binarySearch(this.greens, log.maxGreen(i)) + 1;
+                this.blueRank[i] = Arrays.binarySearch(this.blues, log.maxBlue(i)) + 1;
+            }
+        }
+
+        private static int[] distinct(int[] values, int n) {
+            final int[] sorted = Arrays.copyOf(values, n);
+            Arrays.sort(sorted);
+
+            int size = 0;
+            for (int i = 0; i < n; i++) {
+                if (size == 0 || sorted[size - 1] != sorted[i]) {
+                    sorted[size++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, size);
+        }
+
+        // the number of values at most limit
+        private static int rank(int[] sorted, int limit) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (sorted[mid] <= limit) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void add(long[] treeIdSums, int[] treeCounts, int game) {
+            final int width = this.blues.length + 1;
+            for (int g = this.greenRank[game]; g <= this.greens.length; g += g & -g) {
+                for (int b = this.blueRank[game]; b <= this.blues.length; b += b & -b) {
+                    treeIdSums[g * width + b] += this.ids[game];
+                    treeCounts[g * width + b]++;
+                }
+            }
+        }
+
+        /**
+         * Answers a batch of queries, the limits of query {@code i} being
+         * {@code red[i]}, {@code green[i]} and {@code blue[i]}
+         *
+         * @param idSums receives the sum of the ids of the games possible under each query
+         * @param counts receives the number of games possible under each query
+         */
+        public void query(int[] red, int[] green, int[] blue, long[] idSums, int[] counts) {
+            final int q = red.length;
+            final long[] order = new long[q];
+            for (int i = 0; i < q; i++) {
+                order[i] = ((long) red[i] << 32) | i;
+            }
+            Arrays.sort(order);
+
+            final int width = this.blues.length + 1;
+            final int cells = Math.multiplyExact(this.greens.length + 1, width);
+            final long[] treeIdSums = new long[cells];
+            final int[] treeCounts = new int[cells];
+            int added = 0;
+
+            for (final long o : order) {
+                final int i = (int) o;
+                while (added < this.byRed.length && this.sortedRed[added] <= red[i]) {
+                    add(treeIdSums, treeCounts, this.byRed[added++]);
+                }
+
+                long idSum = 0;
+                int count = 0;
+                for (int g = rank(this.greens, green[i]); g > 0; g -= g & -g) {
+                    for (int b = rank(this.blues, blue[i]); b > 0; b -= b & -b) {
+                        idSum += treeIdSums[g * width + b];
+                        count += treeCounts[g * width + b];
                     }
+                }
+                idSums[i] = idSum;
+                counts[i] = count;
+            }
+        }
+    }
+
+    public FeasibilityIndex createFeasibilityIndex(Input input) {
+        return new FeasibilityIndex(createGameLog(input));
+    }
+
+    /**
+     * One pass over the bytes, a line at a time. A number followed by a letter is a count
+     * of cubes whose colour is that letter, and the letters after it up to the next
+     * number are skipped; a number followed by ':' is the game id.
+     */
+    static GameLog createGameLog(Input input) {
+        final ByteBuffer bytes = input.bytes();
+        final GameLog log = new GameLog(input.lineCount());
+
+        int id = -1;
+        int number = 0;
+        boolean counted = false;
+        boolean inLine = false;
+        int red = 0;
+        int green = 0;
+        int blue = 0;
+
+        // a '\n' is assumed after the last byte, ending the last line if it has no terminator
+        for (int i = 0; i <= bytes.limit(); i++) {
+            final byte b = i < bytes.limit() ? bytes.get(i) : (byte) '\n';
+
+            if (b == '\n') {
+                if (inLine) {
+                    if (id == -1) {
+                        throw new RuntimeException("No game id on line " + (log.size() + 1));
+                    }
+                    log.add(id, red, green, blue);
+                }
 
-                    return false;
+                id = -1;
+                number = 0;
+                counted = false;
+                inLine = false;
+                red = 0;
+                green = 0;
+                blue = 0;
+                continue;
+            }
+
+            inLine = true;
+            if (b >= '0' && b <= '9') {
+                number = number * 10 + (b - '0');
+                counted = true;
+            } else if (b == ':') {
+                id = number;
+                number = 0;
+                counted = false;
+            } else if (counted && b >= 'a' && b <= 'z') {
+                switch (b) {
+                    case 'b':
+                        blue = Math.max(blue, number);
+                        break;
+                    case 'r':
+                        red = Math.max(red, number);
+                        break;
+                    case 'g':
+                        green = Math.max(green, number);
+                        break;
+                    default:
+                        throw new RuntimeException("Unknown cube colour");
                 }
+                number = 0;
+                counted = false;
+            }
+        }
+
+        return log;
+    }
+
+    public int sumCandidateGameIds(List<String> gamesList) {
+        return sumCandidateGameIds(Input.of(gamesList));
+    }
+
+    public int sumCandidateGameIds(Input input) {
+        return createGameLog(input).candidateIdSum;
+    }
 
-                return true;
-            })
-            .mapToInt(game -> game.id())
-            .sum();
+    /**
+     * @return the sum of the ids of the games possible with the given cubes, for a single
+     *         question; use a {@link FeasibilityIndex} for many
+     */
+    public long sumCandidateGameIds(Input input, int red, int green, int blue) {
+        return createGameLog(input).candidateIdSum(red, green, blue);
     }
 
     public int sumMaxCubesPerGame(List<String> gamesList) {
-        final List<Game> games = createGames(gamesList);
+        return sumMaxCubesPerGame(Input.of(gamesList));
+    }
+
+    public int sumMaxCubesPerGame(Input input) {
+        return createGameLog(input).powerSum;
+    }
+
+    @Override
+    public Object partOne(List<String> data) {
+        return sumCandidateGameIds(data);
+    }
 
-        return
-            games.stream().map((game) -> {
-                final int maxRedCubes =
-                    game.rounds().stream().map(Round::redCubes).max(Integer::compare).get();
-                final int maxGreenCubes =
-                    game.rounds().stream().map(Round::greenCubes).max(Integer::compare).get();
-                final int maxBlueCubes =
-                    game.rounds().stream().map(Round::blueCubes).max(Integer::compare).get();
+    @Override
+    public Object partOne(Input input) {
+        return sumCandidateGameIds(input);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return sumMaxCubesPerGame(data);
+    }
 
-                return maxRedCubes * maxGreenCubes * maxBlueCubes;
-            })
-            .mapToInt(value -> value)
-            .sum();
+    @Override
+    public Object partTwo(Input input) {
+        return sumMaxCubesPerGame(input);
     }
 
     public static void main(String[] args) throws IOException {
-        final List<String> gamesList = Files.readAllLines(Path.of("src/main/resources/Day02.txt"));
+        final Input gamesList = Input.map(Path.of("src/main/resources/Day02.txt"));
         System.out.println("Part 1: " + new Day02().sumCandidateGameIds(gamesList));
         System.out.println("Part 2: " + new Day02().sumMaxCubesPerGame(gamesList));
     }
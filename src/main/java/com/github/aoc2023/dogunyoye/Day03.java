@@ -3,132 +3,108 @@ package com.github.aoc2023.dogunyoye;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-
-public class Day03 {
-
-    private record Position (int i, int j) {
-        private List<Position> getNeighbours(int length, int depth) {
-            final List<Position> neighbours = new ArrayList<>();
-            final int i = this.i;
-            final int j = this.j;
-
-            neighbours.add(new Position(i-1, j));   // north
-            neighbours.add(new Position(i-1, j+1)); // north-east
-            neighbours.add(new Position(i, j+1));   // east
-            neighbours.add(new Position(i+1, j+1)); // south-east
-            neighbours.add(new Position(i+1, j));   // south
-            neighbours.add(new Position(i+1, j-1)); // south-west
-            neighbours.add(new Position(i, j-1));   // west
-            neighbours.add(new Position(i-1, j-1)); // north-west
-
-            return
-                neighbours.stream()
-                    .filter((pos) -> {
-                        // filter out any out of bounds positions
-                        return pos.i >= 0 && pos.i < depth && pos.j >= 0 && pos.j < length;  
-                    }).toList();
-        }
-    }
 
-    private record EngineSchematic (int length, int depth, char[][] schematic, List<Position> symbolPositions) { }
-
-    private EngineSchematic buildEngineSchematic(List<String> schematic) {
-        final int mapLength = schematic.get(0).length();
-        final int mapDepth = schematic.size();
-        final char[][] engineSchematic = new char[mapDepth][mapLength];
-        final List<Position> symbolPositions = new ArrayList<>();
-        
-        for (int i = 0; i < mapDepth; i++) {
-            for (int j = 0; j < mapLength; j++) {
-                final char c = schematic.get(i).charAt(j);
-                engineSchematic[i][j] = c;
-
-                if ('.' != c && !Character.isDigit(c)) {
-                    symbolPositions.add(new Position(i, j));
-                }
-            }
-        }
+public class Day03 implements Solver {
+
+    private static final ByteKernels KERNELS = ByteKernels.get();
 
-        return new EngineSchematic(mapLength, mapDepth, engineSchematic, symbolPositions);
+    private record Sums (int partNumbers, int gearRatios) { }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
     }
 
-    private static int completeNumber(EngineSchematic engineSchematic, Position pos, Set<Position> mapped) {
+    /**
+     * Labels every digit cell with the id of the number it is part of, numbering them from
+     * 1 in reading order, and fills in {@code values} by id. Cells outside a number are 0.
+     */
+    private static int[] labelNumbers(byte[] cells, int[] values) {
+        final int[] labels = new int[cells.length];
+        int id = 0;
+
+        for (int idx = 0; idx < cells.length; idx++) {
+            if (!isDigit(cells[idx])) {
+                continue;
+            }
 
-        if(mapped.contains(pos)) {
-            return 0;
+            // the '.' border means a number never runs on from the row above
+            if (idx == 0 || !isDigit(cells[idx - 1])) {
+                id++;
+            }
+            labels[idx] = id;
+            values[id] = (values[id] * 10) + (cells[idx] - '0');
         }
 
-        final char[][] schematic = engineSchematic.schematic();
-        final int mapLength = engineSchematic.length();
-        String numString = Character.toString(schematic[pos.i()][pos.j()]);
-
-        final int x = pos.i();
-        int leftY = pos.j()-1;
-        int rightY = pos.j()+1;
+        return labels;
+    }
 
-        while(leftY >= 0 && Character.isDigit(schematic[x][leftY])) {
-            numString = schematic[x][leftY] + numString;
-            mapped.add(new Position(x, leftY));
-            leftY--;
-        }
+    /**
+     * One scan over the symbols, adding up the distinct numbers around each, and around
+     * each '*' with exactly two of them, their product
+     */
+    private static Sums sumAdjacentNumbers(List<String> schematic) {
+        // a '.' border means neighbours of edge symbols need no bounds checks
+        final Grid engineSchematic = Grid.of(schematic, '.');
+        final byte[] cells = engineSchematic.cells();
+
+        // numbers are at least one cell apart, so there can be no more than half as many
+        final int[] values = new int[(cells.length / 2) + 2];
+        final int[] labels = labelNumbers(cells, values);
+
+        // the distinct numbers around the current symbol
+        final int[] adjacent = new int[8];
+        int partNumbers = 0;
+        int gearRatios = 0;
+
+        for (int i = 0; i < engineSchematic.depth(); i++) {
+            final int rowStart = engineSchematic.index(i, 0);
+            final int rowEnd = rowStart + engineSchematic.length();
+            for (int symPos = KERNELS.indexOfSymbol(cells, rowStart, rowEnd); symPos < rowEnd; symPos = KERNELS.indexOfSymbol(cells, symPos + 1, rowEnd)) {
+                int count = 0;
+                for (int k = 0; k < 8; k++) {
+                    final int label = labels[symPos + engineSchematic.surroundingOffset(k)];
+                    if (label == 0 || values[label] == 0) {
+                        continue;
+                    }
+
+                    boolean seen = false;
+                    for (int a = 0; a < count && !seen; a++) {
+                        seen = adjacent[a] == label;
+                    }
+                    if (!seen) {
+                        adjacent[count++] = label;
+                        partNumbers += values[label];
+                    }
+                }
 
-        while(rightY < mapLength && Character.isDigit(schematic[x][rightY])) {
-            numString = numString + schematic[x][rightY];
-            mapped.add(new Position(x, rightY));
-            rightY++;
+                if (cells[symPos] == '*' && count == 2) {
+                    gearRatios += values[adjacent[0]] * values[adjacent[1]];
+                }
+            }
         }
 
-        return Integer.parseInt(numString);
+        return new Sums(partNumbers, gearRatios);
     }
 
     public int sumOfAllPartNumbers(List<String> schematic) {
-        final EngineSchematic engineSchematic = buildEngineSchematic(schematic);
-        final int mapDepth = engineSchematic.depth();
-        final int mapLength = engineSchematic.length();
-
-        int sum = 0;
-        for (final Position symPos : engineSchematic.symbolPositions()) {
-            final List<Position> neighbours = symPos.getNeighbours(mapLength, mapDepth);
-            final Set<Position> mapped = new HashSet<>();
-            sum += neighbours.stream()
-                    .filter(nPos -> Character.isDigit(engineSchematic.schematic()[nPos.i()][nPos.j()]))
-                    .map(pos -> Day03.completeNumber(engineSchematic, pos, mapped))
-                    .mapToInt(number -> number)
-                    .sum();
-        }
-        
-        return sum;
+        return sumAdjacentNumbers(schematic).partNumbers();
     }
 
     public int sumOfAllGearRatios(List<String> schematic) {
-        final EngineSchematic engineSchematic = buildEngineSchematic(schematic);
-        final int mapDepth = engineSchematic.depth();
-        final int mapLength = engineSchematic.length();
-
-        int sum = 0;
-        for (final Position symPos : engineSchematic.symbolPositions()) {
-            if (engineSchematic.schematic()[symPos.i()][symPos.j()] == '*') {
-                final List<Position> neighbours = symPos.getNeighbours(mapLength, mapDepth);
-                final Set<Position> mapped = new HashSet<>();
-                final List<Integer> numbers = neighbours.stream()
-                        .filter(nPos -> Character.isDigit(engineSchematic.schematic()[nPos.i()][nPos.j()]))
-                        .map(pos -> Day03.completeNumber(engineSchematic, pos, mapped))
-                        .filter(number -> number != 0)
-                        .toList();
-                
-                if (numbers.size() == 2) {
-                    sum += numbers.get(0) * numbers.get(1);
-                }
-            }
-        }
-
-        return sum;
+        return sumAdjacentNumbers(schematic).gearRatios();
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return sumOfAllPartNumbers(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return sumOfAllGearRatios(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> schematic = Files.readAllLines(Path.of("src/main/resources/Day03.txt"));
         System.out.println("Part 1: " + new Day03().sumOfAllPartNumbers(schematic));
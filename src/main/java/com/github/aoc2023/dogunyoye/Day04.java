@@ -1,7 +1,6 @@
 package com.github.aoc2023.dogunyoye;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -10,49 +9,48 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class Day04 {
+public class Day04 implements Solver {
 
     private record ScratchCard(int cardNumber, Set<Integer> winningNumbers, Set<Integer> myNumbers) { }
 
-    private static ScratchCard createCard(String card) {
+    private static ScratchCard createCard(Input.Cursor cursor) {
         // Card 1: 41 48 83 86 17 | 83 86  6 31 17  9 48 53
+        final int cardNumber = cursor.nextInt();
+        cursor.skipPast(':');
 
-        // Card 1
-        // 41 48 83 86 17 | 83 86  6 31 17  9 48 53
-        final String[] parts = card.split(": ");
-        final String[] parts2 = parts[0].split(" ");
-        final int cardNumber = Integer.parseInt(parts2[parts2.length-1].trim());
-
-        // 41 48 83 86 17 | 83 86  6 31 17  9 48 53
-        final String[] numbersParts = parts[1].split("\\|");
         final Set<Integer> winningSet = new HashSet<>();
         final Set<Integer> myNumbers = new HashSet<>();
 
         // 41 48 83 86 17
-        final String[] winningNums = numbersParts[0].trim().split(" ");
-        for (final String winningNum : winningNums) {
-            if (!winningNum.isEmpty()) {
-                winningSet.add(Integer.parseInt(winningNum));
-            }
+        while (cursor.skipWhitespace().peek() != '|') {
+            winningSet.add(cursor.nextInt());
         }
 
         // 83 86  6 31 17  9 48 53
-        final String[] myNums = numbersParts[1].trim().split(" ");
-        for (final String myNum : myNums) {
-            if (!myNum.isEmpty()) {
-                myNumbers.add(Integer.parseInt(myNum));
-            }
+        while (cursor.hasNextNumber()) {
+            myNumbers.add(cursor.nextInt());
         }
 
         final ScratchCard sc = new ScratchCard(cardNumber, winningSet, myNumbers);
         return sc;
     }
 
-    private List<ScratchCard> createScratchCards(List<String> cards) {
-        return cards.stream().map(Day04::createCard).toList();
+    private List<ScratchCard> createScratchCards(Input input) {
+        final List<ScratchCard> cards = new ArrayList<>(input.lineCount());
+        final Input.Cursor cursor = input.cursor();
+
+        for (int i = 0; i < input.lineCount(); i++) {
+            cards.add(createCard(cursor.line(i)));
+        }
+
+        return cards;
     }
 
     public int calculatePoints(List<String> cards) {
+        return calculatePoints(Input.of(cards));
+    }
+
+    public int calculatePoints(Input cards) {
         int sum = 0;
 
         final List<ScratchCard> scratchCards = createScratchCards(cards);
@@ -79,6 +77,10 @@ public class Day04 {
     }
 
     public int totalScratchCards(List<String> cards) {
+        return totalScratchCards(Input.of(cards));
+    }
+
+    public int totalScratchCards(Input cards) {
         final Map<Integer, List<Integer>> cardCopiesMap = new HashMap<>();
 
         final List<ScratchCard> scratchCards = createScratchCards(cards);
@@ -103,8 +105,28 @@ public class Day04 {
         return result;
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return calculatePoints(data);
+    }
+
+    @Override
+    public Object partOne(Input input) {
+        return calculatePoints(input);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return totalScratchCards(data);
+    }
+
+    @Override
+    public Object partTwo(Input input) {
+        return totalScratchCards(input);
+    }
+
     public static void main(String[] args) throws IOException {
-        final List<String> cards = Files.readAllLines(Path.of("src/main/resources/Day04.txt"));
+        final Input cards = Input.map(Path.of("src/main/resources/Day04.txt"));
         System.out.println("Part 1: " + new Day04().calculatePoints(cards));
         System.out.println("Part 2: " + new Day04().totalScratchCards(cards));
     }
@@ -1,18 +1,16 @@
 package com.github.aoc2023.dogunyoye;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.stream.LongStream;
 
-public class Day05 {
+public class Day05 implements Solver {
 
     enum MapKey {
         SEED,
@@ -25,8 +23,8 @@ public class Day05 {
         LOCATION
     }
 
-    private static final Recipe[] ORDER =
-        new Recipe[]{
+    private static final List<Recipe> ORDER =
+        List.of(
             new Recipe(MapKey.SEED, MapKey.SOIL),
             new Recipe(MapKey.SOIL, MapKey.FERTILISER),
             new Recipe(MapKey.FERTILISER, MapKey.WATER),
@@ -34,7 +32,7 @@ public class Day05 {
             new Recipe(MapKey.LIGHT, MapKey.TEMPERATURE),
             new Recipe(MapKey.TEMPERATURE, MapKey.HUMIDITY),
             new Recipe(MapKey.HUMIDITY, MapKey.LOCATION)
-        };
+        );
 
     private record Recipe(MapKey source, MapKey destination) { }
 
@@ -76,58 +74,63 @@ public class Day05 {
         }
     }
 
-    private Iterator<String> processRecipe(Iterator<String> lines, Recipe recipe, Map<Recipe, List<Range>> recipes) {
-        String currentLine = lines.next();
+    private int processRecipe(Input input, Input.Cursor cursor, int line, Recipe recipe, Map<Recipe, List<Range>> recipes) {
         final List<Range> ranges = new ArrayList<>();
-        while (!currentLine.isEmpty()) {
-            final String[] parts = currentLine.split(" ");
-            final long destination = Long.parseLong(parts[0]);
-            final long source = Long.parseLong(parts[1]);
-            final long range = Long.parseLong(parts[2]);
+        while (line < input.lineCount() && !input.isEmpty(line)) {
+            cursor.line(line);
+            final long destination = cursor.nextLong();
+            final long source = cursor.nextLong();
+            final long range = cursor.nextLong();
 
             ranges.add(new Range(source, destination, range));
-
-            if (!lines.hasNext()) {
-                break;
-            }
-
-            currentLine = lines.next();
+            ++line;
         }
 
         recipes.put(recipe, ranges);
-        return lines;
+        return line;
     }
     
-    private FarmInfo createFarmInfo(List<String> farmInfo) {
+    private FarmInfo createFarmInfo(Input input) {
         final List<Long> seeds = new ArrayList<>();
         final Map<Recipe, List<Range>> recipes = new HashMap<>();
+        final Input.Cursor cursor = input.cursor();
 
-        Iterator<String> lines = farmInfo.iterator();
-
-        while (lines.hasNext()) {
-            final String currentLine = lines.next();
-            if (currentLine.isEmpty()) {
+        int line = 0;
+        while (line < input.lineCount()) {
+            if (input.isEmpty(line)) {
+                ++line;
                 continue;
             }
 
-            if (currentLine.contains("seeds:")) {
-                final String[] parts = currentLine.split(" ");
-                for (int i = 1; i < parts.length; i++) {
-                    seeds.add(Long.parseLong(parts[i]));
+            cursor.line(line);
+            if (cursor.startsWith("seeds:")) {
+                while (cursor.hasNextNumber()) {
+                    seeds.add(cursor.nextLong());
                 }
+                ++line;
                 continue;
             }
 
-            lines = switch(currentLine.split(" ")[0]) {
-                case "seed-to-soil" -> processRecipe(lines, new Recipe(MapKey.SEED, MapKey.SOIL), recipes);
-                case "soil-to-fertilizer" -> processRecipe(lines, new Recipe(MapKey.SOIL, MapKey.FERTILISER), recipes);
-                case "fertilizer-to-water" -> processRecipe(lines, new Recipe(MapKey.FERTILISER, MapKey.WATER), recipes);
-                case "water-to-light" -> processRecipe(lines, new Recipe(MapKey.WATER, MapKey.LIGHT), recipes);
-                case "light-to-temperature" -> processRecipe(lines, new Recipe(MapKey.LIGHT, MapKey.TEMPERATURE), recipes);
-                case "temperature-to-humidity" -> processRecipe(lines, new Recipe(MapKey.TEMPERATURE, MapKey.HUMIDITY), recipes);
-                case "humidity-to-location" -> processRecipe(lines, new Recipe(MapKey.HUMIDITY, MapKey.LOCATION), recipes);
-                default -> throw new RuntimeException("Unknown mapping");
-            };
+            final Recipe recipe;
+            if (cursor.startsWith("seed-to-soil")) {
+                recipe = new Recipe(MapKey.SEED, MapKey.SOIL);
+            } else if (cursor.startsWith("soil-to-fertilizer")) {
+                recipe = new Recipe(MapKey.SOIL, MapKey.FERTILISER);
+            } else if (cursor.startsWith("fertilizer-to-water")) {
+                recipe = new Recipe(MapKey.FERTILISER, MapKey.WATER);
+            } else if (cursor.startsWith("water-to-light")) {
+                recipe = new Recipe(MapKey.WATER, MapKey.LIGHT);
+            } else if (cursor.startsWith("light-to-temperature")) {
+                recipe = new Recipe(MapKey.LIGHT, MapKey.TEMPERATURE);
+            } else if (cursor.startsWith("temperature-to-humidity")) {
+                recipe = new Recipe(MapKey.TEMPERATURE, MapKey.HUMIDITY);
+            } else if (cursor.startsWith("humidity-to-location")) {
+                recipe = new Recipe(MapKey.HUMIDITY, MapKey.LOCATION);
+            } else {
+                throw new RuntimeException("Unknown mapping");
+            }
+
+            line = processRecipe(input, cursor, line + 1, recipe, recipes);
         }
     
         return new FarmInfo(seeds, recipes);
@@ -160,10 +163,10 @@ public class Day05 {
 
         while (!queue.isEmpty()) {
             final SeedRange sr = queue.poll();
-            for (int i = sr.recipeIndex(); i < ORDER.length; i++) {
+            for (int i = sr.recipeIndex(); i < ORDER.size(); i++) {
                 final long value = sr.seedStart();
 
-                for (final Range range : recipes.get(ORDER[i])) {
+                for (final Range range : recipes.get(ORDER.get(i))) {
 
                     final long sourceStart = range.sourceStart();
                     final long sourceLimit = sourceStart + range.range();
@@ -214,17 +217,37 @@ public class Day05 {
     }
 
     public long findLowestLocationNumber(List<String> info) {
+        return findLowestLocationNumber(Input.of(info));
+    }
+
+    // parses the almanac, recording it as a JFR phase
+    private FarmInfo createFarmInfoPhase(Input info) {
+        final PhaseEvent phase = PhaseEvent.begin("Day05", "createFarmInfo");
         final FarmInfo farmInfo = createFarmInfo(info);
-        return
+        phase.commit();
+        return farmInfo;
+    }
+
+    public long findLowestLocationNumber(Input info) {
+        final FarmInfo farmInfo = createFarmInfoPhase(info);
+
+        final PhaseEvent phase = PhaseEvent.begin("Day05", "processSeed");
+        final long lowestLocation =
             farmInfo.seeds().stream()
-                .map(seed -> new Day05().processSeed(seed, farmInfo.recipes()))
-                .mapToLong(location -> location)
+                .mapToLong(seed -> processSeed(seed, farmInfo.recipes()))
                 .min()
                 .getAsLong();
+        phase.commit();
+
+        return lowestLocation;
     }
 
     public long findLowestLocationForSeedNumberRangeBruteForce(List<String> info) {
-        final FarmInfo farmInfo = createFarmInfo(info);
+        return findLowestLocationForSeedNumberRangeBruteForce(Input.of(info));
+    }
+
+    public long findLowestLocationForSeedNumberRangeBruteForce(Input info) {
+        final FarmInfo farmInfo = createFarmInfoPhase(info);
         final List<Long> seeds = farmInfo.seeds();
 
         long lowestLocation = Long.MAX_VALUE;
@@ -248,9 +271,14 @@ public class Day05 {
     }
 
     public long findLowestLocationForSeedNumberRange(List<String> info) {
-        final FarmInfo farmInfo = createFarmInfo(info);
+        return findLowestLocationForSeedNumberRange(Input.of(info));
+    }
+
+    public long findLowestLocationForSeedNumberRange(Input info) {
+        final FarmInfo farmInfo = createFarmInfoPhase(info);
         final List<Long> seeds = farmInfo.seeds();
 
+        final PhaseEvent phase = PhaseEvent.begin("Day05", "processSeedRange");
         long lowestLocation = Long.MAX_VALUE;
 
         for (int i = 0; i < seeds.size(); i+=2) {
@@ -260,12 +288,33 @@ public class Day05 {
             final SeedRange sr = new SeedRange(seed, seed + length, 0);
             lowestLocation = Math.min(lowestLocation, processSeedRange(sr, farmInfo.recipes()));
         }
+        phase.commit();
 
         return lowestLocation;
     }
 
+    @Override
+    public Object partOne(List<String> data) {
+        return findLowestLocationNumber(data);
+    }
+
+    @Override
+    public Object partOne(Input input) {
+        return findLowestLocationNumber(input);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findLowestLocationForSeedNumberRange(data);
+    }
+
+    @Override
+    public Object partTwo(Input input) {
+        return findLowestLocationForSeedNumberRange(input);
+    }
+
     public static void main(String[] args) throws IOException {
-        final List<String> farmInfo = Files.readAllLines(Path.of("src/main/resources/Day05.txt"));
+        final Input farmInfo = Input.map(Path.of("src/main/resources/Day05.txt"));
         System.out.println("Part 1: " + new Day05().findLowestLocationNumber(farmInfo));
         System.out.println("Part 2: " + new Day05().findLowestLocationForSeedNumberRange(farmInfo));
     }
@@ -8,7 +8,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.LongStream;
 
-public class Day06 {
+public class Day06 implements Solver {
 
     private record Race(long time, long recordDistance) { }
 
@@ -130,6 +130,16 @@ public class Day06 {
         return ((long)(Math.floor(x0) - Math.ceil(x1)) + 1);
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return calculateMarginOfError(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findNumberOfWaysToBeatRecord(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day06.txt"));
         System.out.println("Part 1: " + new Day06().calculateMarginOfError(data));
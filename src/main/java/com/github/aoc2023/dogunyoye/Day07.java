@@ -11,7 +11,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Map.Entry;
 
-public class Day07 {
+public class Day07 implements Solver {
 
     enum HandType {
         HIGH_CARD,
@@ -209,6 +209,16 @@ public class Day07 {
         return result;
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return calculateTotalWinnings(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return calculateTotalWinningsWithJokerRule(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day07.txt"));
         System.out.println("Part 1: " + new Day07().calculateTotalWinnings(data));
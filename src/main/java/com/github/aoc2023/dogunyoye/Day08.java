@@ -7,10 +7,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.Map.Entry;
 
-public class Day08 {
+public class Day08 implements Solver {
 
     private record Pair<K, V>(K left, V right) { }
 
@@ -34,23 +32,6 @@ public class Day08 {
         return new Network(sequence, directions);
     }
 
-    private long gcd(long x, long y) {
-        if (y == 0) {
-            return Math.abs(x);
-        }
-
-        return gcd(y, x % y);
-    }
-
-    private long lcm(List<Long> numbers) {
-        long lcm = 1;
-        for (final long n : numbers) {
-            lcm = (lcm * n)/gcd(lcm, n);
-        }
-
-        return lcm;
-    }
-
     public int findNumberOfStepsToEnd(List<String> data) {
         final Network network = createNetwork(data);
         String current = "AAA";
@@ -67,52 +48,83 @@ public class Day08 {
         return steps;
     }
 
+    /**
+     * Walks one ghost until its state (node and place in the instructions) repeats
+     *
+     * @param marks filled with the steps, before the cycle's prefix plus its period, at
+     *              which the ghost is on a "..Z" node
+     */
+    private Cycles.Cycle walkGhost(int start, int[] left, int[] right, boolean[] isEnd, char[] sequence, List<Long> marks) {
+        final Cycles.Detector detector = new Cycles.Detector();
+        final List<Long> ends = new ArrayList<>();
+        int node = start;
+        long steps = 0;
+
+        while (!detector.add(((long) node * sequence.length) + (steps % sequence.length))) {
+            node = 'L' == sequence[(int) (steps % sequence.length)] ? left[node] : right[node];
+            steps++;
+            if (isEnd[node]) {
+                ends.add(steps);
+            }
+        }
+
+        final Cycles.Cycle cycle = detector.cycle();
+        ends.stream().filter((n) -> n < cycle.prefix() + cycle.period()).forEach(marks::add);
+        return cycle;
+    }
+
+    /**
+     * Every ghost's walk eventually repeats. The answer is the first step at which all of
+     * them are on a "..Z" node, which is found from the cycles rather than assuming each
+     * ghost reaches its end exactly once per cycle (which would make it their LCM).
+     */
     public long findNumberOfStepsToEndStartingFromANodes(List<String> data) {
         final Network network = createNetwork(data);
-        final long length = network.sequence().length;
-        long steps = 0;
 
-        final List<String> nodes =
-            network.directions().entrySet()
-                .stream()
-                .filter((entry) -> entry.getKey().endsWith("A"))
-                .map((entry) -> entry.getKey())
-                .toList();
-        
-        final Map<String, String> locationMap = new HashMap<>();
-        final List<Long> values = new ArrayList<>();
-
-        for (final String s : nodes) {
-            locationMap.put(s, new String(s));
+        // number the nodes, so a ghost's state is a single long
+        final List<String> names = new ArrayList<>(network.directions().keySet());
+        final Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            ids.put(names.get(i), i);
         }
 
-        while(!locationMap.isEmpty()) {
-            final char direction = network.sequence()[(int)(steps % length)];
-            final Set<Entry<String, String>> entrySet = locationMap.entrySet();
-
-            final List<String> toRemove = new ArrayList<>();
-
-            for (final Entry<String, String> e : entrySet) {
-                final Pair<String, String> directions = network.directions().get(e.getValue());
-                final String nextStep = 'L' == direction ? directions.left() : directions.right();
-                if (nextStep.endsWith("Z")) {
-                    values.add((steps + 1));
-                    toRemove.add(e.getKey());
-                } else {
-                    locationMap.put(e.getKey(), nextStep);
-                }
-            }
+        final int[] left = new int[names.size()];
+        final int[] right = new int[names.size()];
+        final boolean[] isEnd = new boolean[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            final Pair<String, String> directions = network.directions().get(names.get(i));
+            left[i] = ids.get(directions.left());
+            right[i] = ids.get(directions.right());
+            isEnd[i] = names.get(i).endsWith("Z");
+        }
 
-            for (final String r : toRemove) {
-                locationMap.remove(r);
-            }
+        final List<String> starts = names.stream().filter((name) -> name.endsWith("A")).toList();
+        final Cycles.Cycle[] cycles = new Cycles.Cycle[starts.size()];
+        final long[][] marks = new long[starts.size()][];
 
-            steps++;
+        for (int g = 0; g < starts.size(); g++) {
+            final List<Long> ghostMarks = new ArrayList<>();
+            cycles[g] = walkGhost(ids.get(starts.get(g)), left, right, isEnd, network.sequence(), ghostMarks);
+            marks[g] = ghostMarks.stream().mapToLong((n) -> n).toArray();
         }
 
-        return lcm(values);
+        final long steps = Cycles.firstCommon(cycles, marks);
+        if (steps == -1) {
+            throw new RuntimeException("The ghosts are never all on a ..Z node");
+        }
+        return steps;
+    }
+
+    @Override
+    public Object partOne(List<String> data) {
+        return findNumberOfStepsToEnd(data);
     }
-    
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findNumberOfStepsToEndStartingFromANodes(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day08.txt"));
         System.out.println("Part 1: " + new Day08().findNumberOfStepsToEnd(data));
@@ -7,7 +7,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-public class Day09 {
+public class Day09 implements Solver {
 
     private static int processSequence(List<Integer> sequence, boolean forwards) {
         if (sequence.stream().allMatch(n -> n == 0)) {
@@ -41,6 +41,16 @@ public class Day09 {
         return sequences.stream().map((seq) -> Day09.processSequence(seq, forwards)).mapToInt(n -> n).sum();
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return calculateSumOfExrapolatedValues(data, true);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return calculateSumOfExrapolatedValues(data, false);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day09.txt"));
         System.out.println("Part 1: " + new Day09().calculateSumOfExrapolatedValues(data, true));
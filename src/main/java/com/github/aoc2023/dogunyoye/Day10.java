@@ -4,81 +4,71 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class Day10 {
+public class Day10 implements Solver {
 
     // | - L J 7 F
 
-    private static Map<Character, List<Character>> validNorthAdjacentNodes;
-    private static Map<Character, List<Character>> validEastAdjacentNodes;
-    private static Map<Character, List<Character>> validSouthAdjacentNodes;
-    private static Map<Character, List<Character>> validWestAdjacentNodes;
-
-    static {
-        validNorthAdjacentNodes = new HashMap<>();
-        validEastAdjacentNodes = new HashMap<>();
-        validSouthAdjacentNodes = new HashMap<>();
-        validWestAdjacentNodes = new HashMap<>();
-
-        validNorthAdjacentNodes.put('|', List.of('|', '7', 'F'));
-        validNorthAdjacentNodes.put('L', List.of('|', '7', 'F'));
-        validNorthAdjacentNodes.put('J', List.of('|', '7', 'F'));
-
-        validEastAdjacentNodes.put('-', List.of('-', 'J', '7'));
-        validEastAdjacentNodes.put('F', List.of('-', 'J', '7'));
-        validEastAdjacentNodes.put('L', List.of('-', 'J', '7'));
-
-        validSouthAdjacentNodes.put('|', List.of('|', 'J', 'L'));
-        validSouthAdjacentNodes.put('7', List.of('|', 'J', 'L'));
-        validSouthAdjacentNodes.put('F', List.of('|', 'J', 'L'));
-
-        validWestAdjacentNodes.put('-', List.of('-', 'L', 'F'));
-        validWestAdjacentNodes.put('J', List.of('-', 'L', 'F'));
-        validWestAdjacentNodes.put('7', List.of('-', 'L', 'F'));
-    }
-
-    private record Position(int i, int j) { }
-
-    private List<Position> getConnectingNodes(char[][] map, int length, int depth, int i, int j) {
-        final char pipe = map[i][j];
-        final List<Character> validNorth = validNorthAdjacentNodes.get(pipe);
-        final List<Character> validEast = validEastAdjacentNodes.get(pipe);
-        final List<Character> validSouth = validSouthAdjacentNodes.get(pipe);
-        final List<Character> validWest = validWestAdjacentNodes.get(pipe);
-
-        final List<Position> connecting = new ArrayList<>();
-
+    private static final Map<Character, List<Character>> VALID_NORTH_ADJACENT_NODES =
+        Map.of(
+            '|', List.of('|', '7', 'F'),
+            'L', List.of('|', '7', 'F'),
+            'J', List.of('|', '7', 'F')
+        );
+
+    private static final Map<Character, List<Character>> VALID_EAST_ADJACENT_NODES =
+        Map.of(
+            '-', List.of('-', 'J', '7'),
+            'F', List.of('-', 'J', '7'),
+            'L', List.of('-', 'J', '7')
+        );
+
+    private static final Map<Character, List<Character>> VALID_SOUTH_ADJACENT_NODES =
+        Map.of(
+            '|', List.of('|', 'J', 'L'),
+            '7', List.of('|', 'J', 'L'),
+            'F', List.of('|', 'J', 'L')
+        );
+
+    private static final Map<Character, List<Character>> VALID_WEST_ADJACENT_NODES =
+        Map.of(
+            '-', List.of('-', 'L', 'F'),
+            'J', List.of('-', 'L', 'F'),
+            '7', List.of('-', 'L', 'F')
+        );
+
+    private List<Integer> getConnectingNodes(Grid map, int pos) {
+        final char pipe = (char) map.get(pos);
+        final List<Character> validNorth = VALID_NORTH_ADJACENT_NODES.get(pipe);
+        final List<Character> validEast = VALID_EAST_ADJACENT_NODES.get(pipe);
+        final List<Character> validSouth = VALID_SOUTH_ADJACENT_NODES.get(pipe);
+        final List<Character> validWest = VALID_WEST_ADJACENT_NODES.get(pipe);
+
+        final List<Integer> connecting = new ArrayList<>();
+
+        // the '.' border never connects, so no bounds checks are needed
         // NORTH
-        if (i - 1 >= 0 && validNorth != null) {
-            if (validNorth.contains(map[i-1][j])) {
-                connecting.add(new Position(i-1, j));
-            }
+        if (validNorth != null && validNorth.contains((char) map.get(pos + map.offset(Grid.NORTH)))) {
+            connecting.add(pos + map.offset(Grid.NORTH));
         }
 
         // EAST
-        if (j + 1 < length && validEast != null) {
-            if (validEast.contains(map[i][j+1])) {
-                connecting.add(new Position(i, j+1));
-            }
+        if (validEast != null && validEast.contains((char) map.get(pos + map.offset(Grid.EAST)))) {
+            connecting.add(pos + map.offset(Grid.EAST));
         }
 
         // SOUTH
-        if (i + 1 < depth && validSouth != null) {
-            if (validSouth.contains(map[i+1][j])) {
-                connecting.add(new Position(i+1, j));
-            }
+        if (validSouth != null && validSouth.contains((char) map.get(pos + map.offset(Grid.SOUTH)))) {
+            connecting.add(pos + map.offset(Grid.SOUTH));
         }
 
         // WEST
-        if (j - 1 >= 0 && validWest != null) {
-            if (validWest.contains(map[i][j-1])) {
-                connecting.add(new Position(i, j-1));
-            }
+        if (validWest != null && validWest.contains((char) map.get(pos + map.offset(Grid.WEST)))) {
+            connecting.add(pos + map.offset(Grid.WEST));
         }
 
         if (connecting.size() == 0 || connecting.size() > 2) {
@@ -88,27 +78,27 @@ public class Day10 {
         return connecting;
     }
 
-    private List<Position> connectingNodesFromStart(Position start, char[][] map, int length, int depth) {
-        final List<Position> connecting = new ArrayList<>();
+    private List<Integer> connectingNodesFromStart(int start, Grid map) {
+        final List<Integer> connecting = new ArrayList<>();
 
         // NORTH
-        if ((start.i() - 1 >= 0) && "|7F".indexOf(Character.toString(map[start.i() - 1][start.j()])) != -1) {
-            connecting.add(new Position(start.i() - 1, start.j()));
+        if ("|7F".indexOf(map.get(start + map.offset(Grid.NORTH))) != -1) {
+            connecting.add(start + map.offset(Grid.NORTH));
         }
 
         // EAST
-        if ((start.j() + 1 < length) && "-7J".indexOf(Character.toString(map[start.i()][start.j() + 1])) != -1) {
-            connecting.add(new Position(start.i(), start.j() + 1));
+        if ("-7J".indexOf(map.get(start + map.offset(Grid.EAST))) != -1) {
+            connecting.add(start + map.offset(Grid.EAST));
         }
 
         // SOUTH
-        if ((start.i() + 1 < depth) &&"|JL".indexOf(Character.toString(map[start.i() + 1][start.j()])) != -1) {
-            connecting.add(new Position(start.i() + 1, start.j()));
+        if ("|JL".indexOf(map.get(start + map.offset(Grid.SOUTH))) != -1) {
+            connecting.add(start + map.offset(Grid.SOUTH));
         }
 
         // WEST
-        if ((start.j() - 1 >= 0) && "-FL".indexOf(Character.toString(map[start.i()][start.j() - 1])) != -1) {
-            connecting.add(new Position(start.i(), start.j() - 1));
+        if ("-FL".indexOf(map.get(start + map.offset(Grid.WEST))) != -1) {
+            connecting.add(start + map.offset(Grid.WEST));
         }
 
         if (connecting.size() != 2) {
@@ -118,52 +108,27 @@ public class Day10 {
         return connecting;
     }
 
-    private Position findStartPosition(char[][] map, int length, int depth) {
-        for (int i = 0; i < depth; i++) {
-            for (int j = 0; j < length; j++) {
-                if (map[i][j] == 'S') {
-                    return new Position(i, j);
-                }
-            }
-        }
-
-        throw new RuntimeException("Unable to find start position");
-    }
-
-    private char[][] buildMap(List<String> data) {
-        final int mapLength = data.get(0).length();
-        final int mapDepth = data.size();
-
-        final char[][] map = new char[mapDepth][mapLength];
-
-        for (int i = 0; i < mapDepth; i++) {
-            final String line = data.get(i);
-            for (int j = 0; j < mapLength; j++) {
-                map[i][j] = line.charAt(j);
-            }
+    private int findStartPosition(Grid map) {
+        final int start = map.indexOf('S');
+        if (start == -1) {
+            throw new RuntimeException("Unable to find start position");
         }
-
-        return map;
+        return start;
     }
 
-    private Set<Position> traversePipes(List<String> data) {
-        final char[][] pipesMap = buildMap(data);
-        final int mapLength = data.get(0).length();
-        final int mapDepth = data.size();
-
-        final Position start = findStartPosition(pipesMap, mapLength, mapDepth);
-        List<Position> connecting = connectingNodesFromStart(start, pipesMap, mapLength, mapDepth);
+    private Set<Integer> traversePipes(Grid pipesMap) {
+        final int start = findStartPosition(pipesMap);
+        List<Integer> connecting = connectingNodesFromStart(start, pipesMap);
 
         // LinkedHashSet used here to maintain insertion order
         // Makes it easier for us to later build a clockwise ordering of the boundary points
-        final Set<Position> visited = new LinkedHashSet<>();
+        final Set<Integer> visited = new LinkedHashSet<>();
         visited.add(start);
 
         while(!connecting.isEmpty()) {
-            final List<Position> next = new ArrayList<>();
-            for (final Position p : connecting) {
-                final List<Position> adjacent =
-                    getConnectingNodes(pipesMap, mapLength, mapDepth, p.i(), p.j());
+            final List<Integer> next = new ArrayList<>();
+            for (final int p : connecting) {
+                final List<Integer> adjacent = getConnectingNodes(pipesMap, p);
                 next.addAll(adjacent.stream().filter((pos) -> !visited.contains(pos)).toList());
                 visited.add(p);
             }
@@ -175,48 +140,18 @@ public class Day10 {
     }
 
     public int findStepsToTheFurthestPosition(List<String> data) {
-        return traversePipes(data).size() / 2;
-    }
-
-    // https://www.geeksforgeeks.org/area-of-a-polygon-with-given-n-ordered-vertices/
-    // https://www.101computing.net/the-shoelace-algorithm/
-    private int shoeLaceFormula(List<Position> corners) {
-        final List<Integer> xs = new ArrayList<>();
-        final List<Integer> ys = new ArrayList<>();
-
-        final int length = corners.size();
-
-        for (int i = 0; i < corners.size(); i++) {
-            final Position pos = corners.get(i);
-            xs.add(pos.j());
-            ys.add(pos.i());
-        }
-
-        // Initialize area
-        int area = 0;
-
-        // Calculate value of shoelace formula
-        int j = length - 1;
-        for (int i = 0; i < length; i++) {
-            area += (xs.get(j) + xs.get(i)) * (ys.get(j) - ys.get(i));
-                
-            // j is previous vertex to i
-            j = i; 
-        }
-        
-        // Return absolute value
-        return Math.abs(area) / 2;
+        return traversePipes(Grid.of(data, '.')).size() / 2;
     }
 
     public int findNumberOfTilesEnclosedByLoop(List<String> data) {
-        final Set<Position> boundary = traversePipes(data);
-        final char[][] pipesMap = buildMap(data);
+        final Grid pipesMap = Grid.of(data, '.');
+        final Set<Integer> boundary = traversePipes(pipesMap);
 
         // `path` is a clockwise ordering of the loop boundary points
-        final List<Position> path = new ArrayList<>();
-        final List<Position> secondPath = new ArrayList<>();
+        final List<Integer> path = new ArrayList<>();
+        final List<Integer> secondPath = new ArrayList<>();
 
-        final List<Position> boundaryList = boundary.stream().toList();
+        final List<Integer> boundaryList = boundary.stream().toList();
 
         path.add(boundaryList.get(0));
 
@@ -230,18 +165,28 @@ public class Day10 {
 
         path.addAll(secondPath.reversed());
 
-        final List<Position> corners =
-            path.stream()
-                .filter((pos) -> {
-                    final char v = pipesMap[pos.i()][pos.j()];
-                    return Character.toString(v).matches("[SFL7J]");
-                })
-                .toList();
+        // the loop only turns at its corners, the boundary between them is counted by the polygon
+        final Polygon loop = new Polygon();
+        for (final int pos : path) {
+            if ("SFL7J".indexOf(pipesMap.get(pos)) != -1) {
+                loop.add(pipesMap.column(pos), pipesMap.row(pos));
+            }
+        }
 
         // Pick's Theorem - https://en.wikipedia.org/wiki/Pick%27s_theorem
-        return (shoeLaceFormula(corners) + 1) - (boundary.size() / 2);
+        return (int) loop.close().interiorPoints();
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return findStepsToTheFurthestPosition(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findNumberOfTilesEnclosedByLoop(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day10.txt"));
         System.out.println("Part 1: " + new Day10().findStepsToTheFurthestPosition(data));
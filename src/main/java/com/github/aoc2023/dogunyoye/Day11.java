@@ -8,7 +8,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class Day11 {
+public class Day11 implements Solver {
+
+    private static final ByteKernels KERNELS = ByteKernels.get();
 
     private class Position {
 
@@ -71,11 +73,10 @@ public class Day11 {
         }
     }
 
-    private List<Integer> getRowInsertionIdxs(List<String> data) {
+    private List<Integer> getRowInsertionIdxs(Grid map) {
         final List<Integer> rowInsertionIdxs = new ArrayList<>();
-        for (int i = data.size() - 1; i >= 0; i--) {
-            final String row = data.get(i);
-            if (row.chars().allMatch((c) -> c == '.')) {
+        for (int i = map.depth() - 1; i >= 0; i--) {
+            if (KERNELS.count(map.cells(), map.index(i, 0), map.length(), (byte) '.') == map.length()) {
                 rowInsertionIdxs.add(i);
             }
         }
@@ -83,79 +84,52 @@ public class Day11 {
         return rowInsertionIdxs;
     }
 
-    private List<Integer> getColumnInsertionIdxs(List<String> data) {
-        final List<Integer> columnInsertionIdxs = new ArrayList<>();
-        final int length = data.get(0).length();
-
-        for (int i = length - 1; i >= 0; i--) {
-            boolean allDots = true;
-            for (int j = 0; j < data.size(); j++) {
-                final char c = data.get(j).charAt(i);
-                if (c != '.') {
-                    allDots = false;
-                    break;
-                }
-            }
-
-            if (allDots) {
-                columnInsertionIdxs.add(i);
-            }
-        }
-
-        return columnInsertionIdxs;
-    }
-
-    private char[][] buildMap(List<String> data) {
-        final List<Integer> rowInsertionIdxs = getRowInsertionIdxs(data);
-        final List<Integer> columnInsertionIdxs = getColumnInsertionIdxs(data);
-        final int oldLength = data.get(0).length();
-
-        for (final int idx : rowInsertionIdxs) {
-            data.add(idx, ".".repeat(oldLength));
-        }
-
-        for (int i = 0; i < data.size(); i++) {
-            final StringBuilder sb = new StringBuilder(data.get(i));
-            for (final int idx : columnInsertionIdxs) {
-                sb.insert(idx, '.');
-            }
-            data.set(i, sb.toString());
+    private List<Integer> getColumnInsertionIdxs(Grid map) {
+        // a row at a time, marking the columns with anything but a '.'
+        final byte[] occupied = new byte[map.length()];
+        for (int i = 0; i < map.depth(); i++) {
+            KERNELS.markDiffering(map.cells(), map.index(i, 0), map.length(), (byte) '.', occupied);
         }
 
-        final int mapLength = data.get(0).length();
-        final int mapDepth = data.size();
-
-        final char[][] map = new char[mapDepth][mapLength];
-
-        for (int i = 0; i < mapDepth; i++) {
-            for (int j = 0; j < mapLength; j++) {
-                map[i][j] = data.get(i).charAt(j);
+        final List<Integer> columnInsertionIdxs = new ArrayList<>();
+        for (int j = map.length() - 1; j >= 0; j--) {
+            if (occupied[j] == 0) {
+                columnInsertionIdxs.add(j);
             }
         }
 
-        return map;
+        return columnInsertionIdxs;
     }
 
-    private char[][] buildMapNoExpansion(List<String> data) {
-        final int mapLength = data.get(0).length();
-        final int mapDepth = data.size();
-
-        final char[][] map = new char[mapDepth][mapLength];
-
-        for (int i = 0; i < mapDepth; i++) {
-            for (int j = 0; j < mapLength; j++) {
-                map[i][j] = data.get(i).charAt(j);
+    private Grid buildMap(List<String> data) {
+        final Grid map = Grid.of(data, '.');
+        final List<Integer> rowInsertionIdxs = getRowInsertionIdxs(map);
+        final List<Integer> columnInsertionIdxs = getColumnInsertionIdxs(map);
+
+        final Grid expanded =
+            Grid.filled(map.depth() + rowInsertionIdxs.size(), map.length() + columnInsertionIdxs.size(), '.', '.');
+
+        // copy every galaxy across, shifted by the number of empty rows/columns before it
+        for (int i = 0; i < map.depth(); i++) {
+            final int ii = i;
+            final int iOffset = (int) rowInsertionIdxs.stream().filter((idx) -> idx < ii).count();
+            for (int j = 0; j < map.length(); j++) {
+                if (map.get(i, j) == '#') {
+                    final int jj = j;
+                    final int jOffset = (int) columnInsertionIdxs.stream().filter((idx) -> idx < jj).count();
+                    expanded.set(i + iOffset, j + jOffset, '#');
+                }
             }
         }
 
-        return map;
+        return expanded;
     }
 
-    private List<Position> getGalaxyPositions(char[][] map, int mapLength, int mapDepth) {
+    private List<Position> getGalaxyPositions(Grid map) {
         final List<Position> galaxyPositions = new ArrayList<>();
-        for (int i = 0; i < mapDepth; i++) {
-            for (int j = 0; j < mapLength; j++) {
-                if (map[i][j] == '#') {
+        for (int i = 0; i < map.depth(); i++) {
+            for (int j = 0; j < map.length(); j++) {
+                if (map.get(i, j) == '#') {
                     galaxyPositions.add(new Position(i, j));
                 }
             }
@@ -173,10 +147,8 @@ public class Day11 {
      * This answer could be achieved much faster with `findSumOfShortestLengthsPart2(data, 2)`
      */
     public long findSumOfShortestLengths(List<String> data) {
-        final char[][] map = buildMap(data);
-        final int mapDepth = data.size();
-        final int mapLength = data.get(0).length();
-        final List<Position> galaxyPositions = getGalaxyPositions(map, mapLength, mapDepth);
+        final Grid map = buildMap(data);
+        final List<Position> galaxyPositions = getGalaxyPositions(map);
 
         long sum = 0;
         for (int i = 0; i < galaxyPositions.size(); i++) {
@@ -191,13 +163,10 @@ public class Day11 {
     }
 
     public long findSumOfShortestLengthsPart2(List<String> data, long offset) {
-        final List<Integer> rowInsertionIdxs = getRowInsertionIdxs(data);
-        final List<Integer> columnInsertionIdxs = getColumnInsertionIdxs(data);
-
-        final char[][] map = buildMapNoExpansion(data);
-        final int mapDepth = data.size();
-        final int mapLength = data.get(0).length();
-        final List<Position> galaxyPositions = getGalaxyPositions(map, mapLength, mapDepth);
+        final Grid map = Grid.of(data, '.');
+        final List<Integer> rowInsertionIdxs = getRowInsertionIdxs(map);
+        final List<Integer> columnInsertionIdxs = getColumnInsertionIdxs(map);
+        final List<Position> galaxyPositions = getGalaxyPositions(map);
 
         final Map<Position, Long> depthOffsetMap = new HashMap<>();
         final Map<Position, Long> lengthOffsetMap = new HashMap<>();
@@ -239,6 +208,16 @@ public class Day11 {
         return sum;
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return findSumOfShortestLengths(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findSumOfShortestLengthsPart2(data, 1_000_000L);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day11.txt"));
         final List<String> data2 = Files.readAllLines(Path.of("src/main/resources/Day11.txt"));
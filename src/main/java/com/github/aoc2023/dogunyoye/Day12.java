@@ -9,7 +9,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class Day12 {
+public class Day12 implements Solver {
+
+    private static final Metrics.Counter MEMO_HITS = Metrics.counter("Day12.findValidCombinationsOptimised.memoHits");
+    private static final Metrics.Counter MEMO_MISSES = Metrics.counter("Day12.findValidCombinationsOptimised.memoMisses");
 
     private record ConditionRecord(String record, int[] sequence, String regex) { }
 
@@ -147,8 +150,10 @@ public class Day12 {
 
         final State key = new State(i, damaged.length);
         if (memo.containsKey(key)) {
+            MEMO_HITS.increment();
             return memo.get(key);
         }
+        MEMO_MISSES.increment();
 
         long result = 0;
         if (canFill(record, i, i + damaged[0])) {
@@ -181,6 +186,16 @@ public class Day12 {
         return sum;
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return sumAllValidArrangements(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return sumAllValidArrangementsUnfolded(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day12.txt"));
         System.out.println("Part 1: " + new Day12().sumAllValidArrangements(data));
@@ -14,14 +14,12 @@ import java.util.Set;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
-public class Day13 {
+public class Day13 implements Solver {
 
     private record Note(int id, List<String> rows, List<String> columns, boolean cache) { }
 
     private record Replacement(int idx, String replacement) { }
 
-    private static final Map<Integer, String> REFLECTION_POINTS = new HashMap<>();
-
     private Note createNoteFromRows(int id, List<String> data, boolean cacheValue) {
         final int lineLength = data.get(0).length();
         final List<String> columns = new ArrayList<>();
@@ -122,8 +120,13 @@ public class Day13 {
         return candidatesMap;
     }
 
-    private static int checkSymmetry(Note n, List<String> note, boolean isVertical) {
-        final String value = REFLECTION_POINTS.get(n.id());
+    /**
+     * `reflectionPoints` maps a note's id to its original reflection line. Notes created with
+     * `cache` set record their line in it, and part 2 skips that line when checking the
+     * smudged copies of each note
+     */
+    private static int checkSymmetry(Note n, List<String> note, boolean isVertical, Map<Integer, String> reflectionPoints) {
+        final String value = reflectionPoints.get(n.id());
         for (int i = 0; i < note.size() - 1; i++) {
             final String current = note.get(i);
             final String next = note.get(i + 1);
@@ -156,7 +159,7 @@ public class Day13 {
 
                     if (isReflectionPoint) {
                         if (n.cache()) {
-                            REFLECTION_POINTS.put(n.id(), reflectionLine);
+                            reflectionPoints.put(n.id(), reflectionLine);
                         }
                         return i + 1;
                     }
@@ -166,24 +169,32 @@ public class Day13 {
         return 0;
     }
 
-    private static int checkVerticalSymmetry(Note note) {
-        return checkSymmetry(note, note.columns(), true);
+    private static int checkVerticalSymmetry(Note note, Map<Integer, String> reflectionPoints) {
+        return checkSymmetry(note, note.columns(), true, reflectionPoints);
     }
 
-    private static int checkHorizontalSymmetry(Note note) {
-        return checkSymmetry(note, note.rows(), false);
+    private static int checkHorizontalSymmetry(Note note, Map<Integer, String> reflectionPoints) {
+        return checkSymmetry(note, note.rows(), false, reflectionPoints);
     }
 
-    public long summariseAllNotes(List<String> data) {
-        final List<Note> notes = createNotes(data, true);
-        final long leftColumns = notes.stream().mapToInt(Day13::checkVerticalSymmetry).sum();
-        final long rowsAbove = notes.stream().mapToInt(Day13::checkHorizontalSymmetry).sum();
+    private static long summarise(List<Note> notes, Map<Integer, String> reflectionPoints) {
+        final long leftColumns = notes.stream().mapToInt((n) -> checkVerticalSymmetry(n, reflectionPoints)).sum();
+        final long rowsAbove = notes.stream().mapToInt((n) -> checkHorizontalSymmetry(n, reflectionPoints)).sum();
 
         return leftColumns + (100 * rowsAbove);
     }
 
+    public long summariseAllNotes(List<String> data) {
+        return summarise(createNotes(data, true), new HashMap<>());
+    }
+
     public long summariseAllNotesPart2(List<String> data) {
         final List<Note> notes = createNotes(data, true);
+
+        // the original reflection lines, which the smudged notes must not reuse
+        final Map<Integer, String> reflectionPoints = new HashMap<>();
+        summarise(notes, reflectionPoints);
+
         final Map<Note, List<Replacement>> rowReplacements = findCandidates(notes, true);
         final Map<Note, List<Replacement>> columnReplacements = findCandidates(notes, false);
 
@@ -201,8 +212,8 @@ public class Day13 {
                 newRow.set(r.idx(), r.replacement());
 
                 final Note newNote = createNoteFromRows(note.id(), newRow, false);
-                int l = checkVerticalSymmetry(newNote);
-                int a = checkHorizontalSymmetry(newNote);
+                int l = checkVerticalSymmetry(newNote, reflectionPoints);
+                int a = checkHorizontalSymmetry(newNote, reflectionPoints);
 
                 if (l > 0 && a > 0) {
                     throw new RuntimeException("Multiple reflection points");
@@ -241,8 +252,8 @@ public class Day13 {
                 }
 
                 final Note newNote = createNoteFromRows(note.id(), newRow, false);
-                int l = checkVerticalSymmetry(newNote);
-                int a = checkHorizontalSymmetry(newNote);
+                int l = checkVerticalSymmetry(newNote, reflectionPoints);
+                int a = checkHorizontalSymmetry(newNote, reflectionPoints);
 
                 if (l > 0 && a > 0) {
                     throw new RuntimeException("Multiple reflection points");
@@ -265,6 +276,16 @@ public class Day13 {
         return leftColumns + (100 * rowsAbove);
     }
  
+    @Override
+    public Object partOne(List<String> data) {
+        return summariseAllNotes(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return summariseAllNotesPart2(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day13.txt"));
         System.out.println("Part 1: " + new Day13().summariseAllNotes(data));
@@ -3,180 +3,121 @@ package com.github.aoc2023.dogunyoye;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import java.util.function.Consumer;
 
-public class Day14 {
+public class Day14 implements Solver {
 
-    private static final Consumer<char[][]> MOVE_NORTH =
+    private static final ByteKernels KERNELS = ByteKernels.get();
+
+    // the '#' border stops every rock at the edge of the map, so a rock keeps
+    // rolling for as long as the next cell in the tilt direction is empty
+    private static final Consumer<Grid> MOVE_NORTH =
         (map) -> {
-            for (int i = 0; i < map.length; i++) {
-                for (int j = 0; j < map[0].length; j++) {
-                    if (map[i][j] == 'O') {
-                        int ii = i;
-                        while(canMoveNorth(ii, j, map)) {
-                            map[ii][j] = '.';
-                            map[--ii][j] = 'O';
-                        } 
-                    }
+            for (int i = 0; i < map.depth(); i++) {
+                for (int j = 0; j < map.length(); j++) {
+                    roll(map, map.index(i, j), map.offset(Grid.NORTH));
                 }
             }
         };
     
-    private static final Consumer<char[][]> MOVE_WEST =
+    private static final Consumer<Grid> MOVE_WEST =
         (map) -> {
-            for (int i = 0; i < map.length; i++) {
-                for (int j = 0; j < map[0].length; j++) {
-                    if (map[i][j] == 'O') {
-                        int jj = j;
-                        while(canMoveWest(i, jj, map)) {
-                            map[i][jj] = '.';
-                            map[i][--jj] = 'O';
-                        } 
-                    }
+            for (int i = 0; i < map.depth(); i++) {
+                for (int j = 0; j < map.length(); j++) {
+                    roll(map, map.index(i, j), map.offset(Grid.WEST));
                 }
             }
         };
 
-    private static final Consumer<char[][]> MOVE_SOUTH =
+    private static final Consumer<Grid> MOVE_SOUTH =
         (map) -> {
-            for (int i = map.length - 1; i >= 0; i--) {
-                for (int j = 0; j < map[0].length; j++) {
-                    if (map[i][j] == 'O') {
-                        int ii = i;
-                        while(canMoveSouth(ii, j, map)) {
-                            map[ii][j] = '.';
-                            map[++ii][j] = 'O';
-                        } 
-                    }
+            for (int i = map.depth() - 1; i >= 0; i--) {
+                for (int j = 0; j < map.length(); j++) {
+                    roll(map, map.index(i, j), map.offset(Grid.SOUTH));
                 }
             }
         };
 
-    private static final Consumer<char[][]> MOVE_EAST =
+    private static final Consumer<Grid> MOVE_EAST =
         (map) -> {
-            for (int i = 0; i < map.length; i++) {
-                for (int j = map[0].length - 1; j >= 0; j--) {
-                    if (map[i][j] == 'O') {
-                        int jj = j;
-                        while(canMoveEast(i, jj, map)) {
-                            map[i][jj] = '.';
-                            map[i][++jj] = 'O';
-                        } 
-                    }
+            for (int i = 0; i < map.depth(); i++) {
+                for (int j = map.length() - 1; j >= 0; j--) {
+                    roll(map, map.index(i, j), map.offset(Grid.EAST));
                 }
             }
         };
 
-    private char[][] buildMap(List<String> data) {
-        final int mapDepth = data.size();
-        final int mapLength = data.get(0).length();
-        final char[][] map = new char[mapDepth][mapLength];
-
-        for (int i = 0; i < mapDepth; i++) {
-            for (int j = 0; j < mapLength; j++) {
-                map[i][j] = data.get(i).charAt(j);
-            }
+    private static void roll(Grid map, int idx, int offset) {
+        if (map.get(idx) != 'O') {
+            return;
         }
-        return map;
-    }
 
-    private static boolean canMoveNorth(int i, int j, char[][] map) {
-        if (i == 0) {
-            return false;
+        int target = idx;
+        while (map.get(target + offset) == '.') {
+            target += offset;
         }
-        return map[i-1][j] == '.';
-    }
 
-    private static boolean canMoveWest(int i, int j, char[][] map) {
-        if (j == 0) {
-            return false;
+        if (target != idx) {
+            map.set(idx, '.');
+            map.set(target, 'O');
         }
-        return map[i][j - 1] == '.';
     }
 
-    private static boolean canMoveSouth(int i, int j, char[][] map) {
-        if (i == map.length - 1) {
-            return false;
-        }
-        return map[i + 1][j] == '.';
+    private Grid buildMap(List<String> data) {
+        return Grid.of(data, '#');
     }
 
-    private static boolean canMoveEast(int i, int j, char[][] map) {
-        if (j == map[0].length - 1) {
-            return false;
-        }
-        return map[i][j + 1] == '.';
-    }
-
-    private void tiltRocks(char[][] map, Consumer<char[][]> move) {
+    private void tiltRocks(Grid map, Consumer<Grid> move) {
         move.accept(map);
     }
 
-    private String mapToString(char[][] map) {
-        String result = "";
-        for (int i = 0; i < map.length; i++) {
-            result += Arrays.toString(map[i]);
-        }
-        return result;
-    }
-
-    private int calculateSumOfRocks(char[][] map) {
+    private int calculateSumOfRocks(Grid map) {
         int sum = 0;
-        for (int i = 0; i < map.length; i++) {
-            for (int j = 0; j < map[0].length; j++) {
-                if (map[i][j] == 'O') {
-                    sum += (map.length - i);
-                }
-            }
+        for (int i = 0; i < map.depth(); i++) {
+            sum += KERNELS.count(map.cells(), map.index(i, 0), map.length(), (byte) 'O') * (map.depth() - i);
         }
 
         return sum;
     }
 
     public int calculateTotalLoad(List<String> data) {
-        final char[][] map = buildMap(data);
+        final Grid map = buildMap(data);
         tiltRocks(map, MOVE_NORTH);
  
         return calculateSumOfRocks(map);
     }
 
     public int calculateTotalLoadAfter1000000000Cycles(List<String> data) {
-        final char[][] map = buildMap(data);
-        final Set<String> stateSet = new HashSet<>();
-        final Set<Integer> sumsSet = new LinkedHashSet<>();
-
-        int cycles = 0;
-        int interval = 0;
-        boolean found = false;
+        final Grid map = buildMap(data);
+        final Cycles.Detector detector = new Cycles.Detector();
 
-        while(cycles != 1000000000) {
-            ++cycles;
+        // the load after each number of cycles, until the platform repeats itself
+        final List<Integer> loads = new ArrayList<>();
+        loads.add(calculateSumOfRocks(map));
 
+        while (!detector.add(map.fingerprint())) {
             tiltRocks(map, MOVE_NORTH);
             tiltRocks(map, MOVE_WEST);
             tiltRocks(map, MOVE_SOUTH);
             tiltRocks(map, MOVE_EAST);
+            loads.add(calculateSumOfRocks(map));
+        }
 
-            if (!stateSet.add(mapToString(map)) && !found) {
-                interval = cycles;
-                found = true;
-            }
+        return loads.get((int) detector.cycle().reduce(1000000000));
+    }
 
-            if (found && (cycles % interval == 0)) {
-                if (!sumsSet.add(calculateSumOfRocks(map))) {
-                    break;
-                }
-            }
-        }
+    @Override
+    public Object partOne(List<String> data) {
+        return calculateTotalLoad(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return calculateTotalLoadAfter1000000000Cycles(data);
+    }
 
-        return sumsSet.stream().mapToInt((n) -> n).toArray()[1];
-    } 
-    
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day14.txt"));
         System.out.println("Part 1: " + new Day14().calculateTotalLoad(data));
@@ -8,7 +8,7 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
-public class Day15 {
+public class Day15 implements Solver {
 
     enum Operation {
         PUT,
@@ -181,6 +181,16 @@ public class Day15 {
         return Arrays.stream(boxes).map((b) -> b == null ? 0 : sumBox(b)).mapToInt(n -> n).sum();
     }
 
+    @Override
+    public Object partOne(List<String> data) {
+        return sumOfHashAlgorithmRuns(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return calculateFocusingPower(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day15.txt"));
         System.out.println("Part 1: " + new Day15().sumOfHashAlgorithmRuns(data));
@@ -8,7 +8,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
-public class Day16 {
+public class Day16 implements Solver {
 
     enum Direction {
         NORTH,
@@ -17,16 +17,18 @@ public class Day16 {
         WEST
     }
 
-    private record Position(int i, int j) { }
+    // border around the contraption, a beam which steps onto it has left the map
+    private static final char OUTSIDE = ' ';
 
-    private static boolean isBeamOutOfBounds(Beam beam, char[][] map) {
-        final int mapDepth = map.length;
-        final int mapLength = map[0].length;
+    private static final Metrics.Counter BEAM_STEPS = Metrics.counter("Day16.traverseContraption.beamSteps");
+    private static final Metrics.Counter BEAM_SPLITS = Metrics.counter("Day16.traverseContraption.beamSplits");
+    private static final Metrics.Counter ROUNDS = Metrics.counter("Day16.traverseContraption.rounds");
 
-        return beam.i < 0 || beam.i >= mapDepth || beam.j < 0 || beam.j >= mapLength;
+    private static boolean isBeamOutOfBounds(Beam beam, Grid map) {
+        return map.get(beam.position) == OUTSIDE;
     }
 
-    private static boolean hasBeamsInBounds(List<Beam> beams, char[][] map) {
+    private static boolean hasBeamsInBounds(List<Beam> beams, Grid map) {
         for (final Beam beam : beams) {
             if (!isBeamOutOfBounds(beam, map)) {
                 return true;
@@ -37,64 +39,36 @@ public class Day16 {
     }
 
     private static class Beam {
-        private int i;
-        private int j;
+        private int position;
         private Direction direction;
         private boolean outOfBounds;
         
-        private Beam(int i, int j, Direction direction) {
-            this.i = i;
-            this.j = j;
+        private Beam(int position, Direction direction) {
+            this.position = position;
             this.direction = direction;
             outOfBounds = false;
         }
 
-        private void move() {
-            switch(this.direction) {
-
-            case Direction.NORTH:
-                --this.i;
-                break;
-            
-            case Direction.EAST:
-                ++this.j;
-                break;
-
-            case Direction.SOUTH:
-                ++this.i;
-                break;
-
-            case Direction.WEST:
-                --this.j;
-                break;
-            }
+        private void move(Grid map) {
+            // Direction is declared in the same order as the grid offsets
+            this.position += map.offset(this.direction.ordinal());
         }
 
         @Override
         public String toString() {
-            return "Beam [i=" + i + ", j=" + j + ", direction=" + direction + ", outOfBounds=" + outOfBounds + "]";
+            return "Beam [position=" + position + ", direction=" + direction + ", outOfBounds=" + outOfBounds + "]";
         }
     }
 
-    private char[][] buildMap(List<String> data) {
-        final int mapDepth = data.size();
-        final int mapLength = data.get(0).length();
-        final char[][] map = new char[mapDepth][mapLength];
-
-        for (int i = 0; i < mapDepth; i++) {
-            for (int j = 0; j < mapLength; j++) {
-                map[i][j] = data.get(i).charAt(j);
-            }
-        }
-
-        return map;
+    private Grid buildMap(List<String> data) {
+        return Grid.of(data, OUTSIDE);
     }
 
-    private static int traverseContraption(char[][] map, Beam start) {
+    private static int traverseContraption(Grid map, Beam start) {
         List<Beam> beams = new ArrayList<>();
         beams.add(start);
 
-        final Set<Position> energised = new LinkedHashSet<>();
+        final LongHashSet energised = new LongHashSet();
         final Set<Integer> energisedWatch = new LinkedHashSet<>();
         int counter = 0;
 
@@ -108,13 +82,10 @@ public class Day16 {
                     continue;
                 }
 
-                final int currentI = beam.i;
-                final int currentJ = beam.j;
-
-                final Position currentPosition = new Position(currentI, currentJ);
+                final int currentPosition = beam.position;
                 energised.add(currentPosition);
 
-                final char value = map[currentI][currentJ];
+                final char value = (char) map.get(currentPosition);
                 switch(value) {
                 case '.':
                     break;
@@ -158,7 +129,7 @@ public class Day16 {
                     switch(beam.direction) {
                         case EAST:
                         case WEST:
-                            newBeams.add(new Beam(currentI-1, currentJ, Direction.NORTH));
+                            newBeams.add(new Beam(currentPosition + map.offset(Grid.NORTH), Direction.NORTH));
                             beam.direction = Direction.SOUTH;
                             break;
                         case SOUTH:
@@ -175,7 +146,7 @@ public class Day16 {
                             break;
                         case SOUTH:
                         case NORTH:
-                            newBeams.add(new Beam(currentI, currentJ-1, Direction.WEST));
+                            newBeams.add(new Beam(currentPosition + map.offset(Grid.WEST), Direction.WEST));
                             beam.direction = Direction.EAST;
                             break;
                         default:
@@ -186,9 +157,12 @@ public class Day16 {
                     throw new RuntimeException("Invalid obstacle: " + value);
                 }
 
-                beam.move();
+                beam.move(map);
+                BEAM_STEPS.increment();
             }
 
+            BEAM_SPLITS.add(newBeams.size());
+            ROUNDS.increment();
             beams.addAll(newBeams);
             beams = new ArrayList<Beam>(beams.stream().filter((b) -> !b.outOfBounds).toList());
 
@@ -209,33 +183,34 @@ public class Day16 {
     }
 
     public int findNumberOfEnergisedTiles(List<String> data) {
-        return traverseContraption(buildMap(data), new Beam(0, 0, Direction.EAST));
+        final Grid map = buildMap(data);
+        return traverseContraption(map, new Beam(map.index(0, 0), Direction.EAST));
     }
 
     // takes ages
     // TODO: Optimise heavily
     public int findMaxNumberOfEnergisedTiles(List<String> data) {
-        final char[][] map = buildMap(data);
+        final Grid map = buildMap(data);
         final List<Beam> beams = new ArrayList<>();
 
         // top row
-        for (int i = 0; i < map[0].length; i++) {
-            beams.add(new Beam(0, i, Direction.SOUTH));
+        for (int i = 0; i < map.length(); i++) {
+            beams.add(new Beam(map.index(0, i), Direction.SOUTH));
         }
 
         // right most column
-        for (int i = 0; i < map.length; i++) {
-            beams.add(new Beam(i, map[0].length - 1, Direction.WEST));
+        for (int i = 0; i < map.depth(); i++) {
+            beams.add(new Beam(map.index(i, map.length() - 1), Direction.WEST));
         }
 
         // bottom row
-        for (int i = 0; i < map[0].length; i++) {
-            beams.add(new Beam(map.length - 1, i, Direction.NORTH));
+        for (int i = 0; i < map.length(); i++) {
+            beams.add(new Beam(map.index(map.depth() - 1, i), Direction.NORTH));
         }
 
         // left most column
-        for (int i = 0; i < map.length; i++) {
-            beams.add(new Beam(i, 0, Direction.EAST));
+        for (int i = 0; i < map.depth(); i++) {
+            beams.add(new Beam(map.index(i, 0), Direction.EAST));
         }
 
         return beams
@@ -246,6 +221,16 @@ public class Day16 {
                 .get();
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return findNumberOfEnergisedTiles(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findMaxNumberOfEnergisedTiles(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day16.txt"));
         System.out.println("Part 1: " + new Day16().findNumberOfEnergisedTiles(data));
@@ -6,9 +6,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Day18 {
-
-    private record Position(long i, long j) { }
+public class Day18 implements Solver {
 
     private record Instruction(char direction, long metres, String hexColour) { }
 
@@ -17,7 +15,7 @@ public class Day18 {
         for (final String line : data) {
             final String[] parts = line.split(" ");
             final char direction = parts[0].charAt(0);
-            final int metres = Integer.parseInt(parts[1]);
+            final long metres = Long.parseLong(parts[1]);
             final String hexColour = parts[2].replaceAll("[()]", "");
             instructions.add(new Instruction(direction, metres, hexColour));
         }
@@ -50,87 +48,47 @@ public class Day18 {
                     throw new RuntimeException("invalid number: " + directionNumber);
             }
 
-            final int metres = Integer.parseInt(hexColour.substring(1, hexColour.length()-1), 16);
+            // five hex digits in the real input, but up to a long's worth in generated ones
+            final long metres = Long.parseLong(hexColour.substring(1, hexColour.length()-1), 16);
             instructions.add(new Instruction(direction, metres, hexColour));
         }
 
         return instructions; 
     }
 
-    private long manhattanDistance(Position first, Position second) {
-        return Math.abs(first.i() - second.i()) + Math.abs(first.j() - second.j());
-    }
-
-    private List<Position> findCorners(List<Instruction> instructions) {
-        int i = 0;
-        int j = 0;
+    /**
+     * The trench runs along the middle of a one metre wide cube of lagoon, so the lagoon
+     * is the lattice points inside or on the polygon through the corners. Throws
+     * {@link ArithmeticException} if a corner, or the area, does not fit in a long.
+     */
+    private long findArea(List<Instruction> instructions) {
+        long i = 0;
+        long j = 0;
 
-        List<Position> corners = new ArrayList<>();
-        corners.add(new Position(0, 0));
+        final Polygon trench = new Polygon();
+        trench.add(0, 0);
 
         for (final Instruction ins : instructions) {
             switch(ins.direction()) {
                 case 'U':
-                    i -= ins.metres();
+                    i = Math.subtractExact(i, ins.metres());
                     break;
                 case 'D':
-                    i += ins.metres();
+                    i = Math.addExact(i, ins.metres());
                     break;
                 case 'L':
-                    j -= ins.metres();
+                    j = Math.subtractExact(j, ins.metres());
                     break;
                 case 'R':
-                    j += ins.metres();
+                    j = Math.addExact(j, ins.metres());
                     break;
                 default:
                     throw new RuntimeException("Invalid direction: " + ins.direction());
             }
-            corners.add(new Position(i, j));
+            trench.add(j, i);
         }
 
-        return corners;
-    }
-
-    // https://www.geeksforgeeks.org/area-of-a-polygon-with-given-n-ordered-vertices/
-    // https://www.101computing.net/the-shoelace-algorithm/
-    private long shoeLaceFormula(List<Position> corners) {
-        final List<Long> xs = new ArrayList<>();
-        final List<Long> ys = new ArrayList<>();
-
-        final int length = corners.size();
-
-        for (int i = 0; i < corners.size(); i++) {
-            final Position pos = corners.get(i);
-            xs.add(pos.j());
-            ys.add(pos.i());
-        }
-
-        // Initialize area
-        long area = 0;
-
-        // Calculate value of shoelace formula
-        int j = length - 1;
-        for (int i = 0; i < length; i++) {
-            area += (xs.get(j) + xs.get(i)) * (ys.get(j) - ys.get(i));
-                
-            // j is previous vertex to i
-            j = i; 
-        }
-        
-        // Return absolute value
-        return Math.abs(area) / 2;
-    }
-
-    private long findArea(List<Instruction> instructions) {
-        int perimeter = 0;
-        final List<Position> corners = findCorners(instructions);
-        for (int i = 0; i < corners.size() - 1; i++) {
-            final Position first = corners.get(i);
-            final Position second = corners.get(i+1);
-            perimeter += manhattanDistance(first, second);
-        }
-
-        return shoeLaceFormula(corners) + (perimeter/2) + 1;
+        return trench.close().latticePoints();
     }
 
     public long findDigPlanArea(List<String> data) {
@@ -143,6 +101,16 @@ public class Day18 {
         return findArea(instructions);
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return findDigPlanArea(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findDigPlanAreaPart2(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day18.txt"));
         System.out.println("Part 1: " + new Day18().findDigPlanArea(data));
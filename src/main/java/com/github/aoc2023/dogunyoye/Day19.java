@@ -1,7 +1,6 @@
 package com.github.aoc2023.dogunyoye;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -13,7 +12,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-public class Day19 {
+public class Day19 implements Solver {
 
     private enum WorkflowParams {
         // an immediate function (s>537:gd)
@@ -86,36 +85,40 @@ public class Day19 {
 
     private record Workflow(String name, List<Function<Integer, String>> processes, List<Order> order) { }
 
-    private boolean isFunction(String s) {
-        return
-            s.contains("x<") || s.contains("x>") ||
-            s.contains("m<") || s.contains("m>") ||
-            s.contains("a<") || s.contains("a>") ||
-            s.contains("s<") || s.contains("s>");
+    // an immediate function starts with one of xmas followed by a comparison (a>1716)
+    private boolean isFunction(Input.Cursor cursor) {
+        if (!cursor.hasNext(2)) {
+            return false;
+        }
+
+        final byte xmas = cursor.peek();
+        final byte op = cursor.peek(1);
+        return (xmas == 'x' || xmas == 'm' || xmas == 'a' || xmas == 's') && (op == '<' || op == '>');
     }
 
-    private Map<String, Workflow> buildWorkflows(List<String> data, int idx) {
+    private Map<String, Workflow> buildWorkflows(Input input, int idx) {
         final Map<String, Workflow> workflows = new HashMap<>();
+        final Input.Cursor cursor = input.cursor();
 
         for (int i = 0; i < idx; i++) {
 
-            final String line = data.get(i).replaceAll("\\{", " ").replaceAll("\\}", "");
-            final String[] parts = line.split(" ");
-            final String name = parts[0];
-            final String[] functionsAndResults = parts[1].split(",");
+            // px{a<2006:qkq,m>2090:A,rfg}
+            cursor.line(i);
+            final String name = cursor.nextToken("{");
+            cursor.skip(1);
+
             final List<Order> order = new ArrayList<>();
             final List<Function<Integer, String>> processes = new ArrayList<>();
 
-            for (int j = 0; j < functionsAndResults.length; j++) {
-                final String fr = functionsAndResults[j];
-                if (isFunction(fr)) { // immediate function (a>1716)
-                    order.add(new Order(Character.toString(fr.charAt(0)), j));
-                    final String[] parts2 = fr.split(":");
-                    final String test = parts2[0];
-                    final String result = parts2[1];
+            for (int j = 0; cursor.hasNext() && cursor.peek() != '}'; j++) {
+                if (isFunction(cursor)) { // immediate function (a>1716)
+                    final char xmas = (char) cursor.next();
+                    final byte lessThanOrGreaterThan = cursor.next();
+                    final int testNumber = cursor.nextInt();
+                    cursor.skip(1);
+                    final String result = cursor.nextToken(",}");
 
-                    final char lessThanOrGreaterThan = test.charAt(1);
-                    final int testNumber = Integer.parseInt(test.substring(2, test.length()));
+                    order.add(new Order(Character.toString(xmas), j));
                     final Function<Integer, String> f;
 
                     if (lessThanOrGreaterThan == '>') {
@@ -136,7 +139,11 @@ public class Day19 {
 
                     processes.add(f);
                 } else { // reference of a function (rfg) or terminal result (A or R)
-                    order.add(new Order(fr, -1));
+                    order.add(new Order(cursor.nextToken(",}"), -1));
+                }
+
+                if (cursor.hasNext() && cursor.peek() == ',') {
+                    cursor.skip(1);
                 }
             }
 
@@ -146,31 +153,33 @@ public class Day19 {
         return workflows;
     }
 
-    private Map<String, List<Param>> buildWorkflowsForPart2(List<String> data, int idx) {
+    private Map<String, List<Param>> buildWorkflowsForPart2(Input input, int idx) {
         final Map<String, List<Param>> workflows = new HashMap<>();
+        final Input.Cursor cursor = input.cursor();
 
         for (int i = 0; i < idx; i++) {
 
-            final String line = data.get(i).replaceAll("\\{", " ").replaceAll("\\}", "");
-            final String[] parts = line.split(" ");
-            final String name = parts[0];
-            final String[] functionsAndResults = parts[1].split(",");
+            cursor.line(i);
+            final String name = cursor.nextToken("{");
+            cursor.skip(1);
 
             final List<Param> paramsList = new ArrayList<>();
 
-            for (int j = 0; j < functionsAndResults.length; j++) {
-                final String fr = functionsAndResults[j];
-                if (isFunction(fr)) {
-                    final String[] parts2 = fr.split(":");
-                    final String test = parts2[0];
-                    final String result = parts2[1];
-
-                    final Operand op = test.charAt(1) == '>' ? Operand.GREATER_THAN : Operand.LESS_THAN;
-                    final int testNumber = Integer.parseInt(test.substring(2, test.length()));
+            while (cursor.hasNext() && cursor.peek() != '}') {
+                if (isFunction(cursor)) {
+                    final char xmas = (char) cursor.next();
+                    final Operand op = cursor.next() == '>' ? Operand.GREATER_THAN : Operand.LESS_THAN;
+                    final int testNumber = cursor.nextInt();
+                    cursor.skip(1);
+                    final String result = cursor.nextToken(",}");
 
-                    paramsList.add(new Param(WorkflowParams.FUNCTION, op, test.charAt(0), testNumber, result));
+                    paramsList.add(new Param(WorkflowParams.FUNCTION, op, xmas, testNumber, result));
                 } else {
-                    paramsList.add(new Param(WorkflowParams.FUNCTION_REFERENCE, null, null, null, fr));
+                    paramsList.add(new Param(WorkflowParams.FUNCTION_REFERENCE, null, null, null, cursor.nextToken(",}")));
+                }
+
+                if (cursor.hasNext() && cursor.peek() == ',') {
+                    cursor.skip(1);
                 }
             }
 
@@ -180,24 +189,22 @@ public class Day19 {
         return workflows;
     }
 
-    private List<PartRating> buildPartRatings(List<String> data, int idx) {
+    private List<PartRating> buildPartRatings(Input input, int idx) {
         final List<PartRating> partRatings = new ArrayList<>();
-        for (int i = idx; i < data.size(); i++) {
-            final String line = data.get(i).substring(1, data.get(i).length() - 1);
-            final String[] parts = line.split(",");
-            final List<Integer> nums = new ArrayList<>();
-            for (String n : parts) {
-                nums.add(Integer.parseInt(n.split("=")[1]));
-            }
-            partRatings.add(new PartRating(nums.get(0), nums.get(1), nums.get(2), nums.get(3)));
+        final Input.Cursor cursor = input.cursor();
+
+        for (int i = idx; i < input.lineCount(); i++) {
+            // {x=787,m=2655,a=1222,s=2876}
+            cursor.line(i);
+            partRatings.add(new PartRating(cursor.nextInt(), cursor.nextInt(), cursor.nextInt(), cursor.nextInt()));
         }
 
         return partRatings;
     }
 
-    private static int findEmptyLine(List<String> data) {
-        for (int i = 0; i < data.size(); i++) {
-            if (data.get(i).isEmpty()) {
+    private static int findEmptyLine(Input input) {
+        for (int i = 0; i < input.lineCount(); i++) {
+            if (input.isEmpty(i)) {
                 return i;
             }
         }
@@ -266,6 +273,10 @@ public class Day19 {
     }
 
     public int findSumOfAcceptedParts(List<String> data) {
+        return findSumOfAcceptedParts(Input.of(data));
+    }
+
+    public int findSumOfAcceptedParts(Input data) {
         final int idx = findEmptyLine(data);
         final Map<String, Workflow> workflows = buildWorkflows(data, idx);
         final List<PartRating> partRatings = buildPartRatings(data, idx + 1);
@@ -351,6 +362,10 @@ public class Day19 {
     }
 
     public long findDistinctNumberOfAcceptedCombinations(List<String> data) {
+        return findDistinctNumberOfAcceptedCombinations(Input.of(data));
+    }
+
+    public long findDistinctNumberOfAcceptedCombinations(Input data) {
         final int idx = findEmptyLine(data);
         final Map<String, List<Param>> workflows = buildWorkflowsForPart2(data, idx);
 
@@ -362,8 +377,28 @@ public class Day19 {
         return findApprovedCombos(workflows, xRange, mRange, aRange, sRange, "in");
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return findSumOfAcceptedParts(data);
+    }
+
+    @Override
+    public Object partOne(Input input) {
+        return findSumOfAcceptedParts(input);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findDistinctNumberOfAcceptedCombinations(data);
+    }
+
+    @Override
+    public Object partTwo(Input input) {
+        return findDistinctNumberOfAcceptedCombinations(input);
+    }
+
     public static void main(String[] args) throws IOException {
-        final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day19.txt"));
+        final Input data = Input.map(Path.of("src/main/resources/Day19.txt"));
         System.out.println("Part 1: " + new Day19().findSumOfAcceptedParts(data));
         System.out.println("Part 2: " + new Day19().findDistinctNumberOfAcceptedCombinations(data));
     }
@@ -14,14 +14,15 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Map.Entry;
+import java.util.function.IntPredicate;
 
-public class Day20 {
+public class Day20 implements Solver {
 
     private record Pulse(String sender, BitSet pulse) { }
 
     private record PulseSendResult(long lowPulses, long highPulses, Queue<String> receipients) { }
 
-    private abstract class Module {
+    private abstract static class Module {
 
         private String name;
         private Queue<Pulse> receivedPulses;
@@ -49,6 +50,13 @@ public class Day20 {
             return this.receivedPulses.poll();
         }
 
+        /**
+         * @return the bits the module remembers between button pushes
+         */
+        long fingerprint() {
+            return 0;
+        }
+
         /**
          * Send a low or high pulse to all of the module's
          * destinations.
@@ -66,7 +74,7 @@ public class Day20 {
      * If it was off, it turns on and sends a high pulse.
      * If it was on, it turns off and sends a low pulse.
      */
-    private class FlipFlop extends Module {
+    private static class FlipFlop extends Module {
 
         private final BitSet state;
         private final Map<String, Module> modules;
@@ -78,6 +86,11 @@ public class Day20 {
             this.modules = modules;
         }
 
+        @Override
+        long fingerprint() {
+            return this.state.get(0) ? 1 : 0;
+        }
+
         @Override
         public PulseSendResult sendPulse() {
             final Pulse message = getPulse();
@@ -122,7 +135,7 @@ public class Day20 {
      * remembers high pulses for all inputs, it sends a low pulse; otherwise, it
      * sends a high pulse.
      */
-    private class Conjuction extends Module {
+    private static class Conjuction extends Module {
 
         private final Map<String, Module> modules;
         private List<String> arrivals;
@@ -141,6 +154,12 @@ public class Day20 {
             }
         }
 
+        // one bit per input, in the order they were wired up
+        @Override
+        long fingerprint() {
+            return inputFingerprint(this.arrivals.size(), (i) -> this.memory.get(this.arrivals.get(i)).get(0));
+        }
+
         @Override
         public PulseSendResult sendPulse() {
             Pulse pulse = getPulse();
@@ -189,7 +208,7 @@ public class Day20 {
      * Broadcast module (named broadcaster). When it receives a pulse, it sends
      * the same pulse to all of its destination modules.
      */
-    private class Broadcaster extends Module {
+    private static class Broadcaster extends Module {
 
         private final Map<String, Module> modules;
 
@@ -217,7 +236,7 @@ public class Day20 {
      * Here at Desert Machine Headquarters, there is a module with a single button on it called, aptly, the button module.
      * When you push the button, a single low pulse is sent directly to the broadcaster module.
      */
-    private class Button extends Module {
+    private static class Button extends Module {
 
         private final Map<String, Module> modules;
 
@@ -234,7 +253,7 @@ public class Day20 {
         }
     }
 
-    private class NoOp extends Module {
+    private static class NoOp extends Module {
 
         private NoOp() {
             super("noop", new ArrayDeque<>(), null);
@@ -329,72 +348,133 @@ public class Day20 {
         return lowPulses * highPulses;
     }
 
-    private long gcd(long x, long y) {
-        if (y == 0) {
-            return Math.abs(x);
+    // every module sending pulses to each module
+    private Map<String, List<String>> inputs(Map<String, Module> modules) {
+        final Map<String, List<String>> inputs = new HashMap<>();
+        for (final Module m : modules.values()) {
+            if (m.getDestinations() == null) {
+                continue;
+            }
+            for (final String dest : m.getDestinations()) {
+                inputs.computeIfAbsent(dest, (k) -> new ArrayList<>()).add(m.getName());
+            }
         }
+        return inputs;
+    }
 
-        return gcd(y, x % y);
+    /**
+     * Every module upstream of {@code branch}, back to (but not including) the
+     * broadcaster
+     */
+    private List<Module> upstream(String branch, Map<String, Module> modules, Map<String, List<String>> inputs) {
+        final Set<String> seen = new HashSet<>(List.of(branch));
+        final Queue<String> queue = new ArrayDeque<>(seen);
+        final List<Module> branchModules = new ArrayList<>();
+
+        while (!queue.isEmpty()) {
+            final String name = queue.poll();
+            branchModules.add(modules.get(name));
+            for (final String input : inputs.getOrDefault(name, List.of())) {
+                if (!"broadcaster".equals(input) && seen.add(input)) {
+                    queue.add(input);
+                }
+            }
+        }
+        return branchModules;
     }
 
-    private long lcm(List<Long> numbers) {
-        long lcm = 1;
-        for (final long n : numbers) {
-            lcm = (lcm * n)/gcd(lcm, n);
+    /**
+     * One bit per input, exact for up to 64 inputs. Past that, each full word of bits is
+     * mixed into the hash, so that input {@code i} and input {@code i + 64} do not alias.
+     */
+    static long inputFingerprint(int inputs, IntPredicate isHigh) {
+        long hash = 0;
+        long bits = 0;
+        for (int i = 0; i < inputs; i++) {
+            if (isHigh.test(i)) {
+                bits |= 1L << (i % 64);
+            }
+            if (i % 64 == 63 && i + 1 < inputs) {
+                hash = (hash + bits) * 0x9E3779B97F4A7C15L;
+                bits = 0;
+            }
         }
+        return hash + bits;
+    }
 
-        return lcm;
+    // a 64 bit hash of what the branch's modules remember
+    private long fingerprint(List<Module> branch) {
+        long hash = 17;
+        for (final Module m : branch) {
+            hash = (hash * 0x9E3779B97F4A7C15L) + m.fingerprint();
+        }
+        return hash;
     }
 
+    /**
+     * rx is fed by a single conjunction, which sends it a low pulse once every one of its
+     * inputs has sent it a high pulse in the same push. Each input is the end of a branch
+     * of modules which runs independently of the others, so each branch's state repeats
+     * with its own cycle, found from the graph rather than from the names of the modules.
+     * The answer is the first push at which every branch sends a high pulse.
+     */
     private long performButtonPushesUntilRX(Map<String, Module> modules) {
+        final Map<String, List<String>> inputs = inputs(modules);
+        final List<String> feeders = inputs.getOrDefault("rx", List.of());
+        if (feeders.size() != 1 || !(modules.get(feeders.get(0)) instanceof Conjuction)) {
+            throw new RuntimeException("rx is not fed by a single conjunction");
+        }
+
+        final String feeder = feeders.get(0);
+        final List<String> branches = inputs.get(feeder);
+        final List<List<Module>> branchModules = new ArrayList<>();
+        final List<Cycles.Detector> detectors = new ArrayList<>();
+        final List<List<Long>> highPushes = new ArrayList<>();
+        for (final String branch : branches) {
+            final List<Module> upstream = upstream(branch, modules, inputs);
+            branchModules.add(upstream);
+            detectors.add(new Cycles.Detector());
+            highPushes.add(new ArrayList<>());
+            detectors.get(detectors.size() - 1).add(fingerprint(upstream));
+        }
+
         final Queue<String> workQueue = new ArrayDeque<>();
-        long pushes = 1;
-
-        final Map<String, List<Long>> cycleDetector = new HashMap<>();
-        // input analysis
-        // these are the input modules for module 'tj'
-        // 'tj' is the input module for 'rx'
-        cycleDetector.put("sk", new ArrayList<>());
-        cycleDetector.put("kk", new ArrayList<>());
-        cycleDetector.put("vt", new ArrayList<>());
-        cycleDetector.put("xc", new ArrayList<>());
-
-        while (true) {
+        long pushes = 0;
+
+        while (!detectors.stream().allMatch((d) -> d.cycle() != null)) {
+            ++pushes;
             workQueue.add("broadcaster");
             while (!workQueue.isEmpty()) {
                 final String moduleName = workQueue.poll();
                 final Module m = modules.get(moduleName);
                 final PulseSendResult sendResult = m.sendPulse();
-                final long highPulses = sendResult.highPulses();
-
-                if (sendResult.receipients().contains("tj") && highPulses > 0) {
-                    final List<Long> pushList = cycleDetector.get(moduleName);
-                    pushList.add(pushes);
-                }
 
-                if (cycleDetector.values().stream().allMatch((l) -> l.size() == 10)) {
-                    final Set<Long> seen = new HashSet<>();
-                    final List<Long> intervals = new ArrayList<>();
-
-                    for (final List<Long> lz : cycleDetector.values()) {
-                        for (int i = 0; i < lz.size() - 1; i++) {
-                            final long diff = lz.get(i+1) - lz.get(i);
-                            final boolean notExists = seen.add(diff);
-                            if (!notExists) {
-                                intervals.add(diff);
-                                seen.clear();
-                                break;
-                            }
-                        }
-                    }
-
-                    return lcm(intervals);
+                if (sendResult.highPulses() > 0 && sendResult.receipients().contains(feeder)) {
+                    highPushes.get(branches.indexOf(moduleName)).add(pushes);
                 }
 
                 workQueue.addAll(sendResult.receipients());
             }
-            ++pushes;
+
+            for (int b = 0; b < branches.size(); b++) {
+                detectors.get(b).add(fingerprint(branchModules.get(b)));
+            }
         }
+
+        final Cycles.Cycle[] cycles = new Cycles.Cycle[branches.size()];
+        final long[][] marks = new long[branches.size()][];
+        for (int b = 0; b < branches.size(); b++) {
+            // whether push n sends a high pulse depends on the state before it, one behind
+            final Cycles.Cycle cycle = detectors.get(b).cycle().shifted();
+            cycles[b] = cycle;
+            marks[b] = highPushes.get(b).stream().mapToLong((n) -> n).filter((n) -> n < cycle.prefix() + cycle.period()).toArray();
+        }
+
+        final long answer = Cycles.firstCommon(cycles, marks);
+        if (answer == -1) {
+            throw new RuntimeException("rx never receives a low pulse");
+        }
+        return answer;
     }
 
     public long findProductOfLowAndHighPulsesAfter1000ButtonPushes(List<String> data) {
@@ -407,6 +487,16 @@ public class Day20 {
         return performButtonPushesUntilRX(modules);
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return findProductOfLowAndHighPulsesAfter1000ButtonPushes(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findFewestNumberOfButtonPressesToLowPulseRX(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day20.txt"));
         System.out.println("Part 1: " + new Day20().findProductOfLowAndHighPulsesAfter1000ButtonPushes(data));
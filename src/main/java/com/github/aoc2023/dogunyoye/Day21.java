@@ -3,15 +3,13 @@ package com.github.aoc2023.dogunyoye;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 
-public class Day21 {
+public class Day21 implements Solver {
 
     private record Position(int i, int j) { }
 
@@ -37,47 +35,31 @@ public class Day21 {
         return result;
     }
 
-    private boolean isNeighbour(Position p, char[][] map, boolean isPart2) {
+    private boolean isNeighbour(Position p, Grid map, boolean isPart2) {
         if (!isPart2) {
-            final boolean inBounds = p.i() >= 0 && p.i() < map.length && p.j() >= 0 && p.j() < map[0].length;
-            return inBounds && map[p.i()][p.j()] != '#';
+            // the '#' border keeps part 1 inside the map
+            return map.get(p.i(), p.j()) != '#';
         }
 
-        return map[mod(p.i(), map.length)][mod(p.j(), map[0].length)] != '#';
+        return map.get(mod(p.i(), map.depth()), mod(p.j(), map.length())) != '#';
     }
 
-    char[][] buildMap(List<String> data) {
-        final int mapLength = data.get(0).length();
-        final int mapDepth = data.size();
-
-        final char[][] map = new char[mapDepth][mapLength];
-
-        for (int i = 0; i < mapDepth; i++) {
-            final String line = data.get(i);
-            for (int j = 0; j < mapLength; j++) {
-                map[i][j] = line.charAt(j);
-            }
-        }
-
-        return map;
+    Grid buildMap(List<String> data) {
+        return Grid.of(data, '#');
     }
 
-    private Position findStart(char[][] map) {
-        for (int i = 0; i < map.length; i++) {
-            for (int j = 0; j < map[0].length; j++) {
-                if (map[i][j] == 'S') {
-                    return new Position(i, j);
-                }
-            }
+    private Position findStart(Grid map) {
+        final int start = map.indexOf('S');
+        if (start == -1) {
+            throw new RuntimeException("Could not find start!");
         }
-
-        throw new RuntimeException("Could not find start!");
+        return new Position(map.row(start), map.column(start));
     }
 
     // Slow recursive solution, solves part 1
     // memo-ising helps, but for larger max steps this method will OOM
     @SuppressWarnings({"unused"})
-    private Set<Position> traverseMap(char[][] map, Map<State, Set<Position>> memo,
+    private Set<Position> traverseMap(Grid map, Map<State, Set<Position>> memo,
         State statePos, int steps, int maxSteps, boolean isPart2) {
 
         if (steps == maxSteps - 1) {
@@ -105,60 +87,82 @@ public class Day21 {
         return result;
     }
 
-    private long traverseMapOptimised(char[][] map, Position start, int maxSteps, boolean isPart2) {
-        final Set<Position> visited = new HashSet<>();
-        final Queue<State> queue = new ArrayDeque<>();
-        long total = 0;
-
-        queue.add(new State(start, maxSteps));
-
-        while (!queue.isEmpty()) {
-            final State pos = queue.poll();
-            final int s = pos.steps();
-
-            if (s % 2 == 0) {
-                ++total;
-            }
-
-            if (s == 0) {
-                continue;
+    /**
+     * BFS over the map's cells, the '#' border keeping it inside the map
+     */
+    private long countPlots(Grid map, Position start, int maxSteps) {
+        final int[] dist = GraphSearch.breadthFirst((map.depth() + 2) * map.stride(), map.index(start.i(), start.j()), maxSteps, (cell, edges) -> {
+            for (int d = 0; d < 4; d++) {
+                final int next = cell + map.offset(d);
+                if (map.get(next) != '#') {
+                    edges.add(next, 1);
+                }
             }
+        });
+        return countReachableAfter(dist, maxSteps);
+    }
 
-            for (final Position n : pos.neighbours()) {
-                if (!isNeighbour(n, map, isPart2) || visited.contains(n)) {
+    /**
+     * BFS over the infinitely repeated map. Nothing further than {@code maxSteps} from the
+     * start can be reached, so the states are the cells of the square of side
+     * {@code 2 * maxSteps + 1} around it, plus a blocked ring around that square.
+     */
+    private long countPlotsRepeated(Grid map, Position start, int maxSteps) {
+        final int side = (2 * maxSteps) + 3;
+        // square cell (0, 0) is map cell (start.i - maxSteps - 1, start.j - maxSteps - 1)
+        final int top = start.i() - maxSteps - 1;
+        final int left = start.j() - maxSteps - 1;
+        final int[] offsets = {-side, 1, side, -1};
+
+        final int source = ((maxSteps + 1) * side) + maxSteps + 1;
+        final int[] dist = GraphSearch.breadthFirst(side * side, source, maxSteps, (cell, edges) -> {
+            for (final int offset : offsets) {
+                final int next = cell + offset;
+                final int i = next / side;
+                final int j = next % side;
+                if (i == 0 || i == side - 1 || j == 0 || j == side - 1) {
                     continue;
                 }
-                visited.add(n);
-                queue.add(new State(n, s - 1));
+
+                if (map.get(mod(top + i, map.depth()), mod(left + j, map.length())) != '#') {
+                    edges.add(next, 1);
+                }
             }
-        }
+        });
+        return countReachableAfter(dist, maxSteps);
+    }
 
-        // if the number of steps required is an even number
-        // the above implementation counts the start position twice
-        // hence the requirement to -1 from the total. This does not
-        // happen if the number of steps is odd.
-        // https://www.reddit.com/r/adventofcode/comments/18qyxxd/comment/kf1upyw/?utm_source=share&utm_medium=web2x&context=3
-        return maxSteps % 2 == 0 ? total - 1 : total;
+    // a plot reached in fewer steps can be reached again in exactly maxSteps by
+    // stepping back and forth, so long as the difference is even
+    private static long countReachableAfter(int[] dist, int maxSteps) {
+        long total = 0;
+        for (final int d : dist) {
+            if (d != GraphSearch.UNREACHED && (maxSteps - d) % 2 == 0) {
+                ++total;
+            }
+        }
+        return total;
     }
 
-    long findPlots(char[][] map, int maxSteps, boolean isPart2) {
-        return traverseMapOptimised(map, findStart(map), maxSteps, isPart2);
+    long findPlots(Grid map, int maxSteps, boolean isPart2) {
+        final Position start = findStart(map);
+        return isPart2 ? countPlotsRepeated(map, start, maxSteps) : countPlots(map, start, maxSteps);
     }
 
     public long findPossibleGardenPlotsAfter64Steps(List<String> data) {
-        final char[][] map = buildMap(data);
+        final Grid map = buildMap(data);
         return findPlots(map, 64, false);
     }
 
     // https://www.dcode.fr/lagrange-interpolating-polynomial
     // https://en.wikipedia.org/wiki/Lagrange_polynomial
     public long findPossibleGardenPlotsAfter26501365Steps(List<String> data) {
-        final char[][] map = buildMap(data);
+        final Grid map = buildMap(data);
         final long[] plots = new long[3];
 
-        final int y0 = map.length / 2;
-        final int y1 = (map.length / 2) + map.length;
-        final int y2 = (map.length / 2) + (2 * map.length);
+        final int y0 = map.depth() / 2;
+        final int y1 = (map.depth() / 2) + map.depth();
+        final int y2 = (map.depth() / 2) + (2 * map.depth());
 
         int i = 0;
         for (int v : new int[]{y0, y1, y2}) {
@@ -170,11 +174,21 @@ public class Day21 {
         final long a = (plots[2] - (2 * plots[1]) + c)/2;
         final long b = plots[1] - c - a;
 
-        final long n = ((26501365 - (map.length / 2)) / map.length);
+        final long n = ((26501365 - (map.depth() / 2)) / map.depth());
 
         return (a * (long)Math.pow(n, 2)) + (b * n) + c;
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return findPossibleGardenPlotsAfter64Steps(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return findPossibleGardenPlotsAfter26501365Steps(data);
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day21.txt"));
         System.out.println("Part 1: " + new Day21().findPossibleGardenPlotsAfter64Steps(data));
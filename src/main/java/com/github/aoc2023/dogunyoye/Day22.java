@@ -13,7 +13,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
-public class Day22 {
+public class Day22 implements Solver {
 
     private class BrickComparator implements Comparator<Brick> {
         @Override
@@ -26,8 +26,6 @@ public class Day22 {
         }
     }
 
-    private static int id = 0;
-    
     private record Position(int x, int y, int z) { }
 
     private record Brick(int id, Position[] faces, List<Position> brickPoints, boolean isVertical) { 
@@ -42,7 +40,7 @@ public class Day22 {
         return new Position(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
     }
 
-    private static Brick createBrick(String line) {
+    private static Brick createBrick(int id, String line) {
         final String[] parts = line.split("~");
         final Position[] faces = new Position[]{createPosition(parts[0]), createPosition(parts[1])};
         final List<Position> points = new ArrayList<>();
@@ -56,16 +54,19 @@ public class Day22 {
         }
 
         final boolean isVertical = faces[0].z() != faces[1].z();
-        return new Brick(id++, faces, points, isVertical);
+        return new Brick(id, faces, points, isVertical);
     }
 
     private List<Brick> createBricks(List<String> data) {
-        final List<Brick> bricks = new ArrayList<>(data.stream().map(Day22::createBrick).toList());
+        final List<Brick> bricks = new ArrayList<>(data.size());
+        for (int id = 0; id < data.size(); id++) {
+            bricks.add(createBrick(id, data.get(id)));
+        }
+
         // sort the list from lowest bricks (to the ground)
         // to highest. This is so we drop the bricks in the
         // correct order (one by one, tetris style)
         bricks.sort(new BrickComparator());
-        id = 0;
         return bricks;
     }
 
@@ -86,15 +87,20 @@ public class Day22 {
         }
     }
 
-    private boolean hasRested(List<Position> droppedBrickPoints, Set<Position> allBrickPoints) {
-        // hit the ground
-        if (droppedBrickPoints.stream().anyMatch((p) -> p.z() == 0)) {
-            return true;
-        }
+    private static long pack(Position p) {
+        return Coordinates.pack(p.x(), p.y(), p.z());
+    }
+
+    // would the brick have rested if it were dropped `drop` levels?
+    private boolean hasRested(List<Position> brickPoints, int drop, LongHashSet allBrickPoints) {
+        for (final Position p : brickPoints) {
+            // hit the ground
+            if (p.z() - drop == 0) {
+                return true;
+            }
 
-        for (final Position p : droppedBrickPoints) {
             // hit another brick
-            if (allBrickPoints.contains(p)) {
+            if (allBrickPoints.contains(Coordinates.pack(p.x(), p.y(), p.z() - drop))) {
                 return true;
             }
         }
@@ -102,10 +108,10 @@ public class Day22 {
         return false;
     }
 
-    private List<Position> dropBrick(List<Position> brickPoints) {
+    private List<Position> dropBrick(List<Position> brickPoints, int drop) {
         final List<Position> dropped = new ArrayList<>();
         for (final Position p : brickPoints) {
-            dropped.add(new Position(p.x(), p.y(), p.z() - 1));
+            dropped.add(new Position(p.x(), p.y(), p.z() - drop));
         }
         return dropped;
     }
@@ -148,12 +154,12 @@ public class Day22 {
     }
 
     private Map<Brick, Set<Brick>> buildSupportMap(List<Brick> bricks) {
-        final Set<Position> allBrickPoints = new HashSet<>();
-        final Map<Position, Brick> positionBrickMap = new HashMap<>();
+        final LongHashSet allBrickPoints = new LongHashSet();
+        final LongLongHashMap positionBrickMap = new LongLongHashMap();
 
         for (final Brick b : bricks) {
             for (final Position p : b.brickPoints()) {
-                allBrickPoints.add(p);
+                allBrickPoints.add(pack(p));
             }
         }
 
@@ -164,33 +170,34 @@ public class Day22 {
             }
 
             final List<Position> current = b.brickPoints();
-            List<Position> prev = null;
 
             // vertical bricks would "rest" with
             // themselves if they aren't removed first
-            allBrickPoints.removeAll(current);
+            for (final Position p : current) {
+                allBrickPoints.remove(pack(p));
+            }
 
-            List<Position> dropped = dropBrick(current);
+            // find how far the brick falls before anything new is allocated
+            int drop = 0;
+            while (!hasRested(current, drop + 1, allBrickPoints)) {
+                ++drop;
+            }
 
-            while (!hasRested(dropped, allBrickPoints)) {
-                prev = dropped;
-                dropped = dropBrick(dropped);
+            if (drop > 0) {
+                b.setBrickPoints(dropBrick(current, drop));
             }
 
-            if (prev != null) {
-                allBrickPoints.addAll(new ArrayList<>(prev));
-                b.setBrickPoints(prev);
-            } else {
-                // Brick hasn't moved, just add its positions
-                // back to the set of positions
-                allBrickPoints.addAll(new ArrayList<>(current)); 
+            // Brick may not have moved, either way add its
+            // (possibly new) positions back to the set of positions
+            for (final Position p : b.brickPoints()) {
+                allBrickPoints.add(pack(p));
             }
         }
 
-        // associate every brick position to its corresponding brick
-        for (final Brick brick : bricks) {
-            for (final Position p : brick.brickPoints()) {
-                positionBrickMap.put(p, brick);
+        // associate every brick position to its corresponding brick (by index)
+        for (int i = 0; i < bricks.size(); i++) {
+            for (final Position p : bricks.get(i).brickPoints()) {
+                positionBrickMap.put(pack(p), i);
             }
         }
 
@@ -206,14 +213,16 @@ public class Day22 {
             }
 
             for (final Position p : pointsToCheck){
-                final Brick above = positionBrickMap.get(new Position(p.x(), p.y(), p.z() + 1));
+                final int aboveIdx = (int) positionBrickMap.get(Coordinates.pack(p.x(), p.y(), p.z() + 1), -1);
 
                 // no brick north of/above this position
                 // skip and move on to the next point
-                if (above == null) {
+                if (aboveIdx == -1) {
                     continue;
                 }
 
+                final Brick above = bricks.get(aboveIdx);
+
                 final Set<Brick> supportedBy = supportedByMap.get(above);
                 if (supportedBy == null) {
                     supportedByMap.put(above, new HashSet<Brick>(List.of(brick)));
@@ -297,17 +306,39 @@ public class Day22 {
 
     public int findNumberOfBricksToDisintegrate(List<String> data) {
         final List<Brick> bricks = createBricks(data);
+
+        final PhaseEvent phase = PhaseEvent.begin("Day22", "buildSupportMap");
         final Map<Brick, Set<Brick>> supportMap = buildSupportMap(bricks);
+        phase.commit();
+
         final Set<Brick> nonDisintegratedBricks = findNonDisintegratedBricks(supportMap);
         return bricks.size() - nonDisintegratedBricks.size();
     }
 
     public int calculateChainReaction(List<String> data) {
         final List<Brick> bricks = createBricks(data);
+
+        PhaseEvent phase = PhaseEvent.begin("Day22", "buildSupportMap");
         final Map<Brick, Set<Brick>> supportMap = buildSupportMap(bricks);
+        phase.commit();
+
         final Set<Brick> nonDisintegratedBricks = findNonDisintegratedBricks(supportMap);
-        return performChainReaction(nonDisintegratedBricks, supportMap);
-    } 
+
+        phase = PhaseEvent.begin("Day22", "performChainReaction");
+        final int fallen = performChainReaction(nonDisintegratedBricks, supportMap);
+        phase.commit();
+        return fallen;
+    }
+
+    @Override
+    public Object partOne(List<String> data) {
+        return findNumberOfBricksToDisintegrate(data);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return calculateChainReaction(data);
+    }
 
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day22.txt"));
@@ -3,314 +3,114 @@ package com.github.aoc2023.dogunyoye;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
-import java.util.Stack;
-
-public class Day23 {
-
-    private enum Direction {
-        NORTH,
-        EAST,
-        SOUTH,
-        WEST
-    }
+import java.util.function.IntConsumer;
 
-    private class Position { 
-        private final int i;
-        private final int j;
-        private Direction direction;
-        private int steps;
-        private boolean isPart2;
-
-        private Position(int i, int j, Direction direction, int steps, boolean isPart2) {
-            this.i = i;
-            this.j = j;
-            this.direction = direction;
-            this.steps = steps;
-            this.isPart2 = isPart2;
-        }
+public class Day23 implements Solver {
 
-        private Position(int i, int j, Direction direction, int steps) {
-            this(i, j, direction, steps, false);
-        }
+    private static final Metrics.Counter DFS_CALLS = Metrics.counter("Day23.dfs.calls");
+    private static final Metrics.Counter DFS_PATHS = Metrics.counter("Day23.dfs.completePaths");
+    private static final Metrics.Timer DFS = Metrics.timer("Day23.dfs");
 
-        private void reset() {
-            this.direction = null;
-            this.steps = 0;
-        }
+    private static final int NONE = -1;
 
-        // Directionality is not needed for part 2
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + getEnclosingInstance().hashCode();
-            result = prime * result + i;
-            result = prime * result + j;
-            if (!isPart2) {
-                result = prime * result + ((direction == null) ? 0 : direction.hashCode());
-                result = prime * result + steps;
-            }
-            return result;
-        }
-
-        // Directionality is not needed for part 2
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj)
-                return true;
-            if (obj == null)
-                return false;
-            if (getClass() != obj.getClass())
-                return false;
-            Position other = (Position) obj;
-            if (!getEnclosingInstance().equals(other.getEnclosingInstance()))
-                return false;
-            if (i != other.i)
-                return false;
-            if (j != other.j)
-                return false;
-            if (!isPart2) {
-                if (direction != other.direction)
-                    return false;
-                if (steps != other.steps)
-                    return false;
-            }
-            return true;
-        }
-
-        private Day23 getEnclosingInstance() {
-            return Day23.this;
-        }
-
-        @Override
-        public String toString() {
-            return "Position [i=" + i + ", j=" + j + ", steps=" + steps + "]";
-        }
+    private Grid buildMap(List<String> data) {
+        return Grid.of(data, '#');
     }
 
-    private Direction opposite(Direction dir) {
-        switch(dir) {
-            case EAST:
-                return Direction.WEST;
-            case NORTH:
-                return Direction.SOUTH;
-            case SOUTH:
-                return Direction.NORTH;
-            case WEST:
-                return Direction.EAST;
-            default:
-                throw new RuntimeException("Invalid direction: " + dir);
+    private void removeSlopes(Grid map) {
+        for (int i = 0; i < map.depth(); i++) {
+            for (int j = 0; j < map.length(); j++) {
+                final byte c = map.get(i, j);
+                if (c == '^' || c == '>' || c == 'v' || c == '<') {
+                    map.set(i, j, '.');
+                }
+            }
         }
     }
 
-    private List<Position> getNeighbours(Position c, char[][] map, boolean isPart2) {
-        final List<Position> neighbours = new ArrayList<>();
-
-        switch(map[c.i][c.j]) {
+    private static int slope(byte c) {
+        switch((char) c) {
             case '.':
-                break;
+                return NONE;
             case '^':
-                neighbours.add(new Position(c.i - 1, c.j, Direction.NORTH, c.steps + 1));
-                break;
+                return Grid.NORTH;
             case '>':
-                neighbours.add(new Position(c.i, c.j + 1, Direction.EAST, c.steps + 1));
-                break;
+                return Grid.EAST;
             case 'v':
-                neighbours.add(new Position(c.i + 1, c.j, Direction.SOUTH, c.steps + 1));
-                break;
+                return Grid.SOUTH;
             case '<':
-                neighbours.add(new Position(c.i, c.j - 1, Direction.WEST, c.steps + 1));
-                break;
+                return Grid.WEST;
             default:
-                throw new RuntimeException("Unknown character: " + map[c.i][c.j]);
-        }
-
-        if (!neighbours.isEmpty()) {
-            final Position p = neighbours.get(0);
-            if (map[p.i][p.j] == '#' || p.direction == opposite(c.direction)) {
-                return Collections.emptyList();
-            }
-
-            return neighbours;
-        }
-
-        for (final Direction d : Direction.values()) {
-            int i;
-            int j;
-
-            if (c.direction != null && d == opposite(c.direction)) {
-                continue;
-            }
-
-            switch(d) {
-                case NORTH:
-                    if (c.i == 0) {
-                        continue;
-                    }
-
-                    i = c.i - 1;
-                    j = c.j;
-                    break;
-
-                case EAST:
-                    i = c.i;
-                    j = c.j + 1;
-                    break;
-
-                case SOUTH:
-                    if (c.i == map.length - 1) {
-                        continue;
-                    }
-                    i = c.i + 1;
-                    j = c.j;
-                    break;
-
-                case WEST:
-                    i = c.i;
-                    j = c.j - 1;
-                    break;
-                
-                default:
-                    throw new RuntimeException("Unknown direction: " + d);
-            }
-
-            neighbours.add(new Position(i, j, d, c.steps + 1, isPart2));
+                throw new RuntimeException("Unknown character: " + (char) c);
         }
-
-        return neighbours.stream().filter((p) -> map[p.i][p.j] != '#').toList();
     }
 
-    private char[][] buildMap(List<String> data) {
-        final int mapDepth = data.size();
-        final int mapLength = data.get(0).length();
-        final char[][] map = new char[mapDepth][mapLength];
-
-        for (int i = 0; i < mapDepth; i++) {
-            for (int j = 0; j < mapLength; j++) {
-                map[i][j] = data.get(i).charAt(j);
-            }
-        }
-        return map;
-    }
-
-    private void removeSlopes(char[][] map) {
-        for (int i = 0; i < map.length; i++) {
-            for (int j = 0; j < map[0].length; j++) {
-                if (map[i][j] == '^' || map[i][j] == '>' || map[i][j] == 'v' || map[i][j] == '<') {
-                    map[i][j] = '.';
-                }
-            }
-        }
-    }
-
-    private List<Integer> bfs(Position start, Position end, char[][] map) {
-        final List<Integer> distances = new ArrayList<>();
-        final Queue<Position> queue = new ArrayDeque<>();
-        final Set<Position> visited = new HashSet<>();
-
-        visited.add(start);
-        queue.add(start);
-
-        while (!queue.isEmpty()) {
-            final Position current = queue.poll();
-            if (current.i == end.i && current.j == end.j) {
-                distances.add(current.steps);
+    /**
+     * Calls {@code exit} with each direction which can be taken out of {@code cell},
+     * having arrived in {@code arrival} ({@link #NONE} at the start). There is no turning
+     * back, and a slope can only be left downhill. The '#' border stops the walk leaving
+     * the map at the start or end.
+     */
+    private static void forEachExit(Grid map, int cell, int arrival, IntConsumer exit) {
+        final int slope = slope(map.get(cell));
+        for (int d = 0; d < 4; d++) {
+            if ((arrival != NONE && d == (arrival + 2) % 4) || (slope != NONE && d != slope)) {
                 continue;
             }
 
-            for (final Position n : getNeighbours(current, map, false)) {
-                if (!visited.contains(n)) {
-                    visited.add(n);
-                    queue.add(n);
-                }
+            if (map.get(cell + map.offset(d)) != '#') {
+                exit.accept(d);
             }
         }
-
-        return distances;
     }
 
-    @SuppressWarnings("unused")
-    private void printMap(char[][] map) {
-        for (int i = 0; i < map.length; i++) {
-            for (int j = 0; j < map[0].length; j++) {
-                System.out.print(map[i][j]);
+    private static int openNeighbours(Grid map, int cell) {
+        int open = 0;
+        for (int d = 0; d < 4; d++) {
+            if (map.get(cell + map.offset(d)) != '#') {
+                open++;
             }
-            System.out.println();
         }
+        return open;
     }
 
     /**
-     * Recursive DFS
-     * 
-     * https://en.wikipedia.org/wiki/Depth-first_search#Pseudocode
-     * https://thealgorists.com/Algo/AllPathsBetweenTwoNodes
-     * 
-     * Very simple - this is used to find all paths (from start to end)
-     * We add the current node to `visited` before the recursive call (to prevent any cycles)
-     * and remove it after the recursive call so other branches can go through that position.
+     * BFS through the map to find all junctions.
      *
-     * The `distances` list is populated when we encounter a path that reaches the end
-     * 
-     * The maximum in this list will be our answer.
+     * These junctions will act as our new nodes in the "reduced" graph
+     * This helps us considerably to prune the search space when trying
+     * to find the longest path. A junction is any cell with three or more
+     * ways in or out, so at least two ways on from wherever it was entered.
      */
-    private void dfs(Position current, Position end,
-        Map<Position, List<Position>> distanceMap, Set<Position> visited, List<Integer> distances, int currentSteps) {
-
-        if (current.equals(end)) {
-            distances.add(currentSteps);
-            return;
-        }
-
-        visited.add(current);
-
-        final List<Position> paths = distanceMap.get(current);
-        for (Position n : paths) {
-            if (!visited.contains(n)) {
-                dfs(n, end, distanceMap, visited, distances, currentSteps + n.steps);
-            }
-        }
-
-        visited.remove(current);
-    }
-
-    // https://www.tutorialspoint.com/print-all-paths-from-a-given-source-to-a-destination-using-bfs-in-cplusplus
-    // Unused, but may be useful if an iterative solution to collecting all paths (from start to end) is required
-    @SuppressWarnings("unused")
-    private List<Integer> bfsAllPaths(Position start, Position end, char[][] map) {
-        final Queue<List<Position>> queue = new ArrayDeque<>();
-        final List<Integer> distances = new ArrayList<>();
-
-        List<Position> path = new ArrayList<>(List.of(start));
-        queue.add(path);
-
-        while (!queue.isEmpty()) {
-            path = queue.poll();
-            final Position lastPos = path.get(path.size() - 1);
-            if (lastPos.i == end.i && lastPos.j == end.j) {
-                distances.add(path.size() - 1);
+    private List<Integer> findJunctions(int start, Grid map) {
+        final int[] dist = GraphSearch.breadthFirst((map.depth() + 2) * map.stride(), start, Integer.MAX_VALUE, (cell, edges) -> {
+            for (int d = 0; d < 4; d++) {
+                final int next = cell + map.offset(d);
+                if (map.get(next) != '#') {
+                    edges.add(next, 1);
+                }
             }
+        });
 
-            for (Position n : getNeighbours(lastPos, map, true)) {
-                if (!path.contains(n)) {
-                    final List<Position> newPath = new ArrayList<>(path);
-                    newPath.add(n);
-                    queue.add(newPath);
-                }
+        final List<Integer> junctions = new ArrayList<>();
+        for (int cell = 0; cell < dist.length; cell++) {
+            if (dist[cell] != GraphSearch.UNREACHED && openNeighbours(map, cell) >= 3) {
+                junctions.add(cell);
             }
         }
-
-        return distances;
+        return junctions;
     }
 
+    /**
+     * Points of interest (start, end and all junctions) numbered from 0, and the
+     * corridors between them: {@code next[p][k]} is the point reached by the kth corridor
+     * out of point {@code p}, {@code steps[p][k]} its length.
+     */
+    private record DistanceMap(int[][] next, int[][] steps, int[] corridors) { }
+
     /**
      * Now that we have our points of interest (start, end and all junctions in the map)
      * we can start measuring distances between them.
@@ -321,130 +121,169 @@ public class Day23 {
      *
      * The resulting map is effectively a graph of connected nodes, heavily pruned from the
      * original map
-     * 
-     * To gather the connected nodes between each point of interest, I iterative DFS using
-     * a point of interest as the root and any other points of interest the DFS runs into
-     * as the destination.
+     *
+     * Between points of interest every cell has exactly one way on, so each corridor is
+     * walked from a point of interest until it runs into another one (or a dead end, or
+     * an uphill slope). Two corridors between the same points are both kept.
      *
      * https://en.wikipedia.org/wiki/Edge_contraction
      */
-    private Map<Position, List<Position>> buildDistanceMap(Set<Position> pointsOfInterest, char[][] map) {
-        final Map<Position, List<Position>> distanceMap = new HashMap<>();
-        for (final Position poi : pointsOfInterest) {
-            final List<Position> reachable = new ArrayList<>();
-            final Stack<Position> stack = new Stack<>();
-            final Set<Position> visited = new HashSet<>();
-
-            stack.add(poi);
-            while (!stack.isEmpty()) {
-                final Position current = stack.pop();
-                if (pointsOfInterest.contains(current) && !current.equals(poi)) {
-                    reachable.add(current);
-                    continue;
-                }
+    private DistanceMap buildDistanceMap(int[] pointsOfInterest, Grid map) {
+        final int[] ids = new int[(map.depth() + 2) * map.stride()];
+        Arrays.fill(ids, NONE);
+        for (int p = 0; p < pointsOfInterest.length; p++) {
+            ids[pointsOfInterest[p]] = p;
+        }
 
-                if (!visited.contains(current)) {
-                    visited.add(current);
-                    final List<Position> neighbours = getNeighbours(current, map, true);
-                    for (final Position n : neighbours) {
-                        stack.add(n);
+        // no more than one corridor leaves each way
+        final int[][] next = new int[pointsOfInterest.length][4];
+        final int[][] steps = new int[pointsOfInterest.length][4];
+        final int[] corridors = new int[pointsOfInterest.length];
+        final int[] walk = new int[2];
+
+        for (int p = 0; p < pointsOfInterest.length; p++) {
+            final int poi = pointsOfInterest[p];
+            final int id = p;
+            forEachExit(map, poi, NONE, (first) -> {
+                int cell = poi + map.offset(first);
+                int direction = first;
+                int length = 1;
+
+                while (ids[cell] == NONE) {
+                    walk[0] = NONE;
+                    forEachExit(map, cell, direction, (d) -> walk[0] = d);
+                    if (walk[0] == NONE) {
+                        // a dead end, or an uphill slope
+                        return;
                     }
+
+                    direction = walk[0];
+                    cell += map.offset(direction);
+                    length++;
                 }
-            }
 
-            distanceMap.put(poi, reachable);
+                if (ids[cell] != id) {
+                    next[id][corridors[id]] = ids[cell];
+                    steps[id][corridors[id]] = length;
+                    corridors[id]++;
+                }
+            });
         }
 
-        return distanceMap;
+        return new DistanceMap(next, steps, corridors);
+    }
+
+    @SuppressWarnings("unused")
+    private void printMap(Grid map) {
+        System.out.print(map);
     }
 
     /**
-     * BFS through the map to find all junctions.
+     * Recursive DFS
+     * 
+     * https://en.wikipedia.org/wiki/Depth-first_search#Pseudocode
+     * https://thealgorists.com/Algo/AllPathsBetweenTwoNodes
+     * 
+     * Very simple - this is used to find all paths (from start to end)
+     * We add the current node to `visited` before the recursive call (to prevent any cycles)
+     * and remove it after the recursive call so other branches can go through that position.
      *
-     * These junctions will act as our new nodes in the "reduced" graph
-     * This helps us considerably to prune the search space when trying
-     * to find the longest path.
+     * @return the longest path to the end, or -1 if there is none
      */
-    private Set<Position> findJunctions(Position start, char[][] map) {
-        final Set<Position> pointsOfInterest = new HashSet<>();
-        final Queue<Position> queue = new ArrayDeque<>();
-        final Set<Position> visited = new HashSet<>();
-
-        visited.add(start);
-        queue.add(start);
-
-        while (!queue.isEmpty()) {
-            final Position current = queue.poll();
+    private int dfs(int current, int end, DistanceMap distanceMap, boolean[] visited) {
+        DFS_CALLS.increment();
+        if (current == end) {
+            DFS_PATHS.increment();
+            return 0;
+        }
 
-            final List<Position> neighbours = getNeighbours(current, map, true);
-            if (neighbours.size() >= 2) {
-                current.reset();
-                pointsOfInterest.add(current);
-            }
+        visited[current] = true;
 
-            for (final Position n : neighbours) {
-                if (!visited.contains(n)) {
-                    visited.add(n);
-                    queue.add(n);
+        int longest = -1;
+        for (int k = 0; k < distanceMap.corridors()[current]; k++) {
+            final int n = distanceMap.next()[current][k];
+            if (!visited[n]) {
+                final int rest = dfs(n, end, distanceMap, visited);
+                if (rest >= 0) {
+                    longest = Math.max(longest, rest + distanceMap.steps()[current][k]);
                 }
             }
         }
 
-        return pointsOfInterest;
-    }
-
-    private Position getStart(List<String> data) {
-        return new Position(0, data.get(0).indexOf('.'), null, 0);
-    }
-
-    private Position getEnd(List<String> data) {
-        return new Position(data.size() - 1, data.get(data.size() - 1).indexOf('.'), null, 0);
-    }
-
-    public int findMaxStepsToDestination(List<String> data) {
-        final char[][] map = buildMap(data);
-        final Position start = getStart(data);
-        final Position end = getEnd(data);
-
-        return bfs(start, end, map).stream().mapToInt(n -> n).max().getAsInt();
+        visited[current] = false;
+        return longest;
     }
 
     /**
-     * Part 2 effectively turns the exercise into a "longest path problem"
-     * 
+     * Longest path from the top row's path to the bottom row's, without stepping on a
+     * cell twice.
+     *
+     * This is a "longest path problem"
+     *
      * https://en.wikipedia.org/wiki/Longest_path_problem
-     * 
+     *
      * There is no algorithm to solve this efficiently (in polynomial time)
      * so we need to look for ways to significantly cut down the search space
      *
      * The graph features many "long corridors" and single routes, which fewer
      * "junctions" (decision points).
-     * 
+     *
      * We will use this to our advantage to collect the straight paths and map
      * them as distances to their nearest junctions.
-     * 
-     * Inspiration taken from: https://todd.ginsberg.com/post/advent-of-code/2023/day23/ 
+     *
+     * Inspiration taken from: https://todd.ginsberg.com/post/advent-of-code/2023/day23/
      */
-    public int findMaxStepsToDestinationWithNoSlopes(List<String> data) {
-        final char[][] map = buildMap(data);
-        removeSlopes(map);
+    private int findLongestPath(List<String> data, Grid map) {
+        final int start = map.index(0, data.get(0).indexOf('.'));
+        final int end = map.index(data.size() - 1, data.get(data.size() - 1).indexOf('.'));
+
+        PhaseEvent phase = PhaseEvent.begin("Day23", "findJunctions");
+        final List<Integer> junctions = findJunctions(start, map);
+        final int[] pointsOfInterest = new int[junctions.size() + 2];
+        pointsOfInterest[0] = start;
+        pointsOfInterest[1] = end;
+        for (int i = 0; i < junctions.size(); i++) {
+            pointsOfInterest[i + 2] = junctions.get(i);
+        }
+        phase.commit();
 
-        final Position start = getStart(data);
-        final Position end = getEnd(data);
+        phase = PhaseEvent.begin("Day23", "buildDistanceMap");
+        final DistanceMap distanceMap = buildDistanceMap(pointsOfInterest, map);
+        phase.commit();
 
-        start.isPart2 = true;
-        end.isPart2 = true;
+        phase = PhaseEvent.begin("Day23", "dfs");
+        final long started = DFS.start();
+        final int longest = dfs(0, 1, distanceMap, new boolean[pointsOfInterest.length]);
+        DFS.stop(started);
+        phase.commit();
 
-        final List<Integer> distances = new ArrayList<>();
+        if (longest < 0) {
+            throw new RuntimeException("No path to the end!");
+        }
+        return longest;
+    }
 
-        final Set<Position> pointsOfInterest = findJunctions(start, map);
-        pointsOfInterest.add(start);
-        pointsOfInterest.add(end);
+    public int findMaxStepsToDestination(List<String> data) {
+        return findLongestPath(data, buildMap(data));
+    }
+
+    /**
+     * Without the slopes many more paths are possible, but the search is the same
+     */
+    public int findMaxStepsToDestinationWithNoSlopes(List<String> data) {
+        final Grid map = buildMap(data);
+        removeSlopes(map);
+        return findLongestPath(data, map);
+    }
 
-        final Map<Position, List<Position>> distanceMap = buildDistanceMap(pointsOfInterest, map);
-        dfs(start, end, distanceMap, new HashSet<Position>(), distances, 0);
+    @Override
+    public Object partOne(List<String> data) {
+        return findMaxStepsToDestination(data);
+    }
 
-        return distances.stream().mapToInt(n -> n).max().getAsInt();
+    @Override
+    public Object partTwo(List<String> data) {
+        return findMaxStepsToDestinationWithNoSlopes(data);
     }
 
     public static void main(String[] args) throws IOException {
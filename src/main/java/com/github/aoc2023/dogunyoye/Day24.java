@@ -2,13 +2,13 @@ package com.github.aoc2023.dogunyoye;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-public class Day24 {
+public class Day24 implements Solver {
 
     private record Position(long x, long y, long z) { }
 
@@ -18,19 +18,23 @@ public class Day24 {
 
     private record Hail(Position position, Velocity velocity) { }
 
-    private static Hail createHail(String line) {
-        final String[] parts = line.split(" @ ");
-        final String[] pos = parts[0].split(",");
-        final String[] vel = parts[1].split(",");
-
-        final Position p = new Position(Long.parseLong(pos[0].trim()), Long.parseLong(pos[1].trim()), Long.parseLong(pos[2].trim()));
-        final Velocity v = new Velocity(Long.parseLong(vel[0].trim()), Long.parseLong(vel[1].trim()), Long.parseLong(vel[2].trim()));
+    private static Hail createHail(Input.Cursor cursor) {
+        // 19, 13, 30 @ -2,  1, -2
+        final Position p = new Position(cursor.nextLong(), cursor.nextLong(), cursor.nextLong());
+        final Velocity v = new Velocity(cursor.nextLong(), cursor.nextLong(), cursor.nextLong());
 
         return new Hail(p, v);
     }
 
-    private List<Hail> createHail(List<String> data) {
-        return data.stream().map(Day24::createHail).toList();
+    private List<Hail> createHail(Input input) {
+        final List<Hail> hailstones = new ArrayList<>(input.lineCount());
+        final Input.Cursor cursor = input.cursor();
+
+        for (int i = 0; i < input.lineCount(); i++) {
+            hailstones.add(createHail(cursor.line(i)));
+        }
+
+        return hailstones;
     }
 
     private double[] gradientAndYIntercept(long x, long y, long xVel, long yVel) {
@@ -98,6 +102,10 @@ public class Day24 {
     }
 
     long findNumberOfIntersectionsInTheTestArea(List<String> data, long min, long max) {
+        return findNumberOfIntersectionsInTheTestArea(Input.of(data), min, max);
+    }
+
+    long findNumberOfIntersectionsInTheTestArea(Input data, long min, long max) {
         final List<Hail> hailstones = createHail(data);
         final TestArea area = new TestArea(min, max);
         int intersectCount = 0;
@@ -114,6 +122,10 @@ public class Day24 {
     }
 
     public long findNumberOfIntersectionsInTheTestArea(List<String> data) {
+        return findNumberOfIntersectionsInTheTestArea(Input.of(data));
+    }
+
+    public long findNumberOfIntersectionsInTheTestArea(Input data) {
         return findNumberOfIntersectionsInTheTestArea(data, 200000000000000L, 400000000000000L);
     }
 
@@ -176,6 +188,10 @@ public class Day24 {
     }
 
     public long sumOfCoordinatesThatHitAllHailstones(List<String> data) {
+        return sumOfCoordinatesThatHitAllHailstones(Input.of(data));
+    }
+
+    public long sumOfCoordinatesThatHitAllHailstones(Input data) {
         final List<Hail> hailstones = createHail(data);
         final Set<Long> answer = new HashSet<>();
 
@@ -199,8 +215,28 @@ public class Day24 {
         throw new RuntimeException("No solution found!");
     }
 
+    @Override
+    public Object partOne(List<String> data) {
+        return findNumberOfIntersectionsInTheTestArea(data);
+    }
+
+    @Override
+    public Object partOne(Input input) {
+        return findNumberOfIntersectionsInTheTestArea(input);
+    }
+
+    @Override
+    public Object partTwo(List<String> data) {
+        return sumOfCoordinatesThatHitAllHailstones(data);
+    }
+
+    @Override
+    public Object partTwo(Input input) {
+        return sumOfCoordinatesThatHitAllHailstones(input);
+    }
+
     public static void main(String[] args) throws IOException {
-        final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day24.txt"));
+        final Input data = Input.map(Path.of("src/main/resources/Day24.txt"));
         System.out.println("Part 1: " + new Day24().findNumberOfIntersectionsInTheTestArea(data));
         System.out.println("Part 2: " + new Day24().sumOfCoordinatesThatHitAllHailstones(data));
     }
@@ -19,7 +19,11 @@ import org.jgrapht.alg.StoerWagnerMinimumCut;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.SimpleGraph;
 
-public class Day25 {
+public class Day25 implements Solver {
+
+    private static final Metrics.Counter KARGER_TRIALS = Metrics.counter("Day25.karger.trials");
+    private static final Metrics.Counter CONTRACTIONS = Metrics.counter("Day25.karger.contractions");
+    private static final Metrics.Timer KARGER = Metrics.timer("Day25.karger");
 
     private Map<String, Set<String>> buildConnectedMap(List<String> data) {
         final Map<String, Set<String>> connected = new HashMap<>();
@@ -171,6 +175,7 @@ public class Day25 {
             fromGroup.addAll(toGroup);
 
             verticesGroups.remove(to);
+            CONTRACTIONS.increment();
 
             edges.removeIf((e) -> (e.get(0).equals(to) && e.get(1).equals(from)) || (e.get(0).equals(from) && e.get(1).equals(to)));
             
@@ -260,19 +265,33 @@ public class Day25 {
      */
     public int findProductOfDisconnectedComponentsKarger(List<String> data) {
         Set<String> vertices = vertices(data);
+        final long started = KARGER.start();
 
         while (true) {
             final List<List<String>> edges = edges(data);
             vertices = vertices.stream().collect(Collectors.toSet());
 
+            KARGER_TRIALS.increment();
             final Map<String, Set<String>> groups = contract(vertices, edges);
 
             if (groups.values().stream().allMatch((v) -> v.size() > 1) && edges.size() == 3) {
+                KARGER.stop(started);
                 return groups.values().stream().mapToInt((v) -> v.size()).reduce(1, (a, b) -> a * b);
             }
         }
     }
     
+    @Override
+    public Object partOne(List<String> data) {
+        return findProductOfDisconnectedComponents(data);
+    }
+
+    // Day 25 only has the one puzzle
+    @Override
+    public Object partTwo(List<String> data) {
+        return null;
+    }
+
     public static void main(String[] args) throws IOException {
         final List<String> data = Files.readAllLines(Path.of("src/main/resources/Day25.txt"));
         System.out.println("Part 1: " + new Day25().findProductOfDisconnectedComponents(data));
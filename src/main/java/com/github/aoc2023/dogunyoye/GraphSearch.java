@@ -0,0 +1,184 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Shortest path searches over states numbered {@code 0} to {@code states - 1}, for the
+ * grid search days.
+ * <p>
+ * A day packs whatever makes up its state (a cell index, the direction it was entered
+ * in, a run length...) into an int and supplies a {@link Neighbours} generator, which
+ * reports the states one move away and the cost of each move. Distances are kept in a
+ * flat {@code int[]} indexed by state, so a search allocates its arrays once and no
+ * objects per state.
+ * <p>
+ * {@link #shortestDistance} is Dijkstra with Dial's bucket queue, for small integer
+ * weights: a ring of {@code maxWeight + 1} buckets, one per distance, where pushing and
+ * popping are O(1). {@link #breadthFirst} is a plain BFS for unit weights.
+ */
+public final class GraphSearch {
+
+    public static final int UNREACHED = -1;
+
+    private static final Metrics.Counter PUSHES = Metrics.counter("GraphSearch.dial.pushes");
+    private static final Metrics.Counter POPS = Metrics.counter("GraphSearch.dial.pops");
+    private static final Metrics.Counter STALE_POPS = Metrics.counter("GraphSearch.dial.stalePops");
+    private static final Metrics.Counter VISITS = Metrics.counter("GraphSearch.bfs.visits");
+
+    /**
+     * Receives the moves out of a state
+     */
+    @FunctionalInterface
+    public interface Edges {
+        void add(int state, int weight);
+    }
+
+    /**
+     * Generates the moves out of a state, calling {@link Edges#add} for each
+     */
+    @FunctionalInterface
+    public interface Neighbours {
+        void forEach(int state, Edges edges);
+    }
+
+    private GraphSearch() { }
+
+    /**
+     * Dijkstra from {@code source}, stopping at the first target settled
+     *
+     * @param maxWeight the heaviest move, every move weighing 0 to {@code maxWeight}
+     * @return the distance to the nearest state matching {@code isTarget}, or {@link #UNREACHED}
+     */
+    public static int shortestDistance(int states, int source, int maxWeight, Neighbours neighbours, IntPredicate isTarget) {
+        final DialQueue queue = new DialQueue(states, maxWeight);
+        queue.relax(source, 0);
+
+        while (!queue.isEmpty()) {
+            final int state = queue.pop();
+            POPS.increment();
+
+            if (queue.dist[state] < queue.distance) {
+                // pushed again since at a lower distance, and already settled there
+                STALE_POPS.increment();
+                continue;
+            }
+
+            if (isTarget.test(state)) {
+                return queue.distance;
+            }
+
+            neighbours.forEach(state, queue);
+        }
+
+        return UNREACHED;
+    }
+
+    /**
+     * BFS from {@code source}, treating every move as one step whatever its weight, and
+     * not moving further than {@code maxDepth} steps
+     *
+     * @return the number of steps to each state, or {@link #UNREACHED} for the states
+     *         which cannot be reached within {@code maxDepth}
+     */
+    public static int[] breadthFirst(int states, int source, int maxDepth, Neighbours neighbours) {
+        final Frontier frontier = new Frontier(states);
+        frontier.dist[source] = 0;
+        frontier.queue[frontier.tail++] = source;
+
+        for (int head = 0; head < frontier.tail; head++) {
+            final int state = frontier.queue[head];
+            VISITS.increment();
+
+            frontier.depth = frontier.dist[state];
+            if (frontier.depth < maxDepth) {
+                neighbours.forEach(state, frontier);
+            }
+        }
+
+        return frontier.dist;
+    }
+
+    /**
+     * The distances and a queue which holds every state at most once, as a state's
+     * distance is set when it is queued
+     */
+    private static final class Frontier implements Edges {
+
+        private final int[] dist;
+        private final int[] queue;
+        private int tail;
+        private int depth;
+
+        private Frontier(int states) {
+            this.dist = new int[states];
+            Arrays.fill(this.dist, UNREACHED);
+            this.queue = new int[states];
+        }
+
+        @Override
+        public void add(int state, int weight) {
+            if (this.dist[state] == UNREACHED) {
+                this.dist[state] = this.depth + 1;
+                this.queue[this.tail++] = state;
+            }
+        }
+    }
+
+    /**
+     * The distances and the ring of buckets, each a growable stack of states. Every queued
+     * state is within {@code maxWeight} of the distance being popped, so bucket
+     * {@code d % (maxWeight + 1)} only ever holds states at distance {@code d}.
+     */
+    private static final class DialQueue implements Edges {
+
+        private final int[] dist;
+        private final int[][] buckets;
+        private final int[] sizes;
+        private int distance;
+        private int queued;
+
+        private DialQueue(int states, int maxWeight) {
+            this.dist = new int[states];
+            Arrays.fill(this.dist, Integer.MAX_VALUE);
+            this.buckets = new int[maxWeight + 1][16];
+            this.sizes = new int[maxWeight + 1];
+        }
+
+        private boolean isEmpty() {
+            return this.queued == 0;
+        }
+
+        // moves on to the next non-empty bucket, and takes a state out of it
+        private int pop() {
+            int bucket = this.distance % this.buckets.length;
+            while (this.sizes[bucket] == 0) {
+                this.distance++;
+                bucket = this.distance % this.buckets.length;
+            }
+
+            this.queued--;
+            return this.buckets[bucket][--this.sizes[bucket]];
+        }
+
+        private void relax(int state, int d) {
+            if (d >= this.dist[state]) {
+                return;
+            }
+
+            this.dist[state] = d;
+            final int bucket = d % this.buckets.length;
+            if (this.sizes[bucket] == this.buckets[bucket].length) {
+                this.buckets[bucket] = Arrays.copyOf(this.buckets[bucket], this.sizes[bucket] * 2);
+            }
+            this.buckets[bucket][this.sizes[bucket]++] = state;
+            this.queued++;
+            PUSHES.increment();
+        }
+
+        @Override
+        public void add(int state, int weight) {
+            relax(state, this.distance + weight);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A 2D character map stored row by row in a single flat {@code byte[]}.
+ * <p>
+ * The map is surrounded by a one cell wide border of a chosen byte, so stepping
+ * one cell in any direction from a cell inside the map never leaves the array.
+ * Picking a border the puzzle treats as a wall (or as "outside") removes the
+ * bounds checks from the search loops.
+ * <p>
+ * Cells are addressed either by (row, column) or by their flat index, where
+ * moving north/east/south/west is simply adding {@link #offset(int)}.
+ */
+public final class Grid {
+
+    public static final int NORTH = 0;
+    public static final int EAST = 1;
+    public static final int SOUTH = 2;
+    public static final int WEST = 3;
+
+    private final byte[] cells;
+    private final int depth;
+    private final int length;
+    private final int stride;
+    private final byte border;
+
+    // north, east, south, west
+    private final int[] orthogonal;
+
+    // all eight surrounding cells, clockwise from north
+    private final int[] surrounding;
+
+    private Grid(byte[] cells, int depth, int length, byte border) {
+        this.cells = cells;
+        this.depth = depth;
+        this.length = length;
+        this.stride = length + 2;
+        this.border = border;
+        this.orthogonal = new int[]{-stride, 1, stride, -1};
+        this.surrounding = new int[]{-stride, -stride + 1, 1, stride + 1, stride, stride - 1, -1, -stride - 1};
+    }
+
+    public static Grid filled(int depth, int length, char value, char border) {
+        final byte[] cells = new byte[(depth + 2) * (length + 2)];
+        Arrays.fill(cells, (byte) border);
+
+        final Grid grid = new Grid(cells, depth, length, (byte) border);
+        for (int i = 0; i < depth; i++) {
+            Arrays.fill(cells, grid.index(i, 0), grid.index(i, length), (byte) value);
+        }
+
+        return grid;
+    }
+
+    public static Grid of(List<String> data, char border) {
+        final int depth = data.size();
+        final int length = data.get(0).length();
+        final Grid grid = filled(depth, length, border, border);
+
+        for (int i = 0; i < depth; i++) {
+            final byte[] row = data.get(i).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(row, 0, grid.cells, grid.index(i, 0), length);
+        }
+
+        return grid;
+    }
+
+    public Grid copy() {
+        return new Grid(this.cells.clone(), this.depth, this.length, this.border);
+    }
+
+    public int depth() {
+        return this.depth;
+    }
+
+    public int length() {
+        return this.length;
+    }
+
+    public int stride() {
+        return this.stride;
+    }
+
+    public int index(int i, int j) {
+        return ((i + 1) * this.stride) + (j + 1);
+    }
+
+    public int row(int index) {
+        return (index / this.stride) - 1;
+    }
+
+    public int column(int index) {
+        return (index % this.stride) - 1;
+    }
+
+    public byte get(int index) {
+        return this.cells[index];
+    }
+
+    public byte get(int i, int j) {
+        return this.cells[index(i, j)];
+    }
+
+    public void set(int index, char value) {
+        this.cells[index] = (byte) value;
+    }
+
+    public void set(int i, int j, char value) {
+        this.cells[index(i, j)] = (byte) value;
+    }
+
+    public boolean isBorder(int index) {
+        final int i = row(index);
+        final int j = column(index);
+        return i < 0 || i >= this.depth || j < 0 || j >= this.length;
+    }
+
+    /**
+     * @param direction one of {@link #NORTH}, {@link #EAST}, {@link #SOUTH} or {@link #WEST}
+     * @return the value to add to an index to move one cell in that direction
+     */
+    public int offset(int direction) {
+        return this.orthogonal[direction];
+    }
+
+    /**
+     * @param k 0 to 7, clockwise from north
+     * @return the value to add to an index to move to that surrounding cell
+     */
+    public int surroundingOffset(int k) {
+        return this.surrounding[k];
+    }
+
+    /**
+     * @return the index of the first cell (row by row) holding {@code value}, or -1
+     */
+    public int indexOf(char value) {
+        for (int i = 0; i < this.depth; i++) {
+            final int rowStart = index(i, 0);
+            for (int idx = rowStart; idx < rowStart + this.length; idx++) {
+                if (this.cells[idx] == value) {
+                    return idx;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Raw cells, for row scans in hot loops. Row {@code i} occupies
+     * {@code [index(i, 0), index(i, 0) + length())}.
+     */
+    byte[] cells() {
+        return this.cells;
+    }
+
+    /**
+     * @return a 64 bit FNV-1a hash of the cells, to tell the states of a simulation apart
+     *         (see {@link Cycles})
+     */
+    public long fingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        for (final byte b : this.cells) {
+            hash = (hash ^ b) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof Grid))
+            return false;
+        final Grid other = (Grid) obj;
+        return this.length == other.length && Arrays.equals(this.cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.cells);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < this.depth; i++) {
+            sb.append(new String(this.cells, index(i, 0), this.length, StandardCharsets.US_ASCII)).append('\n');
+        }
+        return sb.toString();
+    }
+}
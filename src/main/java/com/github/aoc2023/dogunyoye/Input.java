@@ -0,0 +1,297 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Puzzle input held as raw bytes, either memory-mapped from a file or
+ * encoded from a list of lines, with the line boundaries indexed up front.
+ * <p>
+ * Lines follow the same rules as {@link java.nio.file.Files#readAllLines(Path)}:
+ * a trailing line terminator does not start a new line and {@code \r\n} is
+ * treated as a single terminator.
+ * <p>
+ * Tokens are read through a {@link Cursor}, which scans numbers straight
+ * from the bytes without creating any intermediate strings.
+ */
+public final class Input {
+
+    private final ByteBuffer bytes;
+    private final int[] lineStarts;
+    private final int[] lineEnds;
+    private final int lineCount;
+
+    private Input(ByteBuffer bytes) {
+        this.bytes = bytes;
+
+        final int length = bytes.limit();
+        int[] starts = new int[1024];
+        int[] ends = new int[1024];
+        int count = 0;
+        int start = 0;
+
+        for (int i = 0; i <= length; i++) {
+            if (i < length && bytes.get(i) != '\n') {
+                continue;
+            }
+
+            // no line after the final terminator
+            if (i == length && start == length) {
+                break;
+            }
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+
+            int end = i;
+            if (end > start && bytes.get(end - 1) == '\r') {
+                --end;
+            }
+
+            starts[count] = start;
+            ends[count] = end;
+            ++count;
+            start = i + 1;
+        }
+
+        this.lineStarts = starts;
+        this.lineEnds = ends;
+        this.lineCount = count;
+    }
+
+    public static Input map(Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new RuntimeException("Input too large to map: " + path + " (" + size + " bytes)");
+            }
+            return new Input(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Wraps {@code bytes} from its position to its limit, without copying them, so the
+     * input is only valid while those bytes are left unchanged.
+     */
+    static Input wrap(ByteBuffer bytes) {
+        return new Input(bytes.slice());
+    }
+
+    public static Input of(List<String> lines) {
+        final byte[][] encoded = new byte[lines.size()][];
+        int length = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = lines.get(i).getBytes(StandardCharsets.UTF_8);
+            length += encoded[i].length + 1;
+        }
+
+        final byte[] bytes = new byte[length];
+        int offset = 0;
+        for (final byte[] line : encoded) {
+            System.arraycopy(line, 0, bytes, offset, line.length);
+            offset += line.length;
+            bytes[offset++] = '\n';
+        }
+
+        return new Input(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Feeds every input byte to {@code digest}, e.g. to key cached answers by content.
+     */
+    public void digest(MessageDigest digest) {
+        digest.update(this.bytes.duplicate().rewind());
+    }
+
+    /**
+     * The bytes from 0 to their limit, for days which scan them as a whole rather than
+     * line by line
+     */
+    ByteBuffer bytes() {
+        return this.bytes.asReadOnlyBuffer();
+    }
+
+    public int lineCount() {
+        return this.lineCount;
+    }
+
+    public int lineLength(int line) {
+        return this.lineEnds[line] - this.lineStarts[line];
+    }
+
+    public boolean isEmpty(int line) {
+        return lineLength(line) == 0;
+    }
+
+    public byte byteAt(int line, int index) {
+        return this.bytes.get(this.lineStarts[line] + index);
+    }
+
+    public String line(int line) {
+        final byte[] b = new byte[lineLength(line)];
+        this.bytes.get(this.lineStarts[line], b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    public List<String> lines() {
+        final List<String> lines = new ArrayList<>(this.lineCount);
+        for (int i = 0; i < this.lineCount; i++) {
+            lines.add(line(i));
+        }
+        return lines;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Reusable read position within a single line of the input.
+     * Call {@link #line(int)} to (re)position it at the start of a line.
+     */
+    public final class Cursor {
+
+        private int position;
+        private int limit;
+
+        private Cursor() { }
+
+        public Cursor line(int line) {
+            this.position = lineStarts[line];
+            this.limit = lineEnds[line];
+            return this;
+        }
+
+        public boolean hasNext() {
+            return this.position < this.limit;
+        }
+
+        public byte peek() {
+            return bytes.get(this.position);
+        }
+
+        public byte peek(int ahead) {
+            return bytes.get(this.position + ahead);
+        }
+
+        public boolean hasNext(int n) {
+            return this.limit - this.position >= n;
+        }
+
+        public byte next() {
+            return bytes.get(this.position++);
+        }
+
+        public Cursor skip(int n) {
+            this.position = Math.min(this.position + n, this.limit);
+            return this;
+        }
+
+        public Cursor skipWhitespace() {
+            while (this.position < this.limit && bytes.get(this.position) == ' ') {
+                ++this.position;
+            }
+            return this;
+        }
+
+        /**
+         * Moves past the next occurrence of {@code b} on this line
+         *
+         * @return false (leaving the cursor at the end of the line) if there is none
+         */
+        public boolean skipPast(char b) {
+            while (this.position < this.limit) {
+                if (bytes.get(this.position++) == b) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean startsWith(String s) {
+            if (this.limit - this.position < s.length()) {
+                return false;
+            }
+
+            for (int i = 0; i < s.length(); i++) {
+                if (bytes.get(this.position + i) != s.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private boolean isNumberStart(int i) {
+            final byte b = bytes.get(i);
+            return isDigit(b) || (b == '-' && i + 1 < this.limit && isDigit(bytes.get(i + 1)));
+        }
+
+        /**
+         * Skips anything that cannot start a number
+         *
+         * @return true if there is a number left on this line
+         */
+        public boolean hasNextNumber() {
+            while (this.position < this.limit && !isNumberStart(this.position)) {
+                ++this.position;
+            }
+            return this.position < this.limit;
+        }
+
+        public long nextLong() {
+            if (!hasNextNumber()) {
+                throw new RuntimeException("No number left on line");
+            }
+
+            final boolean negative = bytes.get(this.position) == '-';
+            if (negative) {
+                ++this.position;
+            }
+
+            long value = 0;
+            while (this.position < this.limit) {
+                final byte b = bytes.get(this.position);
+                if (!isDigit(b)) {
+                    break;
+                }
+                value = (value * 10) + (b - '0');
+                ++this.position;
+            }
+
+            return negative ? -value : value;
+        }
+
+        public int nextInt() {
+            return Math.toIntExact(nextLong());
+        }
+
+        /**
+         * Reads up to (but not including) the next byte which is one of {@code delimiters}
+         * or the end of the line. This allocates a string, so is reserved for names.
+         */
+        public String nextToken(String delimiters) {
+            final int start = this.position;
+            while (this.position < this.limit && delimiters.indexOf(bytes.get(this.position)) == -1) {
+                ++this.position;
+            }
+
+            final byte[] b = new byte[this.position - start];
+            bytes.get(start, b);
+            return new String(b, StandardCharsets.UTF_8);
+        }
+    }
+}
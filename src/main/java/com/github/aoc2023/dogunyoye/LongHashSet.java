@@ -0,0 +1,155 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of {@code long} values without any boxing.
+ * <p>
+ * Open addressing with linear probing in a power of two table, kept at most half full.
+ * Slot value {@code 0} marks a free slot, so the key {@code 0} itself is tracked
+ * by a separate flag. Removal shifts the following run back rather than leaving
+ * tombstones, so lookups never slow down after many removals.
+ */
+public final class LongHashSet {
+
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean hasFreeKey;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    static int tableSize(int expectedSize) {
+        final int wanted = Math.max(4, expectedSize) * 2;
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+
+    static int slot(long key, int mask) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public boolean add(long key) {
+        if (key == FREE) {
+            final boolean added = !this.hasFreeKey;
+            this.hasFreeKey = true;
+            return added;
+        }
+
+        int s = slot(key, this.mask);
+        while (this.keys[s] != FREE) {
+            if (this.keys[s] == key) {
+                return false;
+            }
+            s = (s + 1) & this.mask;
+        }
+
+        this.keys[s] = key;
+        if (++this.size > (this.mask >> 1)) {
+            rehash(this.keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == FREE) {
+            return this.hasFreeKey;
+        }
+
+        int s = slot(key, this.mask);
+        while (this.keys[s] != FREE) {
+            if (this.keys[s] == key) {
+                return true;
+            }
+            s = (s + 1) & this.mask;
+        }
+        return false;
+    }
+
+    public boolean remove(long key) {
+        if (key == FREE) {
+            final boolean removed = this.hasFreeKey;
+            this.hasFreeKey = false;
+            return removed;
+        }
+
+        int s = slot(key, this.mask);
+        while (this.keys[s] != key) {
+            if (this.keys[s] == FREE) {
+                return false;
+            }
+            s = (s + 1) & this.mask;
+        }
+
+        // shift back any later key in the run whose home slot is at or before the gap
+        int gap = s;
+        int next = (gap + 1) & this.mask;
+        while (this.keys[next] != FREE) {
+            final int home = slot(this.keys[next], this.mask);
+            if (((next - home) & this.mask) >= ((next - gap) & this.mask)) {
+                this.keys[gap] = this.keys[next];
+                gap = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+
+        this.keys[gap] = FREE;
+        --this.size;
+        return true;
+    }
+
+    public int size() {
+        return this.size + (this.hasFreeKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, FREE);
+        this.size = 0;
+        this.hasFreeKey = false;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (this.hasFreeKey) {
+            action.accept(FREE);
+        }
+
+        for (final long key : this.keys) {
+            if (key != FREE) {
+                action.accept(key);
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        final long[] old = this.keys;
+        allocate(capacity);
+
+        for (final long key : old) {
+            if (key != FREE) {
+                int s = slot(key, this.mask);
+                while (this.keys[s] != FREE) {
+                    s = (s + 1) & this.mask;
+                }
+                this.keys[s] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.Arrays;
+
+/**
+ * A {@code long} to {@code long} map without any boxing.
+ * <p>
+ * Same layout as {@link LongHashSet}: open addressing with linear probing, at most
+ * half full, with the key {@code 0} stored outside the table.
+ */
+public final class LongLongHashMap {
+
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private boolean hasFreeKey;
+    private long freeValue;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(LongHashSet.tableSize(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public void put(long key, long value) {
+        if (key == FREE) {
+            this.hasFreeKey = true;
+            this.freeValue = value;
+            return;
+        }
+
+        int s = LongHashSet.slot(key, this.mask);
+        while (this.keys[s] != FREE) {
+            if (this.keys[s] == key) {
+                this.values[s] = value;
+                return;
+            }
+            s = (s + 1) & this.mask;
+        }
+
+        this.keys[s] = key;
+        this.values[s] = value;
+        if (++this.size > (this.mask >> 1)) {
+            rehash(this.keys.length << 1);
+        }
+    }
+
+    /**
+     * @return the value for {@code key}, or {@code missing} if there is none
+     */
+    public long get(long key, long missing) {
+        if (key == FREE) {
+            return this.hasFreeKey ? this.freeValue : missing;
+        }
+
+        int s = LongHashSet.slot(key, this.mask);
+        while (this.keys[s] != FREE) {
+            if (this.keys[s] == key) {
+                return this.values[s];
+            }
+            s = (s + 1) & this.mask;
+        }
+        return missing;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == FREE) {
+            return this.hasFreeKey;
+        }
+
+        int s = LongHashSet.slot(key, this.mask);
+        while (this.keys[s] != FREE) {
+            if (this.keys[s] == key) {
+                return true;
+            }
+            s = (s + 1) & this.mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return this.size + (this.hasFreeKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, FREE);
+        this.size = 0;
+        this.hasFreeKey = false;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = this.keys;
+        final long[] oldValues = this.values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int s = LongHashSet.slot(oldKeys[i], this.mask);
+                while (this.keys[s] != FREE) {
+                    s = (s + 1) & this.mask;
+                }
+                this.keys[s] = oldKeys[i];
+                this.values[s] = oldValues[i];
+            }
+        }
+    }
+}
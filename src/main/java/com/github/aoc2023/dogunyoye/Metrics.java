@@ -0,0 +1,150 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timers for the solvers' hot paths (nodes popped, memo hits, calls made...).
+ * <p>
+ * Switched on with {@code -Daoc.metrics=table} or {@code -Daoc.metrics=json}, which
+ * also picks how {@link SolverRunner} prints them. {@link #ENABLED} is a
+ * {@code static final} constant, so when it is off the JIT drops every recording
+ * call and the solvers pay nothing beyond holding the (static) handles.
+ * <p>
+ * Handles are registered once by name, by convention {@code DayXX.method.what}, and
+ * are safe to record into from parallel streams.
+ */
+public final class Metrics {
+
+    public static final String PROPERTY = "aoc.metrics";
+    public static final boolean ENABLED = System.getProperty(PROPERTY) != null;
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private Metrics() { }
+
+    public static final class Counter {
+
+        private final LongAdder count = new LongAdder();
+
+        private Counter() { }
+
+        public void increment() {
+            if (ENABLED) {
+                this.count.increment();
+            }
+        }
+
+        public void add(long n) {
+            if (ENABLED) {
+                this.count.add(n);
+            }
+        }
+
+        public long value() {
+            return this.count.sum();
+        }
+    }
+
+    /**
+     * Accumulates elapsed nanoseconds. Use as
+     * {@code final long start = TIMER.start(); ... TIMER.stop(start);}.
+     */
+    public static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Timer() { }
+
+        public long start() {
+            return ENABLED ? System.nanoTime() : 0L;
+        }
+
+        public void stop(long start) {
+            if (ENABLED) {
+                this.nanos.add(System.nanoTime() - start);
+                this.count.increment();
+            }
+        }
+
+        public long count() {
+            return this.count.sum();
+        }
+
+        public long nanos() {
+            return this.nanos.sum();
+        }
+    }
+
+    public record Sample(String name, long count, long nanos, boolean timer) { }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, (k) -> new Counter());
+    }
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, (k) -> new Timer());
+    }
+
+    /**
+     * @return every counter and timer that has recorded something, sorted by name
+     */
+    public static List<Sample> snapshot() {
+        final List<Sample> samples = new ArrayList<>();
+        COUNTERS.forEach((name, c) -> {
+            if (c.value() != 0) {
+                samples.add(new Sample(name, c.value(), 0, false));
+            }
+        });
+        TIMERS.forEach((name, t) -> {
+            if (t.count() != 0) {
+                samples.add(new Sample(name, t.count(), t.nanos(), true));
+            }
+        });
+
+        samples.sort((a, b) -> a.name().compareTo(b.name()));
+        return samples;
+    }
+
+    public static void reset() {
+        COUNTERS.values().forEach((c) -> c.count.reset());
+        TIMERS.values().forEach((t) -> {
+            t.count.reset();
+            t.nanos.reset();
+        });
+    }
+
+    public static String table() {
+        return table(snapshot());
+    }
+
+    public static String json() {
+        return json(snapshot());
+    }
+
+    static String table(List<Sample> samples) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-50s | %15s | %12s%n", "Metric", "Count", "Total ms"));
+        for (final Sample s : samples) {
+            final String ms = s.timer() ? String.format("%12.3f", s.nanos() / 1_000_000.0) : String.format("%12s", "-");
+            sb.append(String.format("%-50s | %15d | %s%n", s.name(), s.count(), ms));
+        }
+        return sb.toString();
+    }
+
+    // names are code identifiers, so they need no escaping
+    static String json(List<Sample> samples) {
+        final List<String> entries = new ArrayList<>();
+        for (final Sample s : samples) {
+            entries.add(s.timer()
+                ? String.format("  \"%s\": {\"count\": %d, \"nanos\": %d}", s.name(), s.count(), s.nanos())
+                : String.format("  \"%s\": %d", s.name(), s.count()));
+        }
+        return entries.isEmpty() ? "{}" : "{\n" + String.join(",\n", entries) + "\n}";
+    }
+}
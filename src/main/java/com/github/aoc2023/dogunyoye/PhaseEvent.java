@@ -0,0 +1,49 @@
+package com.github.aoc2023.dogunyoye;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event spanning one phase of a day: loading its input, a part,
+ * or a step inside a part (e.g. Day22 building its support map).
+ * <p>
+ * In a recording these line up against the allocation and GC events on the same
+ * thread. To take one:
+ * {@code java -XX:StartFlightRecording=filename=aoc.jfr ... SolverRunner}.
+ * When no recording is running {@link #commit()} does nothing.
+ * <pre>
+ * final PhaseEvent phase = PhaseEvent.begin("Day22", "buildSupportMap");
+ * ...
+ * phase.commit();
+ * </pre>
+ */
+@Name(PhaseEvent.NAME)
+@Label("Solver Phase")
+@Category("Advent of Code")
+@Description("Loading the input, a part, or a step inside a part of one day's solution")
+@StackTrace(false)
+public final class PhaseEvent extends Event {
+
+    public static final String NAME = "aoc2023.Phase";
+
+    @Label("Day")
+    private String day;
+
+    @Label("Phase")
+    private String phase;
+
+    private PhaseEvent(String day, String phase) {
+        this.day = day;
+        this.phase = phase;
+    }
+
+    public static PhaseEvent begin(String day, String phase) {
+        final PhaseEvent event = new PhaseEvent(day, phase);
+        event.begin();
+        return event;
+    }
+}
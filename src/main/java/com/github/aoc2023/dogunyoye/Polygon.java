@@ -0,0 +1,161 @@
+package com.github.aoc2023.dogunyoye;
+
+/**
+ * Area and lattice point counts of a simple polygon with integer vertices,
+ * accumulated in one pass as the vertices are added (Day10, Day18).
+ * <p>
+ * The area is the shoelace formula. Its running sum of cross products is kept as a
+ * 128 bit two's complement number, each product's high half coming from
+ * {@link Math#multiplyHigh}, so it cannot overflow however far out the vertices are.
+ * Results are narrowed back to a {@code long} at the end, throwing
+ * {@link ArithmeticException} if they do not fit. Pick's theorem,
+ * {@code A = I + B/2 - 1}, then gives the lattice points inside ({@code I}) from the
+ * area ({@code A}) and the lattice points on the boundary ({@code B}).
+ * <p>
+ * Use as {@code polygon.add(x, y); ... polygon.close();}, then read the results.
+ * <p>
+ * https://en.wikipedia.org/wiki/Shoelace_formula
+ * https://en.wikipedia.org/wiki/Pick%27s_theorem
+ */
+public final class Polygon {
+
+    // twice the signed area, high and low halves
+    private long high;
+    private long low;
+
+    private long boundary;
+    private long firstX;
+    private long firstY;
+    private long lastX;
+    private long lastY;
+    private int vertices;
+    private boolean closed;
+
+    /**
+     * Adds the next vertex, in order around the polygon. Vertices may be collinear, or
+     * repeat the previous one.
+     */
+    public void add(long x, long y) {
+        if (this.closed) {
+            throw new RuntimeException("Polygon already closed");
+        }
+
+        if (this.vertices == 0) {
+            this.firstX = x;
+            this.firstY = y;
+        } else {
+            edge(this.lastX, this.lastY, x, y);
+        }
+
+        this.lastX = x;
+        this.lastY = y;
+        this.vertices++;
+    }
+
+    /**
+     * Adds the edge from the last vertex back to the first
+     */
+    public Polygon close() {
+        if (!this.closed && this.vertices > 0) {
+            edge(this.lastX, this.lastY, this.firstX, this.firstY);
+        }
+        this.closed = true;
+        return this;
+    }
+
+    private void edge(long x1, long y1, long x2, long y2) {
+        // x1 * y2 - x2 * y1
+        addProduct(x1, y2, false);
+        addProduct(x2, y1, true);
+
+        // the lattice points on an edge, counting one of its ends
+        this.boundary = Math.addExact(this.boundary,
+            gcd(Math.abs(Math.subtractExact(x2, x1)), Math.abs(Math.subtractExact(y2, y1))));
+    }
+
+    private void addProduct(long a, long b, boolean subtract) {
+        long productHigh = Math.multiplyHigh(a, b);
+        long productLow = a * b;
+        if (subtract) {
+            productHigh = ~productHigh + (productLow == 0 ? 1 : 0);
+            productLow = -productLow;
+        }
+
+        final long sum = this.low + productLow;
+        this.high += productHigh + (Long.compareUnsigned(sum, this.low) < 0 ? 1 : 0);
+        this.low = sum;
+    }
+
+    private static long gcd(long x, long y) {
+        while (y != 0) {
+            final long r = x % y;
+            x = y;
+            y = r;
+        }
+        return x;
+    }
+
+    /**
+     * @return ({@code |twice the area|} + {@code add} + {@code more}) / 2, exactly, as a long
+     */
+    private long halve(long add, long more) {
+        long h = this.high;
+        long l = this.low;
+        if (h < 0) {
+            h = ~h + (l == 0 ? 1 : 0);
+            l = -l;
+        }
+
+        // either addition may be negative, which sign extends into the high half
+        final long sum = l + add;
+        h += (add < 0 ? -1 : 0) + (Long.compareUnsigned(sum, l) < 0 ? 1 : 0);
+        l = sum + more;
+        h += (more < 0 ? -1 : 0) + (Long.compareUnsigned(l, sum) < 0 ? 1 : 0);
+
+        final long halfLow = (l >>> 1) | (h << 63);
+        final long halfHigh = h >> 1;
+        if (halfHigh != (halfLow >> 63)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return halfLow;
+    }
+
+    private void checkClosed() {
+        if (!this.closed) {
+            throw new RuntimeException("Polygon not closed");
+        }
+    }
+
+    /**
+     * @return the area enclosed, rounded down to a whole number
+     */
+    public long area() {
+        checkClosed();
+        return halve(0, 0);
+    }
+
+    /**
+     * @return the lattice points on the boundary, which is also the perimeter when every
+     *         edge is horizontal or vertical
+     */
+    public long boundaryPoints() {
+        checkClosed();
+        return this.boundary;
+    }
+
+    /**
+     * @return the lattice points strictly inside, {@code I = A - B/2 + 1}
+     */
+    public long interiorPoints() {
+        checkClosed();
+        return halve(2, -this.boundary);
+    }
+
+    /**
+     * @return the lattice points inside or on the boundary, {@code I + B}
+     */
+    public long latticePoints() {
+        checkClosed();
+        return halve(2, this.boundary);
+    }
+}
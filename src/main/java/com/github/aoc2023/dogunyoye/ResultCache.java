@@ -0,0 +1,273 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Answers from previous runs, kept on disk so that solving the same input again is a lookup.
+ * <p>
+ * An answer is keyed by the SHA-256 of the input bytes, the day, the part and a hash of
+ * the compiled classes: the solver's own, and every class file in its package (from the
+ * classes directory or the jar it was loaded from). Recompiling a changed solver, or any
+ * of the shared code it runs on (e.g. {@link Grid}), invalidates its answers.
+ * <p>
+ * The file is an append-only log of {@code key<TAB>answer} lines, where a later line for
+ * a key wins. A hit appends its entry again, so the order of the log is also the order
+ * of use. Only the {@code maxEntries} most recently used answers are kept, and the log is
+ * rewritten with just those once it grows to twice that.
+ */
+public final class ResultCache {
+
+    public static final String PROPERTY = "aoc.cache";
+    public static final String SIZE_PROPERTY = "aoc.cache.size";
+    public static final Path DEFAULT_FILE = Path.of("target", "aoc-cache", "results.log");
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private static final ClassValue<String> CLASS_HASHES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return classHash(type);
+        }
+    };
+
+    private final Path file;
+    private final int maxEntries;
+    private final LinkedHashMap<String, String> entries;
+    private int logLines;
+
+    private ResultCache(Path file, int maxEntries) {
+        this.file = file;
+        this.maxEntries = maxEntries;
+        // access ordered, so the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Opens (or creates) the cache at {@code file}, loading every answer from it.
+     */
+    public static ResultCache open(Path file, int maxEntries) {
+        final ResultCache cache = new ResultCache(file, maxEntries);
+        try {
+            if (Files.exists(file)) {
+                for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    final int tab = line.indexOf('\t');
+                    if (tab > 0) {
+                        cache.entries.put(line.substring(0, tab), line.substring(tab + 1));
+                        ++cache.logLines;
+                    }
+                }
+                cache.evict();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return cache;
+    }
+
+    /**
+     * The cache named by {@code -Daoc.cache=<file>} (default {@link #DEFAULT_FILE}), or null if
+     * it is bypassed with {@code -Daoc.cache=off}. {@code -Daoc.cache.size} sets the number of
+     * answers kept.
+     */
+    public static ResultCache fromSystemProperties() {
+        final String location = System.getProperty(PROPERTY);
+        if ("off".equals(location)) {
+            return null;
+        }
+
+        final int maxEntries = Integer.getInteger(SIZE_PROPERTY, DEFAULT_MAX_ENTRIES);
+        return open(location == null ? DEFAULT_FILE : Path.of(location), maxEntries);
+    }
+
+    /**
+     * @return the cache key for one part of {@code solver} run against {@code input}
+     */
+    public static String key(Solver solver, int part, Input input) {
+        final MessageDigest digest = sha256();
+        input.digest(digest);
+        final String inputHash = HexFormat.of().formatHex(digest.digest());
+        return solver.getClass().getSimpleName() + "-" + part + "-" + CLASS_HASHES.get(solver.getClass()) + "-" + inputHash;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // hash of the class file and those of its nested classes, then of every class file in
+    // the package they were loaded from, standing in for a version
+    static String classHash(Class<?> type) {
+        final MessageDigest digest = sha256();
+        final List<Class<?>> classes = new ArrayList<>(List.of(type));
+
+        for (int i = 0; i < classes.size(); i++) {
+            final Class<?> c = classes.get(i);
+            final String resource = c.getName().substring(c.getName().lastIndexOf('.') + 1) + ".class";
+            try (final InputStream in = c.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new RuntimeException("Class file not found: " + c.getName());
+                }
+                digest.update(in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            classes.addAll(List.of(c.getDeclaredClasses()));
+        }
+
+        digest.update(packageHash(type));
+        return HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+
+    private static byte[] packageHash(Class<?> type) {
+        final String packagePath = type.getPackageName().replace('.', '/');
+        try {
+            final Path location = Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                return packageHash(location, packagePath);
+            }
+            try (final FileSystem jar = FileSystems.newFileSystem(location)) {
+                return packageHash(jar.getPath("/"), packagePath);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the hash of the names and contents of every class file under
+     *         {@code packagePath} (and its subpackages) in {@code root}, in name order
+     */
+    static byte[] packageHash(Path root, String packagePath) throws IOException {
+        final MessageDigest digest = sha256();
+        final Path directory = root.resolve(packagePath);
+
+        final List<Path> classFiles;
+        try (final Stream<Path> files = Files.walk(directory)) {
+            classFiles = files.filter((f) -> f.toString().endsWith(".class")).sorted().toList();
+        }
+
+        for (final Path classFile : classFiles) {
+            digest.update(directory.relativize(classFile).toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(classFile));
+        }
+        return digest.digest();
+    }
+
+    /**
+     * @return the cached answer for {@code key}, or null if there is none
+     */
+    public synchronized Object get(String key) {
+        final String encoded = this.entries.get(key);
+        if (encoded == null) {
+            return null;
+        }
+
+        append(key, encoded);
+        return decode(encoded);
+    }
+
+    /**
+     * Caches {@code answer} for {@code key}. Null answers are not cached.
+     */
+    public synchronized void put(String key, Object answer) {
+        if (answer == null) {
+            return;
+        }
+
+        final String encoded = encode(answer);
+        this.entries.put(key, encoded);
+        evict();
+        append(key, encoded);
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    private void evict() {
+        while (this.entries.size() > this.maxEntries) {
+            this.entries.remove(this.entries.keySet().iterator().next());
+        }
+    }
+
+    private void append(String key, String encoded) {
+        try {
+            if (this.logLines >= 2 * this.maxEntries) {
+                compact();
+            }
+
+            Files.createDirectories(this.file.toAbsolutePath().getParent());
+            Files.writeString(this.file, key + "\t" + encoded + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            ++this.logLines;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // rewrites the log with only the live entries, least recently used first
+    private void compact() throws IOException {
+        final Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try (final BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<String, String> e : this.entries.entrySet()) {
+                writer.write(e.getKey() + "\t" + e.getValue() + "\n");
+            }
+        }
+
+        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.logLines = this.entries.size();
+    }
+
+    // answers are ints, longs or strings; keep the type so they print the same
+    private static String encode(Object answer) {
+        if (answer instanceof Integer) {
+            return "I" + answer;
+        }
+        if (answer instanceof Long) {
+            return "L" + answer;
+        }
+
+        final String s = answer.toString();
+        if (s.indexOf('\n') >= 0 || s.indexOf('\t') >= 0) {
+            throw new RuntimeException("Cannot cache a multi-line answer: " + s);
+        }
+        return "S" + s;
+    }
+
+    private static Object decode(String encoded) {
+        switch (encoded.charAt(0)) {
+            case 'I':
+                return Integer.parseInt(encoded.substring(1));
+            case 'L':
+                return Long.parseLong(encoded.substring(1));
+            case 'S':
+                return encoded.substring(1);
+            default:
+                throw new RuntimeException("Invalid cache entry: " + encoded);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.aoc2023.dogunyoye;
+
+/**
+ * One byte at a time, see {@link ByteKernels}
+ */
+final class ScalarByteKernels implements ByteKernels {
+
+    @Override
+    public int count(byte[] a, int from, int length, byte value) {
+        int count = 0;
+        for (int i = from; i < from + length; i++) {
+            if (a[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void markDiffering(byte[] a, int from, int length, byte value, byte[] marks) {
+        for (int k = 0; k < length; k++) {
+            if (a[from + k] != value) {
+                marks[k] = 1;
+            }
+        }
+    }
+
+    @Override
+    public int indexOfSymbol(byte[] a, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final byte c = a[i];
+            if (c != '.' && (c < '0' || c > '9')) {
+                return i;
+            }
+        }
+        return to;
+    }
+}
@@ -0,0 +1,275 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.aoc2023.dogunyoye.generator.Generators;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Solves each day's generated inputs at growing sizes and reports how the wall time,
+ * allocated bytes and peak heap grow with them.
+ * <p>
+ * Every part of a day climbs its own ladder of sizes, taking the best of a few runs at
+ * each, until a run takes longer than the time budget or fails. The empirical complexity
+ * exponent is the slope of a least squares fit of log(time) against log(size), and also
+ * against log(input bytes), as what {@code size} measures differs between the days
+ * (lines, or the side of a grid, or the time of a race). An exponent well above 1 against
+ * the input bytes is flagged as superlinear.
+ * <p>
+ * Usage: {@code ScalingReport [outputDirectory] [budgetMillis] [repeats] [day...]}, writing
+ * {@code scaling.csv} and {@code scaling.md} to {@code target/scaling} by default.
+ */
+public class ScalingReport {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final long SEED = 2023L;
+
+    static final double SUPERLINEAR = 1.5;
+
+    private record Ladder(int[] sizes, boolean partTwo) { }
+
+    // what size means is documented on each DayXXGenerator. Grids grow by their side,
+    // so four times the input per step
+    private static final List<Ladder> LADDERS =
+        List.of(
+            new Ladder(new int[] {100, 1000, 10000, 100000}, true),
+            new Ladder(new int[] {100, 1000, 10000, 100000}, true),
+            new Ladder(new int[] {50, 100, 200, 400, 800}, true),
+            new Ladder(new int[] {100, 1000, 10000, 100000}, true),
+            new Ladder(new int[] {10, 100, 1000, 3000}, true),
+            new Ladder(new int[] {1000, 100000, 10000000, 1000000000}, true),
+            new Ladder(new int[] {100, 1000, 10000, 100000}, true),
+            new Ladder(new int[] {100, 1000, 10000, 100000}, true),
+            new Ladder(new int[] {100, 1000, 10000, 100000}, true),
+            new Ladder(new int[] {20, 40, 80, 160, 320, 640}, true),
+            new Ladder(new int[] {20, 40, 80, 160, 320, 640}, true),
+            new Ladder(new int[] {10, 100, 1000, 10000}, true),
+            new Ladder(new int[] {10, 100, 1000, 10000}, true),
+            // part 2 finds the spin cycle's period on any size of map, so climbs with part 1
+            new Ladder(new int[] {25, 50, 100, 200, 400}, true),
+            new Ladder(new int[] {100, 1000, 10000, 100000}, true),
+            new Ladder(new int[] {10, 20, 40, 80, 160}, true),
+            new Ladder(new int[] {20, 40, 80, 160, 320}, true),
+            new Ladder(new int[] {10, 100, 1000, 10000}, true),
+            new Ladder(new int[] {10, 100, 1000, 10000}, true),
+            // part 2's answer, the product of the branches' periods, overflows a long past
+            // about five branches
+            new Ladder(new int[] {4, 8, 16, 32}, false),
+            new Ladder(new int[] {31, 61, 131, 261, 521}, true),
+            new Ladder(new int[] {100, 300, 1000, 3000, 10000}, true),
+            new Ladder(new int[] {11, 17, 23, 31, 41}, true),
+            new Ladder(new int[] {10, 30, 100, 300, 1000}, true),
+            // there is no part 2 on the last day
+            new Ladder(new int[] {20, 40, 80, 160, 320}, false)
+        );
+
+    record Row(int day, int part, int size, long inputBytes, long nanos, long allocatedBytes, long peakHeapBytes, String error) { }
+
+    record Fit(int day, int part, List<Row> rows, double sizeExponent, double bytesExponent, double allocationExponent) {
+
+        boolean superlinear() {
+            return this.bytesExponent > SUPERLINEAR;
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream().filter((p) -> p.getType() == MemoryType.HEAP).toList();
+    }
+
+    // best of repeats, after collecting so that the peak heap is mostly this run's. A run
+    // over the budget is not repeated
+    private static Row measure(int day, int part, int size, Input input, long inputBytes, long budgetNanos, int repeats) {
+        final Solver solver = Solvers.create(day);
+        final List<MemoryPoolMXBean> pools = heapPools();
+
+        long nanos = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        long peakHeap = Long.MAX_VALUE;
+        for (int i = 0; i < repeats; i++) {
+            System.gc();
+            pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            final long allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+            final long start = System.nanoTime();
+            try {
+                final Object answer = part == 1 ? solver.partOne(input) : solver.partTwo(input);
+                if (answer == null) {
+                    return new Row(day, part, size, inputBytes, 0, 0, 0, "no answer");
+                }
+            } catch (RuntimeException e) {
+                return new Row(day, part, size, inputBytes, 0, 0, 0, e.toString());
+            }
+            nanos = Math.min(nanos, System.nanoTime() - start);
+            allocated = Math.min(allocated, THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            peakHeap = Math.min(peakHeap, pools.stream().mapToLong((p) -> p.getPeakUsage().getUsed()).sum());
+            if (nanos > budgetNanos) {
+                break;
+            }
+        }
+
+        return new Row(day, part, size, inputBytes, nanos, allocated, peakHeap, null);
+    }
+
+    /**
+     * Climbs {@code sizes} for one part of {@code day}, stopping after the first run over
+     * {@code budgetNanos} or the first failure
+     */
+    static List<Row> climb(int day, int part, int[] sizes, long budgetNanos, int repeats) {
+        final List<Row> rows = new ArrayList<>();
+        for (final int size : sizes) {
+            final List<String> lines;
+            try {
+                lines = Generators.create(day).generate(size, SEED);
+            } catch (OutOfMemoryError e) {
+                rows.add(new Row(day, part, size, 0, 0, 0, 0, "input does not fit in the heap"));
+                break;
+            }
+
+            long inputBytes = 0;
+            for (final String line : lines) {
+                inputBytes += line.length() + 1;
+            }
+
+            final Input input = Input.of(lines);
+            if (rows.isEmpty()) {
+                // warm up on the smallest input, so the first row is not mostly the JIT
+                measure(day, part, size, input, inputBytes, budgetNanos, repeats);
+            }
+
+            final Row row = measure(day, part, size, input, inputBytes, budgetNanos, repeats);
+            rows.add(row);
+            if (row.error() != null || row.nanos() > budgetNanos) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * @return the least squares slope of log(y) against log(x), or NaN with fewer than two points
+     */
+    static double exponent(double[] x, double[] y) {
+        if (x.length < 2) {
+            return Double.NaN;
+        }
+
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < x.length; i++) {
+            meanX += Math.log(x[i]) / x.length;
+            meanY += Math.log(y[i]) / x.length;
+        }
+
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < x.length; i++) {
+            final double dx = Math.log(x[i]) - meanX;
+            covariance += dx * (Math.log(y[i]) - meanY);
+            variance += dx * dx;
+        }
+
+        return variance == 0 ? Double.NaN : covariance / variance;
+    }
+
+    static Fit fit(int day, int part, List<Row> rows) {
+        final List<Row> measured = rows.stream().filter((r) -> r.error() == null).toList();
+        final double[] sizes = measured.stream().mapToDouble(Row::size).toArray();
+        final double[] bytes = measured.stream().mapToDouble(Row::inputBytes).toArray();
+        // a run can be quick enough to round to nothing
+        final double[] nanos = measured.stream().mapToDouble((r) -> Math.max(1, r.nanos())).toArray();
+        final double[] allocated = measured.stream().mapToDouble((r) -> Math.max(1, r.allocatedBytes())).toArray();
+
+        return new Fit(day, part, rows, exponent(sizes, nanos), exponent(bytes, nanos), exponent(bytes, allocated));
+    }
+
+    static List<Fit> run(List<Integer> days, long budgetNanos, int repeats) {
+        final List<Fit> fits = new ArrayList<>();
+        for (final int day : days) {
+            final Ladder ladder = LADDERS.get(day - 1);
+            for (int part = 1; part <= (ladder.partTwo() ? 2 : 1); part++) {
+                fits.add(fit(day, part, climb(day, part, ladder.sizes(), budgetNanos, repeats)));
+            }
+        }
+        return fits;
+    }
+
+    static void writeCsv(List<Fit> fits, PrintWriter out) {
+        out.println("day,part,size,input_bytes,nanos,allocated_bytes,peak_heap_bytes,error");
+        for (final Fit fit : fits) {
+            for (final Row r : fit.rows()) {
+                out.println(String.join(",", Solvers.name(r.day()), Integer.toString(r.part()), Integer.toString(r.size()),
+                    Long.toString(r.inputBytes()), Long.toString(r.nanos()), Long.toString(r.allocatedBytes()),
+                    Long.toString(r.peakHeapBytes()), r.error() == null ? "" : "\"" + r.error().replace("\"", "\"\"") + "\""));
+            }
+        }
+    }
+
+    private static String formatExponent(double exponent) {
+        return Double.isNaN(exponent) ? "-" : String.format("%.2f", exponent);
+    }
+
+    static void writeMarkdown(List<Fit> fits, PrintWriter out) {
+        out.println("# Scaling report");
+        out.println();
+        out.println(String.format("Exponents are least squares slopes on a log-log scale. Over %.1f against the input bytes is flagged.", SUPERLINEAR));
+        out.println();
+        out.println("| Day | Part | Sizes | Largest run ms | Time ~ size^k | Time ~ bytes^k | Allocation ~ bytes^k | |");
+        out.println("|---|---|---|---|---|---|---|---|");
+
+        for (final Fit fit : fits) {
+            final List<String> sizes = new ArrayList<>();
+            long largestNanos = 0;
+            String error = "";
+            for (final Row r : fit.rows()) {
+                sizes.add(Integer.toString(r.size()));
+                largestNanos = Math.max(largestNanos, r.nanos());
+                if (r.error() != null) {
+                    error = "fails at " + r.size() + ": " + r.error().replace("|", "\\|");
+                }
+            }
+
+            out.println(String.format("| %s | %d | %s | %.1f | %s | %s | %s | %s |",
+                Solvers.name(fit.day()), fit.part(), String.join(", ", sizes), largestNanos / 1_000_000.0,
+                formatExponent(fit.sizeExponent()), formatExponent(fit.bytesExponent()), formatExponent(fit.allocationExponent()),
+                fit.superlinear() ? "**superlinear** " + error : error));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        final Path outputDirectory = Path.of(args.length > 0 ? args[0] : "target/scaling");
+        final long budgetNanos = (args.length > 1 ? Long.parseLong(args[1]) : 2000L) * 1_000_000L;
+        final int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        final List<Integer> days = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            days.add(Integer.parseInt(args[i]));
+        }
+        if (days.isEmpty()) {
+            for (int day = 1; day <= Solvers.days(); day++) {
+                days.add(day);
+            }
+        }
+
+        final List<Fit> fits = run(days, budgetNanos, repeats);
+
+        Files.createDirectories(outputDirectory);
+        try (final PrintWriter csv = new PrintWriter(Files.newBufferedWriter(outputDirectory.resolve("scaling.csv"), StandardCharsets.UTF_8));
+             final PrintWriter markdown = new PrintWriter(Files.newBufferedWriter(outputDirectory.resolve("scaling.md"), StandardCharsets.UTF_8))) {
+            writeCsv(fits, csv);
+            writeMarkdown(fits, markdown);
+        }
+
+        final PrintWriter out = new PrintWriter(System.out, true);
+        writeMarkdown(fits, out);
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Common entry point for every day, so that all of them can be driven
+ * (and measured) the same way from a single JVM.
+ * <p>
+ * {@link #load(Path)} maps the puzzle input and indexes its lines, without parsing
+ * it; {@link #partOne(Input)} and {@link #partTwo(Input)} parse it into the day's
+ * model and solve each half of the puzzle. Days which have not
+ * been ported to scan the {@link Input} bytes directly fall back to their
+ * {@code List<String>} implementation, getting a fresh list for each part
+ * (some days modify the list they are given).
+ */
+public interface Solver {
+
+    default Input load(Path input) throws IOException {
+        return Input.map(input);
+    }
+
+    Object partOne(List<String> data);
+
+    Object partTwo(List<String> data);
+
+    default Object partOne(Input input) {
+        return partOne(input.lines());
+    }
+
+    default Object partTwo(Input input) {
+        return partTwo(input.lines());
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Sends one request to a running {@link SolverDaemon} and prints the answer and timings.
+ * <p>
+ * Usage: {@code SolverClient <day> <part> [inputPath] [socketPath]}, with the input
+ * defaulting to {@code src/main/resources/DayXX.txt}, or {@code SolverClient shutdown [socketPath]}.
+ */
+public class SolverClient {
+
+    /**
+     * @return the daemon's reply to {@code request}
+     */
+    static String send(Path socket, String request) throws IOException {
+        try (final SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            final PrintWriter out = new PrintWriter(Channels.newOutputStream(channel), true, StandardCharsets.UTF_8);
+            final BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            out.println(request);
+            final String reply = in.readLine();
+            if (reply == null) {
+                throw new RuntimeException("No reply from " + socket);
+            }
+            return reply;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && SolverDaemon.SHUTDOWN.equals(args[0])) {
+            System.out.println(send(args.length > 1 ? Path.of(args[1]) : SolverDaemon.DEFAULT_SOCKET, SolverDaemon.SHUTDOWN));
+            return;
+        }
+
+        if (args.length < 2) {
+            System.err.println("Usage: SolverClient <day> <part> [inputPath] [socketPath]");
+            System.exit(1);
+        }
+
+        final int day = Integer.parseInt(args[0]);
+        // the daemon may be running from another directory
+        final Path input = Path.of(args.length > 2 ? args[2] : "src/main/resources/" + Solvers.name(day) + ".txt").toAbsolutePath();
+        final Path socket = args.length > 3 ? Path.of(args[3]) : SolverDaemon.DEFAULT_SOCKET;
+
+        final String reply = send(socket, day + " " + args[1] + " " + input);
+        if (!reply.startsWith("OK ")) {
+            System.err.println(reply);
+            System.exit(1);
+        }
+
+        final String[] fields = reply.split(" ", 4);
+        System.out.println(fields[3]);
+        System.out.println(String.format("load %.3f ms, solve %.3f ms",
+            Long.parseLong(fields[1]) / 1_000_000.0, Long.parseLong(fields[2]) / 1_000_000.0));
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps one JVM, and one solver per day, running so that repeated solves skip JVM startup
+ * and are served by JIT compiled code.
+ * <p>
+ * Listens on a Unix domain socket (default {@link #DEFAULT_SOCKET}) for lines of the form
+ * {@code <day> <part> <input path>}, answering each with
+ * {@code OK <load nanos> <solve nanos> <answer>} or {@code ERR <message>}. Several requests
+ * can be sent on one connection. {@code shutdown} stops the daemon. Solvers are reentrant,
+ * so connections are served concurrently. {@link SolverClient} is the matching client.
+ * <p>
+ * Usage: {@code SolverDaemon [socketPath]}.
+ */
+public class SolverDaemon {
+
+    public static final Path DEFAULT_SOCKET = Path.of("target", "aoc.sock");
+
+    static final String SHUTDOWN = "shutdown";
+
+    private final Solver[] solvers;
+    private volatile ServerSocketChannel server;
+
+    public SolverDaemon() {
+        this(new Solver[Solvers.days()]);
+        for (int day = 1; day <= Solvers.days(); day++) {
+            this.solvers[day - 1] = Solvers.create(day);
+        }
+    }
+
+    SolverDaemon(Solver[] solvers) {
+        this.solvers = solvers;
+    }
+
+    /**
+     * @return the reply to one request line
+     */
+    String handle(String request) {
+        final String[] parts = request.trim().split(" ", 3);
+        if (parts.length != 3) {
+            return "ERR expected <day> <part> <input path>, got: " + request;
+        }
+
+        try {
+            final int day = Integer.parseInt(parts[0]);
+            final int part = Integer.parseInt(parts[1]);
+            if (day < 1 || day > this.solvers.length) {
+                return "ERR unknown day: " + day;
+            }
+            if (part != 1 && part != 2) {
+                return "ERR unknown part: " + part;
+            }
+
+            final Solver solver = this.solvers[day - 1];
+            final long start = System.nanoTime();
+            final Input input = solver.load(Path.of(parts[2]));
+            final long loaded = System.nanoTime();
+            final Object answer = part == 1 ? solver.partOne(input) : solver.partTwo(input);
+            final long solved = System.nanoTime();
+
+            return "OK " + (loaded - start) + " " + (solved - loaded) + " " + answer;
+        } catch (InternalError | UnknownError e) {
+            // the VM itself is broken, so nothing it replies can be trusted
+            throw e;
+        } catch (Throwable e) {
+            // a StackOverflowError or OutOfMemoryError from one input must not cost the
+            // client its reply, nor the daemon its other connections
+            return "ERR " + e.toString().replace('\n', ' ');
+        }
+    }
+
+    private void converse(SocketChannel channel) {
+        try (channel;
+             final BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+             final PrintWriter out = new PrintWriter(Channels.newOutputStream(channel), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (SHUTDOWN.equals(line.trim())) {
+                    out.println("OK");
+                    stop();
+                    return;
+                }
+                out.println(handle(line));
+            }
+        } catch (IOException e) {
+            // the client went away; nothing to reply to
+        }
+    }
+
+    /**
+     * Serves requests on {@code socket} until a {@code shutdown} request or {@link #stop()}.
+     */
+    public void serve(Path socket) throws IOException {
+        Files.deleteIfExists(socket);
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try (final ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.bind(UnixDomainSocketAddress.of(socket));
+            this.server = channel;
+
+            while (true) {
+                final SocketChannel client;
+                try {
+                    client = channel.accept();
+                } catch (ClosedChannelException e) {
+                    break;
+                }
+                executor.submit(() -> converse(client));
+            }
+        } finally {
+            // interrupting a connection blocked on a read closes it
+            executor.shutdownNow();
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    public void stop() throws IOException {
+        final ServerSocketChannel channel = this.server;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        final Path socket = args.length > 0 ? Path.of(args[0]) : DEFAULT_SOCKET;
+        Files.createDirectories(socket.toAbsolutePath().getParent());
+        System.out.println("Listening on " + socket);
+        new SolverDaemon().serve(socket);
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Runs every day in one JVM, all at once, and prints the wall time and
+ * the bytes allocated by loading the input and by each part. Loading only maps the
+ * file and indexes its lines; the days build their models inside their parts, so that
+ * is counted as part time.
+ * <p>
+ * Days are scheduled on a bounded {@link ForkJoinPool} of platform threads rather
+ * than on virtual threads, as the JDK does not report allocated bytes for virtual
+ * threads. Days which use parallel streams internally (Day05, Day06, Day16) do part
+ * of their allocation on common pool threads, which is not included in their figures.
+ * <p>
+ * Usage: {@code SolverRunner [inputDirectory]}, defaulting to {@code src/main/resources}.
+ * Inputs are expected to be named {@code DayXX.txt}. Run with {@code -Daoc.metrics=table}
+ * (or {@code json}) to also print the solvers' {@link Metrics}. Each phase is also
+ * recorded as a {@link PhaseEvent} when a flight recording is running.
+ * <p>
+ * Answers are looked up in, and saved to, a {@link ResultCache} so unchanged days are
+ * not solved again; cached parts are marked in the table. Run with {@code -Daoc.cache=off}
+ * to solve everything.
+ */
+public class SolverRunner {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    record Measurement(Object answer, long nanos, long allocatedBytes, boolean cached) { }
+
+    record Result(int day, Measurement load, Measurement partOne, Measurement partTwo, String error) { }
+
+    private static <T, R> Measurement measure(int day, String phase, Function<T, R> f, T input) {
+        final PhaseEvent event = PhaseEvent.begin(Solvers.name(day), phase);
+        final long allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        final R answer = f.apply(input);
+        final long nanos = System.nanoTime() - start;
+        final long allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        event.commit();
+        return new Measurement(answer, nanos, allocated, false);
+    }
+
+    // a null cache, or a miss, solves the part; only a miss saves the answer
+    private static Measurement measurePart(ResultCache cache, Solver solver, int day, int part, Input data) {
+        final String phase = part == 1 ? "partOne" : "partTwo";
+        final Function<Input, Object> f = part == 1 ? solver::partOne : solver::partTwo;
+        if (cache == null) {
+            return measure(day, phase, f, data);
+        }
+
+        final long start = System.nanoTime();
+        final String key = ResultCache.key(solver, part, data);
+        final Object cached = cache.get(key);
+        if (cached != null) {
+            return new Measurement(cached, System.nanoTime() - start, 0, true);
+        }
+
+        final Measurement m = measure(day, phase, f, data);
+        cache.put(key, m.answer());
+        return m;
+    }
+
+    static Result run(int day, Path input) {
+        return run(day, input, null);
+    }
+
+    static Result run(int day, Path input, ResultCache cache) {
+        if (!Files.exists(input)) {
+            return new Result(day, null, null, null, "input not found: " + input);
+        }
+
+        final Solver solver = Solvers.create(day);
+        try {
+            final Measurement load = measure(day, "load", (path) -> {
+                try {
+                    return solver.load(path);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }, input);
+
+            final Input data = (Input) load.answer();
+            final Measurement partOne = measurePart(cache, solver, day, 1, data);
+            final Measurement partTwo = measurePart(cache, solver, day, 2, data);
+
+            return new Result(day, load, partOne, partTwo, null);
+        } catch (RuntimeException e) {
+            return new Result(day, null, null, null, e.toString());
+        }
+    }
+
+    static List<Result> runAll(Path inputDirectory, int parallelism) {
+        return runAll(inputDirectory, parallelism, null);
+    }
+
+    static List<Result> runAll(Path inputDirectory, int parallelism, ResultCache cache) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final List<ForkJoinTask<Result>> tasks = new ArrayList<>();
+            for (int day = 1; day <= Solvers.days(); day++) {
+                final int d = day;
+                final Path input = inputDirectory.resolve(Solvers.name(d) + ".txt");
+                tasks.add(pool.submit(() -> run(d, input, cache)));
+            }
+
+            return tasks.stream().map(ForkJoinTask::join).toList();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String formatAnswer(Measurement m) {
+        return m.answer() == null ? "-" : m.answer().toString();
+    }
+
+    private static String formatPhase(Measurement m) {
+        if (m.cached()) {
+            return String.format("%10.3f ms %13s", m.nanos() / 1_000_000.0, "(cached)");
+        }
+        return String.format("%10.3f ms %10.2f MB", m.nanos() / 1_000_000.0, m.allocatedBytes() / (1024.0 * 1024.0));
+    }
+
+    static void print(List<Result> results, long totalNanos) {
+        System.out.println(String.format("%-6s | %-26s | %-26s | %-26s | %-20s | %-20s",
+            "Day", "Load", "Part 1", "Part 2", "Answer 1", "Answer 2"));
+
+        for (final Result r : results) {
+            if (r.error() != null) {
+                System.out.println(String.format("%-6s | %s", Solvers.name(r.day()), r.error()));
+                continue;
+            }
+
+            System.out.println(String.format("%-6s | %s | %s | %s | %-20s | %-20s",
+                Solvers.name(r.day()),
+                formatPhase(r.load()), formatPhase(r.partOne()), formatPhase(r.partTwo()),
+                formatAnswer(r.partOne()), formatAnswer(r.partTwo())));
+        }
+
+        System.out.println(String.format("Total wall time: %.3f ms", totalNanos / 1_000_000.0));
+    }
+
+    public static void main(String[] args) {
+        final Path inputDirectory = Path.of(args.length > 0 ? args[0] : "src/main/resources");
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+
+        final ResultCache cache = ResultCache.fromSystemProperties();
+
+        final long start = System.nanoTime();
+        final List<Result> results = runAll(inputDirectory, parallelism, cache);
+        print(results, System.nanoTime() - start);
+
+        if (Metrics.ENABLED) {
+            System.out.println();
+            System.out.println("json".equals(System.getProperty(Metrics.PROPERTY)) ? Metrics.json() : Metrics.table());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Registry of every day's {@link Solver}, indexed by day number (1 to 25).
+ */
+public final class Solvers {
+
+    private static final List<Supplier<Solver>> SOLVERS =
+        List.of(
+            Day01::new, Day02::new, Day03::new, Day04::new, Day05::new,
+            Day06::new, Day07::new, Day08::new, Day09::new, Day10::new,
+            Day11::new, Day12::new, Day13::new, Day14::new, Day15::new,
+            Day16::new, Day17::new, Day18::new, Day19::new, Day20::new,
+            Day21::new, Day22::new, Day23::new, Day24::new, Day25::new
+        );
+
+    private Solvers() { }
+
+    public static int days() {
+        return SOLVERS.size();
+    }
+
+    public static Solver create(int day) {
+        if (day < 1 || day > SOLVERS.size()) {
+            throw new RuntimeException("Unknown day: " + day);
+        }
+
+        return SOLVERS.get(day - 1).get();
+    }
+
+    public static String name(int day) {
+        return String.format("Day%02d", day);
+    }
+}
@@ -0,0 +1,268 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Solves the parts which treat each line on its own (Day01, Day02, Day04 part 1, Day09
+ * and Day12) from a stream, without holding the whole input.
+ * <p>
+ * Bytes are read into a fixed size block. The complete lines in it are solved as one
+ * {@link Input}, with the day's usual code, and the partial line left over is carried
+ * into the next block; the answer is the sum over every block. Memory is bounded by the
+ * block size, which only grows if a single line does not fit.
+ * <p>
+ * The parallel variant splits a file into newline aligned byte ranges and streams each
+ * range on the common pool, adding up the ranges' sums.
+ * <p>
+ * Usage: {@code StreamingSolvers <day> <part> <inputPath> [chunks]}, reading the file
+ * as a single stream when {@code chunks} is not given.
+ */
+public final class StreamingSolvers {
+
+    static final int BLOCK_SIZE = 1 << 16;
+
+    private record Part(int day, int part) { }
+
+    private static final Map<Part, ToLongFunction<Input>> PARTS =
+        Map.of(
+            new Part(1, 1), (block) -> new Day01().sumOfAllCalibrationValues(block),
+            new Part(1, 2), (block) -> new Day01().sumOfAllRevisedCalibrationValues(block),
+            new Part(2, 1), (block) -> new Day02().sumCandidateGameIds(block),
+            new Part(2, 2), (block) -> new Day02().sumMaxCubesPerGame(block),
+            new Part(4, 1), (block) -> new Day04().calculatePoints(block),
+            new Part(9, 1), (block) -> new Day09().calculateSumOfExrapolatedValues(block.lines(), true),
+            new Part(9, 2), (block) -> new Day09().calculateSumOfExrapolatedValues(block.lines(), false),
+            new Part(12, 1), (block) -> new Day12().sumAllValidArrangements(block.lines()),
+            new Part(12, 2), (block) -> new Day12().sumAllValidArrangementsUnfolded(block.lines())
+        );
+
+    private StreamingSolvers() { }
+
+    public static boolean supports(int day, int part) {
+        return PARTS.containsKey(new Part(day, part));
+    }
+
+    static ToLongFunction<Input> lineSum(int day, int part) {
+        final ToLongFunction<Input> f = PARTS.get(new Part(day, part));
+        if (f == null) {
+            throw new RuntimeException("Part " + part + " of " + Solvers.name(day) + " cannot be streamed");
+        }
+        return f;
+    }
+
+    public static long solve(int day, int part, InputStream in) throws IOException {
+        return solve(day, part, Channels.newChannel(in));
+    }
+
+    public static long solve(int day, int part, ReadableByteChannel channel) throws IOException {
+        return sum(channel, lineSum(day, part), BLOCK_SIZE);
+    }
+
+    /**
+     * Solves {@code file} as {@code chunks} newline aligned ranges, streamed in parallel
+     */
+    public static long solveParallel(int day, int part, Path file, int chunks) throws IOException {
+        final ToLongFunction<Input> f = lineSum(day, part);
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long[] bounds = chunkBounds(channel, chunks);
+            try {
+                return IntStream.range(0, chunks).parallel().mapToLong((i) -> {
+                    try {
+                        return sum(new RangeChannel(channel, bounds[i], bounds[i + 1]), f, BLOCK_SIZE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).sum();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    static long sum(ReadableByteChannel channel, ToLongFunction<Input> f, int blockSize) throws IOException {
+        final LineSum lineSum = new LineSum(f, blockSize);
+        lineSum.read(channel);
+        return lineSum.finish();
+    }
+
+    /**
+     * Running sum of a part over the complete lines read so far. A trailing partial line is
+     * carried over to the next read, or solved by {@link #finish()}.
+     */
+    static final class LineSum {
+
+        private final ToLongFunction<Input> f;
+        private final int blockSize;
+        private ByteBuffer buffer;
+        private long sum;
+
+        LineSum(ToLongFunction<Input> f, int blockSize) {
+            this.f = f;
+            this.blockSize = blockSize;
+            this.buffer = ByteBuffer.allocate(blockSize);
+        }
+
+        /**
+         * Reads {@code channel} to its end, adding every line completed by it to the sum
+         */
+        void read(ReadableByteChannel channel) throws IOException {
+            while (channel.read(this.buffer) >= 0) {
+                final int end = lastLineEnd(this.buffer);
+                if (end == 0) {
+                    // a line longer than the block
+                    if (!this.buffer.hasRemaining()) {
+                        this.buffer = ByteBuffer.allocate(this.buffer.capacity() * 2).put(this.buffer.flip());
+                    }
+                    continue;
+                }
+
+                this.sum += this.f.applyAsLong(Input.wrap(ByteBuffer.wrap(this.buffer.array(), 0, end)));
+                this.buffer.flip().position(end);
+                this.buffer.compact();
+            }
+        }
+
+        /**
+         * @return the sum, including the final line when it has no terminator
+         */
+        long finish() {
+            if (this.buffer.position() > 0) {
+                this.sum += this.f.applyAsLong(Input.wrap(ByteBuffer.wrap(this.buffer.array(), 0, this.buffer.position())));
+                this.buffer.clear();
+            }
+            return this.sum;
+        }
+
+        long sum() {
+            return this.sum;
+        }
+
+        void reset() {
+            this.buffer = ByteBuffer.allocate(this.blockSize);
+            this.sum = 0;
+        }
+    }
+
+    // the index just past the last '\n' read into buffer, or 0 if there is none
+    private static int lastLineEnd(ByteBuffer buffer) {
+        final byte[] bytes = buffer.array();
+        for (int i = buffer.position() - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    // chunk i is [bounds[i], bounds[i + 1]); every bound but the last starts a line
+    static long[] chunkBounds(FileChannel channel, int chunks) throws IOException {
+        final long size = channel.size();
+        final long[] bounds = new long[chunks + 1];
+        bounds[chunks] = size;
+
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        for (int i = 1; i < chunks; i++) {
+            long position = Math.max(size * i / chunks, bounds[i - 1]);
+            if (position > 0 && position < size) {
+                // move to the start of the next line, unless already at one
+                position = nextLineStart(channel, position - 1, buffer);
+            }
+            bounds[i] = Math.min(position, size);
+        }
+
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, ByteBuffer buffer) throws IOException {
+        long position = from;
+        while (true) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    // reads [position, end) of a file with positional reads, so ranges can be read concurrently
+    static final class RangeChannel implements ReadableByteChannel {
+
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeChannel(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (this.position >= this.end) {
+                return -1;
+            }
+
+            final int limit = dst.limit();
+            dst.limit(dst.position() + (int) Math.min(dst.remaining(), this.end - this.position));
+            try {
+                final int read = this.channel.read(dst, this.position);
+                if (read > 0) {
+                    this.position += read;
+                }
+                return read;
+            } finally {
+                dst.limit(limit);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.channel.isOpen();
+        }
+
+        @Override
+        public void close() { }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: StreamingSolvers <day> <part> <inputPath> [chunks]");
+            System.exit(1);
+        }
+
+        final int day = Integer.parseInt(args[0]);
+        final int part = Integer.parseInt(args[1]);
+        final Path input = Path.of(args[2]);
+
+        final long start = System.nanoTime();
+        final long answer;
+        if (args.length > 3) {
+            answer = solveParallel(day, part, input, Integer.parseInt(args[3]));
+        } else {
+            try (final FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+                answer = solve(day, part, channel);
+            }
+        }
+
+        System.out.println(answer);
+        System.out.println(String.format("%.3f ms", (System.nanoTime() - start) / 1_000_000.0));
+    }
+}
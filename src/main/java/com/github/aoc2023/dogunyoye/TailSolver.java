@@ -0,0 +1,145 @@
+package com.github.aoc2023.dogunyoye;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a day's answers up to date as lines are appended to its input, e.g. Day01
+ * calibration documents, Day02 game records or Day09 histories.
+ * <p>
+ * Only the bytes past the last position read are solved, with the same blocks as
+ * {@link StreamingSolvers}, and added to the running totals, so each update costs the
+ * appended bytes rather than the whole file. A line counts once its terminator has been
+ * written. If the file shrinks it is taken to have been replaced, and is read again from
+ * the start.
+ * <p>
+ * Usage: {@code TailSolver <day> <inputPath>}, printing the totals after every change.
+ */
+public class TailSolver {
+
+    private final int day;
+    private final Path file;
+    private final StreamingSolvers.LineSum[] parts = new StreamingSolvers.LineSum[2];
+    private long position;
+
+    public TailSolver(int day, Path file) {
+        this.day = day;
+        this.file = file;
+
+        for (int part = 1; part <= 2; part++) {
+            if (StreamingSolvers.supports(day, part)) {
+                this.parts[part - 1] = new StreamingSolvers.LineSum(StreamingSolvers.lineSum(day, part), StreamingSolvers.BLOCK_SIZE);
+            }
+        }
+
+        if (this.parts[0] == null && this.parts[1] == null) {
+            throw new RuntimeException(Solvers.name(day) + " cannot be tailed");
+        }
+    }
+
+    /**
+     * Solves whatever has been appended since the last update
+     *
+     * @return true if there were new bytes
+     */
+    public boolean update() throws IOException {
+        if (!Files.exists(this.file)) {
+            return false;
+        }
+
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < this.position) {
+                this.position = 0;
+                for (final StreamingSolvers.LineSum part : this.parts) {
+                    if (part != null) {
+                        part.reset();
+                    }
+                }
+            }
+
+            if (size == this.position) {
+                return false;
+            }
+
+            for (final StreamingSolvers.LineSum part : this.parts) {
+                if (part != null) {
+                    part.read(new StreamingSolvers.RangeChannel(channel, this.position, size));
+                }
+            }
+            this.position = size;
+            return true;
+        }
+    }
+
+    /**
+     * @return the running total for {@code part}, over every complete line read so far
+     */
+    public long total(int part) {
+        final StreamingSolvers.LineSum lineSum = this.parts[part - 1];
+        if (lineSum == null) {
+            throw new RuntimeException("Part " + part + " of " + Solvers.name(this.day) + " cannot be tailed");
+        }
+        return lineSum.sum();
+    }
+
+    public boolean supports(int part) {
+        return this.parts[part - 1] != null;
+    }
+
+    public long position() {
+        return this.position;
+    }
+
+    /**
+     * Updates once, then again every time the file changes, calling {@code onUpdate} each
+     * time there was something new. Runs until the thread is interrupted.
+     */
+    public void watch(Consumer<TailSolver> onUpdate) throws IOException, InterruptedException {
+        final Path directory = this.file.toAbsolutePath().getParent();
+        try (final WatchService watcher = directory.getFileSystem().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            if (update()) {
+                onUpdate.accept(this);
+            }
+
+            while (true) {
+                final WatchKey key = watcher.take();
+                boolean changed = false;
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    // an overflow may have dropped events for the file
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || this.file.getFileName().equals(event.context());
+                }
+
+                if (changed && update()) {
+                    onUpdate.accept(this);
+                }
+
+                if (!key.reset()) {
+                    throw new RuntimeException("No longer watching " + directory);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: TailSolver <day> <inputPath>");
+            System.exit(1);
+        }
+
+        final TailSolver tail = new TailSolver(Integer.parseInt(args[0]), Path.of(args[1]));
+        tail.watch((t) -> System.out.println(String.format("%s at byte %d: part 1 %s, part 2 %s",
+            Solvers.name(t.day), t.position(),
+            t.supports(1) ? t.total(1) : "-",
+            t.supports(2) ? t.total(2) : "-")));
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.aoc2023.dogunyoye;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A full register of bytes at a time, see {@link ByteKernels}. Each loop handles whole
+ * vectors, then finishes the last few bytes one at a time. Only loaded when the
+ * {@code jdk.incubator.vector} module has been added.
+ */
+final class VectorByteKernels implements ByteKernels {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public int count(byte[] a, int from, int length, byte value) {
+        int count = 0;
+        int k = 0;
+        for (; k < SPECIES.loopBound(length); k += SPECIES.length()) {
+            count += ByteVector.fromArray(SPECIES, a, from + k).eq(value).trueCount();
+        }
+        for (; k < length; k++) {
+            if (a[from + k] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void markDiffering(byte[] a, int from, int length, byte value, byte[] marks) {
+        int k = 0;
+        for (; k < SPECIES.loopBound(length); k += SPECIES.length()) {
+            final VectorMask<Byte> differs = ByteVector.fromArray(SPECIES, a, from + k).compare(VectorOperators.NE, value);
+            ByteVector.fromArray(SPECIES, marks, k).blend((byte) 1, differs).intoArray(marks, k);
+        }
+        for (; k < length; k++) {
+            if (a[from + k] != value) {
+                marks[k] = 1;
+            }
+        }
+    }
+
+    @Override
+    public int indexOfSymbol(byte[] a, int from, int to) {
+        int i = from;
+        for (; i < from + SPECIES.loopBound(to - from); i += SPECIES.length()) {
+            final ByteVector v = ByteVector.fromArray(SPECIES, a, i);
+            final VectorMask<Byte> symbols = v.compare(VectorOperators.NE, (byte) '.')
+                .and(v.compare(VectorOperators.LT, (byte) '0').or(v.compare(VectorOperators.GT, (byte) '9')));
+            if (symbols.anyTrue()) {
+                return i + symbols.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            final byte c = a[i];
+            if (c != '.' && (c < '0' || c > '9')) {
+                return i;
+            }
+        }
+        return to;
+    }
+}
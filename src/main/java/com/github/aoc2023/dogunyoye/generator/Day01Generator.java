@@ -0,0 +1,50 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Calibration document. {@code size} is the number of lines.
+ * <p>
+ * Every line holds at least one digit (so part 1 has a value for it) and usually
+ * a few spelled out digits as well, some of them overlapping like "eightwo".
+ */
+public class Day01Generator implements InputGenerator {
+
+    private static final String[] WORDS = {"one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int tokens = 2 + random.nextInt(8);
+            final int digitAt = random.nextInt(tokens);
+
+            for (int t = 0; t < tokens; t++) {
+                if (t == digitAt) {
+                    sb.append((char) ('1' + random.nextInt(9)));
+                    continue;
+                }
+
+                switch (random.nextInt(4)) {
+                    case 0:
+                        sb.append(WORDS[random.nextInt(WORDS.length)]);
+                        break;
+                    case 1:
+                        sb.append((char) ('1' + random.nextInt(9)));
+                        break;
+                    default:
+                        for (int c = random.nextInt(5); c >= 0; c--) {
+                            sb.append((char) ('a' + random.nextInt(26)));
+                        }
+                }
+            }
+
+            lines.add(sb.toString());
+        }
+
+        return lines;
+    }
+}
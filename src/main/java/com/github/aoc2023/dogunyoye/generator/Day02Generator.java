@@ -0,0 +1,44 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Cube games. {@code size} is the number of games.
+ */
+public class Day02Generator implements InputGenerator {
+
+    private static final List<String> COLOURS = List.of("red", "green", "blue");
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+        final List<String> colours = new ArrayList<>(COLOURS);
+
+        for (int i = 1; i <= size; i++) {
+            final StringBuilder sb = new StringBuilder("Game ").append(i).append(": ");
+            final int rounds = 1 + random.nextInt(6);
+
+            for (int r = 0; r < rounds; r++) {
+                if (r > 0) {
+                    sb.append("; ");
+                }
+
+                Collections.shuffle(colours, random);
+                final int shown = 1 + random.nextInt(3);
+                for (int c = 0; c < shown; c++) {
+                    if (c > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(1 + random.nextInt(20)).append(' ').append(colours.get(c));
+                }
+            }
+
+            lines.add(sb.toString());
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Engine schematic. {@code size} is the side of the square schematic.
+ */
+public class Day03Generator implements InputGenerator {
+
+    private static final String SYMBOLS = "*#+$/@=%&-";
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final char[][] schematic = new char[size][size];
+
+        for (int i = 0; i < size; i++) {
+            int j = 0;
+            while (j < size) {
+                // a number of 1 to 3 digits, always followed by at least one '.'
+                if (random.nextInt(6) == 0) {
+                    final int digits = Math.min(1 + random.nextInt(3), size - j);
+                    for (int d = 0; d < digits; d++) {
+                        schematic[i][j++] = (char) ((d == 0 ? '1' + random.nextInt(9) : '0' + random.nextInt(10)));
+                    }
+                }
+
+                if (j < size) {
+                    schematic[i][j++] = '.';
+                }
+            }
+        }
+
+        final int symbols = Math.max(1, (size * size) / 12);
+        for (int s = 0; s < symbols; s++) {
+            final int i = random.nextInt(size);
+            final int j = random.nextInt(size);
+            if (schematic[i][j] == '.') {
+                schematic[i][j] = SYMBOLS.charAt(random.nextInt(SYMBOLS.length()));
+            }
+        }
+
+        final List<String> lines = new ArrayList<>(size);
+        for (final char[] row : schematic) {
+            lines.add(new String(row));
+        }
+        return lines;
+    }
+}
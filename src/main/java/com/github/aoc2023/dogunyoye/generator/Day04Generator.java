@@ -0,0 +1,52 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Scratchcards. {@code size} is the number of cards.
+ * <p>
+ * Like the real input, no card wins copies past the end of its block of ten,
+ * which keeps the part 2 card count from growing exponentially with the size.
+ */
+public class Day04Generator implements InputGenerator {
+
+    private static final int WINNING = 10;
+    private static final int MINE = 25;
+    private static final int BLOCK = 10;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+        final List<Integer> numbers = new ArrayList<>();
+        for (int n = 1; n < 100; n++) {
+            numbers.add(n);
+        }
+
+        for (int i = 0; i < size; i++) {
+            final int maxMatches = Math.min(Math.min(4, BLOCK - 1 - (i % BLOCK)), size - 1 - i);
+            final int matches = random.nextInt(maxMatches + 1);
+
+            Collections.shuffle(numbers, random);
+            final List<Integer> winning = numbers.subList(0, WINNING);
+            final List<Integer> mine = new ArrayList<>(winning.subList(0, matches));
+            mine.addAll(numbers.subList(WINNING, WINNING + MINE - matches));
+            Collections.shuffle(mine, random);
+
+            final StringBuilder sb = new StringBuilder(String.format("Card %4d:", i + 1));
+            for (final int n : winning) {
+                sb.append(String.format(" %2d", n));
+            }
+            sb.append(" |");
+            for (final int n : mine) {
+                sb.append(String.format(" %2d", n));
+            }
+
+            lines.add(sb.toString());
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Almanac. {@code size} is the number of ranges in each of the seven maps.
+ * <p>
+ * Each map's source ranges and destination ranges are both non-overlapping within
+ * [0, 2^32), laid out in independently shuffled orders with random gaps.
+ */
+public class Day05Generator implements InputGenerator {
+
+    private static final String[] MAPS = {
+        "seed-to-soil", "soil-to-fertilizer", "fertilizer-to-water", "water-to-light",
+        "light-to-temperature", "temperature-to-humidity", "humidity-to-location"
+    };
+
+    private static final long SPAN = 1L << 32;
+    private static final int SEED_RANGES = 10;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>();
+
+        final StringBuilder seeds = new StringBuilder("seeds:");
+        for (int s = 0; s < SEED_RANGES; s++) {
+            final long length = 1 + nextLong(random, SPAN / 16);
+            final long start = nextLong(random, SPAN - length);
+            seeds.append(' ').append(start).append(' ').append(length);
+        }
+        lines.add(seeds.toString());
+
+        for (final String map : MAPS) {
+            lines.add("");
+            lines.add(map + " map:");
+
+            final long[] lengths = new long[size];
+            long total = 0;
+            for (int r = 0; r < size; r++) {
+                lengths[r] = 1 + nextLong(random, SPAN / (2L * size));
+                total += lengths[r];
+            }
+
+            final long[] sources = layout(random, lengths, total);
+            final long[] destinations = layout(random, lengths, total);
+            for (int r = 0; r < size; r++) {
+                lines.add(destinations[r] + " " + sources[r] + " " + lengths[r]);
+            }
+        }
+
+        return lines;
+    }
+
+    // starts for ranges of the given lengths, placed in a random order with gaps, all within SPAN
+    private static long[] layout(Random random, long[] lengths, long total) {
+        final List<Integer> order = new ArrayList<>();
+        for (int r = 0; r < lengths.length; r++) {
+            order.add(r);
+        }
+        Collections.shuffle(order, random);
+
+        final long maxGap = (SPAN - total) / (lengths.length + 1);
+        final long[] starts = new long[lengths.length];
+        long position = 0;
+        for (final int r : order) {
+            position += nextLong(random, maxGap + 1);
+            starts[r] = position;
+            position += lengths[r];
+        }
+
+        return starts;
+    }
+
+    private static long nextLong(Random random, long bound) {
+        return (random.nextLong() >>> 1) % bound;
+    }
+}
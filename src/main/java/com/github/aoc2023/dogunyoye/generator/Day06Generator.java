@@ -0,0 +1,63 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boat races. {@code size} is roughly the time of the single long race in part 2,
+ * which is what the brute force solutions scale with.
+ * <p>
+ * The digits of that time are split across up to four short races. Every race has
+ * at least one way to win, and the concatenated part 2 record stays below the
+ * best possible distance, so part 2 has winning ways too. Sizes are clamped to
+ * [1000, 99999999999] so the concatenated record still fits in a long.
+ */
+public class Day06Generator implements InputGenerator {
+
+    private static final int RACES = 4;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final long target = Math.max(1_000L, Math.min(99_999_999_999L, size));
+        final int digits = Long.toString(target).length();
+        final int races = Math.min(RACES, digits);
+
+        // share the digits out, every race getting at least one
+        final int[] raceDigits = new int[races];
+        for (int d = 0; d < digits; d++) {
+            raceDigits[d < races ? d : random.nextInt(races)]++;
+        }
+
+        final StringBuilder times = new StringBuilder("Time:     ");
+        final StringBuilder distances = new StringBuilder("Distance: ");
+
+        for (final int m : raceDigits) {
+            // a leading digit of at least 3 leaves room for a record with 2m - 1 digits
+            final long low = 3 * pow10(m - 1);
+            final long time = low + (long) (random.nextDouble() * (pow10(m) - low));
+            final long best = (time / 2) * (time - (time / 2));
+
+            final long recordLow = m == 1 ? 1 : pow10((2 * m) - 2);
+            final long recordHigh = Math.min(pow10((2 * m) - 1), best);
+            final long record = recordLow + (long) (random.nextDouble() * (recordHigh - recordLow));
+
+            final int width = Math.max(Long.toString(time).length(), Long.toString(record).length()) + 2;
+            times.append(String.format("%" + width + "d", time));
+            distances.append(String.format("%" + width + "d", record));
+        }
+
+        final List<String> lines = new ArrayList<>();
+        lines.add(times.toString());
+        lines.add(distances.toString());
+        return lines;
+    }
+
+    private static long pow10(int n) {
+        long result = 1;
+        for (int i = 0; i < n; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
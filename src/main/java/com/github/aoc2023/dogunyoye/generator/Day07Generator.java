@@ -0,0 +1,41 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Camel cards hands. {@code size} is the number of hands.
+ * <p>
+ * Hands are distinct, as in the real input, for as long as there are enough
+ * distinct hands (13^5) to go round.
+ */
+public class Day07Generator implements InputGenerator {
+
+    private static final String CARDS = "23456789TJQKA";
+    private static final int DISTINCT_HANDS = 371_293;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+        final Set<String> seen = new HashSet<>();
+        final char[] hand = new char[5];
+
+        while (lines.size() < size) {
+            for (int c = 0; c < hand.length; c++) {
+                hand[c] = CARDS.charAt(random.nextInt(CARDS.length()));
+            }
+
+            final String h = new String(hand);
+            if (size <= DISTINCT_HANDS && !seen.add(h)) {
+                continue;
+            }
+
+            lines.add(h + " " + (1 + random.nextInt(1000)));
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Haunted wasteland network. {@code size} is roughly the number of nodes.
+ * <p>
+ * Shaped like the real input, so the LCM shortcut in part 2 is exact: each ghost
+ * walks a chain of distinct nodes from its "..A" start, reaching its "..Z" end after
+ * a prime multiple of the instruction length. From the end, the next instruction
+ * leads back to the node after the start. The first ghost goes from AAA to ZZZ.
+ * The direction not taken from each node points somewhere else on the same chain.
+ */
+public class Day08Generator implements InputGenerator {
+
+    private static final int[] CYCLES = {3, 5, 7, 11, 13, 17};
+
+    private record Node(String name, String left, String right) { }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        int cycleSum = 0;
+        for (final int c : CYCLES) {
+            cycleSum += c;
+        }
+        final int length = Math.max(1, size / cycleSum);
+
+        final StringBuilder instructions = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            instructions.append(random.nextBoolean() ? 'L' : 'R');
+        }
+
+        final Set<String> used = new HashSet<>(List.of("AAA", "ZZZ"));
+        final int width = nameWidth(size + (2 * CYCLES.length));
+        final List<Node> nodes = new ArrayList<>();
+
+        for (int g = 0; g < CYCLES.length; g++) {
+            final int steps = CYCLES[g] * length;
+            final String[] chain = new String[steps + 1];
+
+            chain[0] = g == 0 ? "AAA" : name(random, width, 'A', used);
+            chain[steps] = g == 0 ? "ZZZ" : name(random, width, 'Z', used);
+            for (int s = 1; s < steps; s++) {
+                chain[s] = name(random, width, (char) ('B' + random.nextInt(24)), used);
+            }
+
+            for (int s = 0; s <= steps; s++) {
+                final String next = s == steps ? chain[1] : chain[s + 1];
+                final String other = chain[1 + random.nextInt(steps)];
+                final boolean left = instructions.charAt(s % length) == 'L';
+                nodes.add(new Node(chain[s], left ? next : other, left ? other : next));
+            }
+        }
+
+        Collections.shuffle(nodes, random);
+
+        final List<String> lines = new ArrayList<>(nodes.size() + 2);
+        lines.add(instructions.toString());
+        lines.add("");
+        for (final Node n : nodes) {
+            lines.add(n.name() + " = (" + n.left() + ", " + n.right() + ")");
+        }
+        return lines;
+    }
+
+    private static int nameWidth(int count) {
+        int width = 3;
+        while (Math.pow(26, width - 1) * 24 < 4.0 * count) {
+            ++width;
+        }
+        return width;
+    }
+
+    private static String name(Random random, int width, char last, Set<String> used) {
+        final char[] name = new char[width];
+        name[width - 1] = last;
+        while (true) {
+            for (int i = 0; i < width - 1; i++) {
+                name[i] = (char) ('A' + random.nextInt(26));
+            }
+            final String candidate = new String(name);
+            if (used.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
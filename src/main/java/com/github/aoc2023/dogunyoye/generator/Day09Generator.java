@@ -0,0 +1,48 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * OASIS report. {@code size} is the number of histories.
+ * <p>
+ * Each history is 21 values of a random integer polynomial of degree at most 5,
+ * so the difference pyramid always bottoms out in zeroes.
+ */
+public class Day09Generator implements InputGenerator {
+
+    private static final int VALUES = 21;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            final int degree = random.nextInt(6);
+            final int[] coefficients = new int[degree + 1];
+            for (int c = 0; c <= degree; c++) {
+                // keep the higher terms small, so values stay well inside an int
+                final int bound = c < 2 ? 20 : 3;
+                coefficients[c] = random.nextInt((2 * bound) + 1) - bound;
+            }
+
+            final StringBuilder sb = new StringBuilder();
+            for (int x = 0; x < VALUES; x++) {
+                long value = 0;
+                for (int c = degree; c >= 0; c--) {
+                    value = (value * x) + coefficients[c];
+                }
+
+                if (x > 0) {
+                    sb.append(' ');
+                }
+                sb.append(value);
+            }
+
+            lines.add(sb.toString());
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Pipe maze. {@code size} is the side of the square map.
+ * <p>
+ * The loop is the outline of a random skyline (a bottom band with towers of random
+ * heights on top), drawn three cells per block so no two parts of the outline ever
+ * touch. Tiles off the loop are filled with junk pipe, apart from the tiles around
+ * S, so that S connects to exactly its two loop neighbours.
+ */
+public class Day10Generator implements InputGenerator {
+
+    private static final int SCALE = 3;
+    private static final String JUNK = "|-LJ7F...";
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        if (size < SCALE) {
+            throw new RuntimeException("Day 10 maps need a side of at least " + SCALE);
+        }
+
+        final int blocks = size / SCALE;
+        final boolean[][] region = new boolean[size][size];
+
+        // the skyline, one tower per block column standing on the bottom block row
+        for (int bj = 0; bj < blocks; bj++) {
+            final int height = 1 + random.nextInt(blocks);
+            for (int bi = blocks - height; bi < blocks; bi++) {
+                for (int i = bi * SCALE; i < (bi + 1) * SCALE; i++) {
+                    for (int j = bj * SCALE; j < (bj + 1) * SCALE; j++) {
+                        region[i][j] = true;
+                    }
+                }
+            }
+        }
+
+        final char[][] map = new char[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                map[i][j] = JUNK.charAt(random.nextInt(JUNK.length()));
+            }
+        }
+
+        // the loop is every region cell with a (diagonal) neighbour outside the region
+        final boolean[][] loop = new boolean[size][size];
+        int loopI = -1;
+        int loopJ = -1;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (region[i][j] && touchesOutside(region, i, j)) {
+                    loop[i][j] = true;
+                    loopI = i;
+                    loopJ = j;
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (loop[i][j]) {
+                    map[i][j] = pipe(loop, i, j);
+                }
+            }
+        }
+
+        // the last loop cell found sits on the bottom row, so S goes there
+        map[loopI][loopJ] = 'S';
+        final int[][] around = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}};
+        for (final int[] d : around) {
+            final int i = loopI + d[0];
+            final int j = loopJ + d[1];
+            if (inBounds(size, i, j) && !loop[i][j]) {
+                map[i][j] = '.';
+            }
+        }
+
+        final List<String> lines = new ArrayList<>(size);
+        for (final char[] row : map) {
+            lines.add(new String(row));
+        }
+        return lines;
+    }
+
+    private static boolean inBounds(int size, int i, int j) {
+        return i >= 0 && i < size && j >= 0 && j < size;
+    }
+
+    private static boolean touchesOutside(boolean[][] region, int i, int j) {
+        for (int di = -1; di <= 1; di++) {
+            for (int dj = -1; dj <= 1; dj++) {
+                final int ii = i + di;
+                final int jj = j + dj;
+                if (!inBounds(region.length, ii, jj) || !region[ii][jj]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static char pipe(boolean[][] loop, int i, int j) {
+        final int size = loop.length;
+        final boolean north = inBounds(size, i - 1, j) && loop[i - 1][j];
+        final boolean east = inBounds(size, i, j + 1) && loop[i][j + 1];
+        final boolean south = inBounds(size, i + 1, j) && loop[i + 1][j];
+        final boolean west = inBounds(size, i, j - 1) && loop[i][j - 1];
+
+        if (north && south && !east && !west) {
+            return '|';
+        }
+        if (east && west && !north && !south) {
+            return '-';
+        }
+        if (north && east && !south && !west) {
+            return 'L';
+        }
+        if (north && west && !south && !east) {
+            return 'J';
+        }
+        if (south && west && !north && !east) {
+            return '7';
+        }
+        if (south && east && !north && !west) {
+            return 'F';
+        }
+
+        throw new RuntimeException("Loop cell (" + i + ", " + j + ") does not have exactly two loop neighbours");
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Galaxy image. {@code size} is the side of the square image.
+ * <p>
+ * About one row and column in ten is left empty so there is always something to
+ * expand, and the remaining cells hold a galaxy with a 2% chance.
+ */
+public class Day11Generator implements InputGenerator {
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final boolean[] emptyRows = new boolean[size];
+        final boolean[] emptyColumns = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            emptyRows[i] = random.nextInt(10) == 0;
+            emptyColumns[i] = random.nextInt(10) == 0;
+        }
+
+        final List<String> lines = new ArrayList<>(size);
+        final char[] row = new char[size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                final boolean galaxy = !emptyRows[i] && !emptyColumns[j] && random.nextInt(50) == 0;
+                row[j] = galaxy ? '#' : '.';
+            }
+            lines.add(new String(row));
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Spring condition records. {@code size} is the number of records.
+ * <p>
+ * Each record is laid out from its damaged groups first, then about half of the
+ * springs are hidden behind '?', so there is always at least one arrangement.
+ * Records stay at most 20 springs long like the real input, which the part 1
+ * brute force relies on.
+ */
+public class Day12Generator implements InputGenerator {
+
+    private static final int MAX_LENGTH = 20;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            final List<Integer> groups = new ArrayList<>();
+            final StringBuilder springs = new StringBuilder();
+
+            springs.append(".".repeat(random.nextInt(3)));
+            final int groupCount = 1 + random.nextInt(6);
+            for (int g = 0; g < groupCount; g++) {
+                final int group = 1 + random.nextInt(5);
+                // operational springs separating this group from the previous one
+                final int separator = g > 0 ? 1 + random.nextInt(2) : 0;
+                if (springs.length() + separator + group > MAX_LENGTH) {
+                    break;
+                }
+
+                springs.append(".".repeat(separator)).append("#".repeat(group));
+                groups.add(group);
+            }
+            springs.append(".".repeat(random.nextInt(3)));
+            springs.setLength(Math.min(springs.length(), MAX_LENGTH));
+
+            for (int c = 0; c < springs.length(); c++) {
+                if (random.nextBoolean()) {
+                    springs.setCharAt(c, '?');
+                }
+            }
+
+            final StringBuilder line = new StringBuilder(springs).append(' ');
+            for (int g = 0; g < groups.size(); g++) {
+                if (g > 0) {
+                    line.append(',');
+                }
+                line.append(groups.get(g));
+            }
+
+            lines.add(line.toString());
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mirror notes. {@code size} is the number of patterns.
+ * <p>
+ * Each pattern is built symmetric about one vertical and one horizontal line. The
+ * horizontal mirror only covers the top of the pattern, so flipping a single cell
+ * below it breaks the vertical mirror without breaking the horizontal one. That
+ * gives exactly one clean reflection for part 1 and exactly one smudged
+ * reflection for part 2. Half of the patterns are transposed, and any pattern
+ * with an accidental extra reflection is rejected and redrawn.
+ */
+public class Day13Generator implements InputGenerator {
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>();
+
+        for (int p = 0; p < size; p++) {
+            if (p > 0) {
+                lines.add("");
+            }
+
+            char[][] pattern;
+            do {
+                pattern = candidate(random);
+            } while (!hasUniqueReflections(pattern));
+
+            for (final char[] row : pattern) {
+                lines.add(new String(row));
+            }
+        }
+
+        return lines;
+    }
+
+    private static char[][] candidate(Random random) {
+        final int width = 5 + random.nextInt(13);
+        final int height = 5 + random.nextInt(13);
+
+        final int vertical = 1 + random.nextInt(width - 1);
+        final int mirrored = Math.min(vertical, width - vertical);
+        // the horizontal line sits in the top half, leaving free rows below its mirror
+        final int horizontal = 1 + random.nextInt((height - 1) / 2);
+
+        final char[][] pattern = new char[height][width];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                pattern[i][j] = random.nextBoolean() ? '#' : '.';
+            }
+            for (int k = 0; k < mirrored; k++) {
+                pattern[i][vertical + k] = pattern[i][vertical - 1 - k];
+            }
+        }
+
+        for (int k = 0; k < horizontal; k++) {
+            pattern[horizontal + k] = pattern[horizontal - 1 - k].clone();
+        }
+
+        final int smudgeRow = (2 * horizontal) + random.nextInt(height - (2 * horizontal));
+        final int smudgeColumn = vertical - mirrored + random.nextInt(2 * mirrored);
+        pattern[smudgeRow][smudgeColumn] = pattern[smudgeRow][smudgeColumn] == '#' ? '.' : '#';
+
+        return random.nextBoolean() ? transpose(pattern) : pattern;
+    }
+
+    private static char[][] transpose(char[][] pattern) {
+        final char[][] result = new char[pattern[0].length][pattern.length];
+        for (int i = 0; i < pattern.length; i++) {
+            for (int j = 0; j < pattern[0].length; j++) {
+                result[j][i] = pattern[i][j];
+            }
+        }
+        return result;
+    }
+
+    // exactly one line with no differences, and exactly one line with a single difference
+    private static boolean hasUniqueReflections(char[][] pattern) {
+        int clean = 0;
+        int smudged = 0;
+
+        for (final char[][] p : new char[][][]{pattern, transpose(pattern)}) {
+            for (int line = 1; line < p.length; line++) {
+                int differences = 0;
+                for (int k = 0; line - 1 - k >= 0 && line + k < p.length; k++) {
+                    for (int j = 0; j < p[0].length; j++) {
+                        if (p[line - 1 - k][j] != p[line + k][j]) {
+                            ++differences;
+                        }
+                    }
+                }
+
+                if (differences == 0) {
+                    ++clean;
+                } else if (differences == 1) {
+                    ++smudged;
+                }
+            }
+        }
+
+        return clean == 1 && smudged == 1;
+    }
+}
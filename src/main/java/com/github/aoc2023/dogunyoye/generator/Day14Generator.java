@@ -0,0 +1,27 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Platform of rocks. {@code size} is the side of the square platform.
+ */
+public class Day14Generator implements InputGenerator {
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+        final char[] row = new char[size];
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                final int r = random.nextInt(100);
+                row[j] = r < 20 ? 'O' : (r < 35 ? '#' : '.');
+            }
+            lines.add(new String(row));
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Initialisation sequence. {@code size} is the number of steps.
+ * <p>
+ * Steps draw their labels from a pool a quarter the size of the sequence, so lenses
+ * are replaced and removed as well as added.
+ */
+public class Day15Generator implements InputGenerator {
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> labels = Names.lowercase(random, Math.max(1, size / 4), 2, Set.of());
+        final StringBuilder sb = new StringBuilder();
+
+        for (int s = 0; s < size; s++) {
+            if (s > 0) {
+                sb.append(',');
+            }
+
+            sb.append(labels.get(random.nextInt(labels.size())));
+            if (random.nextInt(3) == 0) {
+                sb.append('-');
+            } else {
+                sb.append('=').append(1 + random.nextInt(9));
+            }
+        }
+
+        return List.of(sb.toString());
+    }
+}
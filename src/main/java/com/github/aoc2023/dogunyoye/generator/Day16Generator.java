@@ -0,0 +1,28 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mirror contraption. {@code size} is the side of the square grid.
+ */
+public class Day16Generator implements InputGenerator {
+
+    private static final String MIRRORS = "/\\|-";
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+        final char[] row = new char[size];
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                row[j] = random.nextInt(10) == 0 ? MIRRORS.charAt(random.nextInt(MIRRORS.length())) : '.';
+            }
+            lines.add(new String(row));
+        }
+
+        return lines;
+    }
+}
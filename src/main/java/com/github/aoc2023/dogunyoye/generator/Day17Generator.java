@@ -0,0 +1,26 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * City block heat loss map. {@code size} is the side of the square map.
+ */
+public class Day17Generator implements InputGenerator {
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final List<String> lines = new ArrayList<>(size);
+        final char[] row = new char[size];
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                row[j] = (char) ('1' + random.nextInt(9));
+            }
+            lines.add(new String(row));
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Dig plan. {@code size} is roughly the number of instructions.
+ * <p>
+ * Both the plain instructions (part 1) and the ones hidden in the colours (part 2)
+ * trace a skyline. The outline goes up the left edge, across the tops of towers of
+ * random widths and heights, down the right edge and back along the bottom. A
+ * skyline never crosses itself, so both trenches are simple loops.
+ */
+public class Day18Generator implements InputGenerator {
+
+    private record Move(char direction, int metres) { }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final int towers = Math.max(1, (size - 2) / 2);
+        final List<Move> plain = skyline(random, towers, 10);
+        final List<Move> hidden = skyline(random, towers, 1_000_000);
+
+        final List<String> lines = new ArrayList<>(plain.size());
+        for (int i = 0; i < plain.size(); i++) {
+            final Move p = plain.get(i);
+            final Move h = hidden.get(i);
+            lines.add(String.format("%c %d (#%05x%d)", p.direction(), p.metres(), h.metres(), "RDLU".indexOf(h.direction())));
+        }
+        return lines;
+    }
+
+    private static List<Move> skyline(Random random, int towers, int maxMetres) {
+        final List<Move> moves = new ArrayList<>();
+        int height = 0;
+        int width = 0;
+
+        for (int t = 0; t < towers; t++) {
+            int next;
+            do {
+                next = 1 + random.nextInt(maxMetres);
+            } while (next == height);
+
+            moves.add(new Move(next > height ? 'U' : 'D', Math.abs(next - height)));
+            height = next;
+
+            final int w = 1 + random.nextInt(maxMetres);
+            moves.add(new Move('R', w));
+            width += w;
+        }
+
+        moves.add(new Move('D', height));
+        moves.add(new Move('L', width));
+        return moves;
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Workflows and part ratings. {@code size} is the number of workflows, and there
+ * are a third as many parts.
+ * <p>
+ * Like the real input the workflows form a tree rooted at "in". Each workflow is
+ * sent to from exactly one rule, so part 2 follows every route through it only once.
+ * Every rule splits the ratings which can reach it into two non-empty ranges, so
+ * no rule is dead.
+ */
+public class Day19Generator implements InputGenerator {
+
+    private static final String CATEGORIES = "xmas";
+
+    // the lowest and highest rating of each category which can reach a workflow
+    private record Pending(String name, int[] min, int[] max) { }
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final int workflows = Math.max(1, size);
+        final List<String> names = Names.lowercase(random, workflows - 1, 2, Set.of("in"));
+        final List<String> lines = new ArrayList<>();
+
+        final Queue<Pending> pending = new ArrayDeque<>();
+        pending.add(new Pending("in", new int[]{1, 1, 1, 1}, new int[]{4000, 4000, 4000, 4000}));
+        int created = 1;
+
+        while (!pending.isEmpty()) {
+            final Pending wf = pending.poll();
+            final int[] min = wf.min().clone();
+            final int[] max = wf.max().clone();
+            final int rules = 1 + random.nextInt(4);
+            final StringBuilder sb = new StringBuilder(wf.name()).append('{');
+
+            for (int r = 0; r <= rules; r++) {
+                final int category = r < rules ? splittable(random, min, max) : -1;
+                final boolean fallback = category < 0;
+
+                final int[] matchMin = min.clone();
+                final int[] matchMax = max.clone();
+                final boolean lessThan = random.nextBoolean();
+                int threshold = 0;
+
+                if (!fallback) {
+                    // lessThan: matches [min, threshold - 1], otherwise [min, threshold] doesn't match
+                    threshold = min[category] + 1 + random.nextInt(max[category] - min[category] - 1);
+                    if (lessThan) {
+                        matchMax[category] = threshold - 1;
+                        min[category] = threshold;
+                    } else {
+                        matchMin[category] = threshold + 1;
+                        max[category] = threshold;
+                    }
+                }
+
+                // keep the tree growing until every workflow has been placed
+                final boolean lastChance = pending.isEmpty() && fallback;
+                final boolean child = created < workflows && (lastChance || random.nextInt(5) < 3);
+
+                final String target;
+                if (child) {
+                    target = names.get(created - 1);
+                    pending.add(new Pending(target, matchMin, matchMax));
+                    ++created;
+                } else {
+                    target = random.nextBoolean() ? "A" : "R";
+                }
+
+                if (fallback) {
+                    sb.append(target).append('}');
+                    break;
+                }
+
+                sb.append(CATEGORIES.charAt(category))
+                    .append(lessThan ? '<' : '>')
+                    .append(threshold)
+                    .append(':')
+                    .append(target)
+                    .append(',');
+            }
+
+            lines.add(sb.toString());
+        }
+
+        Collections.shuffle(lines, random);
+        lines.add("");
+
+        final int parts = Math.max(1, workflows / 3);
+        for (int p = 0; p < parts; p++) {
+            lines.add(String.format("{x=%d,m=%d,a=%d,s=%d}",
+                1 + random.nextInt(4000), 1 + random.nextInt(4000), 1 + random.nextInt(4000), 1 + random.nextInt(4000)));
+        }
+
+        return lines;
+    }
+
+    // a random category with room for a threshold strictly inside its range, or -1
+    private static int splittable(Random random, int[] min, int[] max) {
+        final int start = random.nextInt(4);
+        for (int k = 0; k < 4; k++) {
+            final int c = (start + k) % 4;
+            if (max[c] - min[c] >= 2) {
+                return c;
+            }
+        }
+        return -1;
+    }
+}
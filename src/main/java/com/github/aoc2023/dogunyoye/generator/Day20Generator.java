@@ -0,0 +1,128 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Pulse propagation modules. {@code size} is the number of counter branches.
+ * <p>
+ * Built like the real input. The broadcaster starts one 12 bit counter per branch,
+ * made of a chain of flip-flops and a hub conjunction. The hub listens to the
+ * flip-flops whose bit is set in the branch's (prime) period and feeds the
+ * others. Once per period the hub fires an inverter, which feeds the final
+ * conjunction in front of rx.
+ * <p>
+ * The first four inverters and the final conjunction are named after the modules
+ * in the real puzzle input.
+ */
+public class Day20Generator implements InputGenerator {
+
+    private static final int BITS = 12;
+
+    // the lowest period, so that no two periods differ by 10% or more
+    private static final int MIN_PERIOD = (((1 << BITS) - 1) * 10 / 11) + 1;
+    private static final List<String> INVERTERS = List.of("sk", "kk", "vt", "xc");
+    private static final String FINAL = "tj";
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final int branches = Math.max(1, size);
+        final List<String> names = names(random, branches);
+        final List<Integer> periods = periods(random, branches);
+        final List<String> lines = new ArrayList<>();
+        final List<String> starts = new ArrayList<>();
+        int n = 0;
+
+        for (int b = 0; b < branches; b++) {
+            final int period = periods.get(b);
+            final String hub = names.get(n++);
+            final String inverter = b < INVERTERS.size() ? INVERTERS.get(b) : names.get(n++);
+            if (b < INVERTERS.size()) {
+                ++n;
+            }
+
+            final String[] flipFlops = new String[BITS];
+            for (int k = 0; k < BITS; k++) {
+                flipFlops[k] = names.get(n++);
+            }
+            starts.add(flipFlops[0]);
+
+            final List<String> hubDestinations = new ArrayList<>(List.of(flipFlops[0]));
+            for (int k = 0; k < BITS; k++) {
+                final List<String> destinations = new ArrayList<>();
+                if (k + 1 < BITS) {
+                    destinations.add(flipFlops[k + 1]);
+                }
+
+                if ((period & (1 << k)) != 0) {
+                    destinations.add(hub);
+                } else {
+                    hubDestinations.add(flipFlops[k]);
+                }
+
+                Collections.shuffle(destinations, random);
+                lines.add("%" + flipFlops[k] + " -> " + String.join(", ", destinations));
+            }
+
+            hubDestinations.add(inverter);
+            Collections.shuffle(hubDestinations, random);
+            lines.add("&" + hub + " -> " + String.join(", ", hubDestinations));
+            lines.add("&" + inverter + " -> " + FINAL);
+        }
+
+        lines.add("&" + FINAL + " -> rx");
+        lines.add("broadcaster -> " + String.join(", ", starts));
+        Collections.shuffle(lines, random);
+        return lines;
+    }
+
+    /**
+     * @return the periods of the branches {@link #generate(int, long)} builds, whose
+     * product is part 2's answer
+     */
+    public List<Integer> periods(int size, long seed) {
+        final Random random = new Random(seed);
+        final int branches = Math.max(1, size);
+        // the same draws as generate, in the same order
+        names(random, branches);
+        return periods(random, branches);
+    }
+
+    private static List<String> names(Random random, int branches) {
+        final Set<String> reserved = new HashSet<>(INVERTERS);
+        reserved.add(FINAL);
+        reserved.add("rx");
+        return Names.lowercase(random, branches * (BITS + 2), 2, reserved);
+    }
+
+    // distinct primes, so that the first press on which every branch fires, their lowest
+    // common multiple, is their product. Like the real input they are all close together
+    private static List<Integer> periods(Random random, int count) {
+        final List<Integer> primes = new ArrayList<>();
+        for (int p = MIN_PERIOD; p < (1 << BITS); p++) {
+            if (isPrime(p)) {
+                primes.add(p);
+            }
+        }
+
+        if (count > primes.size()) {
+            throw new RuntimeException("At most " + primes.size() + " branches are supported");
+        }
+
+        Collections.shuffle(primes, random);
+        return primes.subList(0, count);
+    }
+
+    private static boolean isPrime(int n) {
+        for (int d = 2; d * d <= n; d++) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return n > 1;
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Garden map. {@code size} is the side of the square map, rounded down to an odd
+ * number.
+ * <p>
+ * Like the real input, S is in the centre and the middle row, the middle column and
+ * the outer edge are all free of rocks. That is what the part 2 extrapolation relies
+ * on. It is only exact when the side divides 2 * 26501365 + 1, for example 131 or 393.
+ */
+public class Day21Generator implements InputGenerator {
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final int side = Math.max(5, size % 2 == 0 ? size - 1 : size);
+        final int middle = side / 2;
+        final List<String> lines = new ArrayList<>(side);
+        final char[] row = new char[side];
+
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                final boolean clear = i == middle || j == middle || i == 0 || j == 0 || i == side - 1 || j == side - 1;
+                row[j] = !clear && random.nextInt(10) == 0 ? '#' : '.';
+            }
+
+            if (i == middle) {
+                row[middle] = 'S';
+            }
+            lines.add(new String(row));
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Falling bricks. {@code size} is the number of bricks.
+ * <p>
+ * Bricks lie in a 10x10 column, 1 to 4 cubes long. They are dropped into place
+ * one at a time with random gaps above the current stack, so no two overlap.
+ * About one in ten is vertical.
+ */
+public class Day22Generator implements InputGenerator {
+
+    private static final int WIDTH = 10;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final int[][] top = new int[WIDTH][WIDTH];
+        final List<String> lines = new ArrayList<>(size);
+
+        for (int b = 0; b < size; b++) {
+            final int length = 1 + random.nextInt(4);
+            final int axis = random.nextInt(10) == 0 ? 2 : random.nextInt(2);
+
+            final int x = random.nextInt(axis == 0 ? WIDTH - length + 1 : WIDTH);
+            final int y = random.nextInt(axis == 1 ? WIDTH - length + 1 : WIDTH);
+            final int x2 = axis == 0 ? x + length - 1 : x;
+            final int y2 = axis == 1 ? y + length - 1 : y;
+
+            int z = 0;
+            for (int i = x; i <= x2; i++) {
+                for (int j = y; j <= y2; j++) {
+                    z = Math.max(z, top[i][j]);
+                }
+            }
+            z += 1 + random.nextInt(3);
+
+            final int z2 = axis == 2 ? z + length - 1 : z;
+            for (int i = x; i <= x2; i++) {
+                for (int j = y; j <= y2; j++) {
+                    top[i][j] = z2;
+                }
+            }
+
+            lines.add(x + "," + y + "," + z + "~" + x2 + "," + y2 + "," + z2);
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Hiking trail map. {@code size} is the side of the square map.
+ * <p>
+ * Like the real input, the trails join up to a lattice of at most 6x6 junctions
+ * (the longest path search is exponential in the junction count, so bigger maps get
+ * longer trails, not more junctions). Every trail has a slope at each end pointing
+ * east or south, so part 1 can only move down and to the right. Junction spacing
+ * is random, at least four tiles.
+ */
+public class Day23Generator implements InputGenerator {
+
+    private static final int MAX_JUNCTIONS = 6;
+    private static final int MIN_GAP = 4;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final int side = Math.max(5, size);
+        final int junctions = Math.min(MAX_JUNCTIONS, ((side - 5) / MIN_GAP) + 1);
+        final int[] positions = positions(random, junctions, side);
+
+        final char[][] map = new char[side][side];
+        for (final char[] row : map) {
+            Arrays.fill(row, '#');
+        }
+
+        final int first = positions[0];
+        final int last = positions[junctions - 1];
+
+        // from the start down to the first junction, and from the last junction to the end
+        for (int i = 0; i < first; i++) {
+            map[i][first] = '.';
+        }
+        for (int i = last + 1; i < side; i++) {
+            map[i][last] = '.';
+        }
+
+        for (int r = 0; r < junctions; r++) {
+            for (int c = 0; c < junctions; c++) {
+                final int i = positions[r];
+                final int j = positions[c];
+                map[i][j] = '.';
+
+                if (c + 1 < junctions) {
+                    final int end = positions[c + 1];
+                    for (int jj = j + 1; jj < end; jj++) {
+                        map[i][jj] = '.';
+                    }
+                    map[i][j + 1] = '>';
+                    map[i][end - 1] = '>';
+                }
+
+                if (r + 1 < junctions) {
+                    final int end = positions[r + 1];
+                    for (int ii = i + 1; ii < end; ii++) {
+                        map[ii][j] = '.';
+                    }
+                    map[i + 1][j] = 'v';
+                    map[end - 1][j] = 'v';
+                }
+            }
+        }
+
+        final List<String> lines = new ArrayList<>(side);
+        for (final char[] row : map) {
+            lines.add(new String(row));
+        }
+        return lines;
+    }
+
+    // junction rows (and columns), from 2 to side - 3 inclusive
+    private static int[] positions(Random random, int junctions, int side) {
+        final int[] positions = new int[junctions];
+        positions[0] = 2;
+        int spare = (side - 3) - 2 - ((junctions - 1) * MIN_GAP);
+
+        for (int k = 1; k < junctions; k++) {
+            final int extra = k == junctions - 1 ? spare : random.nextInt(spare + 1) / 2;
+            positions[k] = positions[k - 1] + MIN_GAP + extra;
+            spare -= extra;
+        }
+
+        return positions;
+    }
+}
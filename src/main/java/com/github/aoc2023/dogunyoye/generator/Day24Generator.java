@@ -0,0 +1,62 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Hailstones. {@code size} is the number of hailstones, at least 5.
+ * <p>
+ * A rock thrown from a random position with a random velocity (each component
+ * within 200) hits every hailstone, each at a different whole nanosecond, as part 2
+ * requires. Positions land in the real puzzle's [1e14, 5e14] range, so part 1's
+ * test area of [2e14, 4e14] is meaningful.
+ */
+public class Day24Generator implements InputGenerator {
+
+    private static final long MIN = 100_000_000_000_000L;
+    private static final long MAX = 500_000_000_000_000L;
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final long[] rock = new long[3];
+        final long[] rockVelocity = new long[3];
+        for (int d = 0; d < 3; d++) {
+            rock[d] = 200_000_000_000_000L + (long) (random.nextDouble() * 200_000_000_000_000L);
+            rockVelocity[d] = random.nextInt(401) - 200;
+        }
+
+        final Set<Long> times = new HashSet<>();
+        final List<String> lines = new ArrayList<>(size);
+
+        while (lines.size() < Math.max(5, size)) {
+            final long time = 10_000_000_000L + (long) (random.nextDouble() * 990_000_000_000L);
+            if (!times.add(time)) {
+                continue;
+            }
+
+            final long[] position = new long[3];
+            final long[] velocity = new long[3];
+            boolean inRange = true;
+
+            for (int d = 0; d < 3; d++) {
+                velocity[d] = random.nextInt(601) - 300;
+                // the hailstone is where the rock will be at `time`, run backwards
+                position[d] = rock[d] + ((rockVelocity[d] - velocity[d]) * time);
+                inRange &= position[d] >= MIN && position[d] <= MAX;
+            }
+
+            if (!inRange) {
+                times.remove(time);
+                continue;
+            }
+
+            lines.add(String.format("%d, %d, %d @ %d, %d, %d",
+                position[0], position[1], position[2], velocity[0], velocity[1], velocity[2]));
+        }
+
+        return lines;
+    }
+}
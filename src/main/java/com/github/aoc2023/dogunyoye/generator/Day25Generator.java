@@ -0,0 +1,69 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Component wiring diagram. {@code size} is the number of components, at least 10.
+ * <p>
+ * The components form two groups joined by exactly three wires. Within a group each
+ * component is wired to the next two around a ring (so cutting any group takes at
+ * least four wires) plus a random extra wire. Each wire is listed once, under one
+ * of its two ends.
+ */
+public class Day25Generator implements InputGenerator {
+
+    @Override
+    public List<String> generate(int size, Random random) {
+        final int components = Math.max(10, size);
+        final List<String> names = Names.lowercase(random, components, 3, Set.of());
+
+        final int firstGroup = (components * 2 / 5) + random.nextInt(Math.max(1, components / 5));
+        final List<int[]> wires = new ArrayList<>();
+        group(random, 0, firstGroup, wires);
+        group(random, firstGroup, components, wires);
+
+        for (int w = 0; w < 3; w++) {
+            wires.add(new int[]{w, firstGroup + w});
+        }
+
+        final Map<String, List<String>> listed = new LinkedHashMap<>();
+        for (final int[] wire : wires) {
+            final boolean flip = random.nextBoolean();
+            final String from = names.get(flip ? wire[1] : wire[0]);
+            final String to = names.get(flip ? wire[0] : wire[1]);
+            listed.computeIfAbsent(from, (k) -> new ArrayList<>()).add(to);
+        }
+
+        final List<String> lines = new ArrayList<>();
+        for (final Map.Entry<String, List<String>> e : listed.entrySet()) {
+            lines.add(e.getKey() + ": " + String.join(" ", e.getValue()));
+        }
+        Collections.shuffle(lines, random);
+        return lines;
+    }
+
+    // wires components [from, to) into a ring lattice, plus one random chord each
+    private static void group(Random random, int from, int to, List<int[]> wires) {
+        final int n = to - from;
+        final boolean[][] wired = new boolean[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int step = 1; step <= 3; step++) {
+                final int j = step == 3 ? random.nextInt(n) : (i + step) % n;
+                if (i == j || wired[i][j]) {
+                    continue;
+                }
+
+                wired[i][j] = true;
+                wired[j][i] = true;
+                wires.add(new int[]{from + i, from + j});
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a generated input to disk.
+ * <p>
+ * Usage: {@code GenerateInput <day> <size> [seed] [output]}. The output defaults to
+ * {@code target/generated/DayXX-<size>-<seed>.txt}.
+ */
+public final class GenerateInput {
+
+    private GenerateInput() { }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: GenerateInput <day> <size> [seed] [output]");
+            System.exit(1);
+        }
+
+        final int day = Integer.parseInt(args[0]);
+        final int size = Integer.parseInt(args[1]);
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : 2023L;
+        final Path output = args.length > 3
+            ? Path.of(args[3])
+            : Path.of("target", "generated", String.format("Day%02d-%d-%d.txt", day, size, seed));
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        Generators.create(day).write(output, size, seed);
+        System.out.println(output);
+    }
+}
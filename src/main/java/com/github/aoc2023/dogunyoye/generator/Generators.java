@@ -0,0 +1,31 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the input generators, indexed by day
+ */
+public final class Generators {
+
+    private static final List<Supplier<InputGenerator>> GENERATORS = List.of(
+        Day01Generator::new, Day02Generator::new, Day03Generator::new, Day04Generator::new, Day05Generator::new,
+        Day06Generator::new, Day07Generator::new, Day08Generator::new, Day09Generator::new, Day10Generator::new,
+        Day11Generator::new, Day12Generator::new, Day13Generator::new, Day14Generator::new, Day15Generator::new,
+        Day16Generator::new, Day17Generator::new, Day18Generator::new, Day19Generator::new, Day20Generator::new,
+        Day21Generator::new, Day22Generator::new, Day23Generator::new, Day24Generator::new, Day25Generator::new
+    );
+
+    private Generators() { }
+
+    public static int days() {
+        return GENERATORS.size();
+    }
+
+    public static InputGenerator create(int day) {
+        if (day < 1 || day > GENERATORS.size()) {
+            throw new RuntimeException("Unknown day: " + day);
+        }
+        return GENERATORS.get(day - 1).get();
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Produces a synthetic puzzle input for one day.
+ * <p>
+ * What {@code size} measures is up to each day (lines, grid side, nodes...) and is
+ * documented on the implementing class. The same size and seed always produce the
+ * same input.
+ */
+public interface InputGenerator {
+
+    List<String> generate(int size, Random random);
+
+    default List<String> generate(int size, long seed) {
+        return generate(size, new Random(seed));
+    }
+
+    default void write(Path path, int size, long seed) throws IOException {
+        Files.write(path, generate(size, seed));
+    }
+}
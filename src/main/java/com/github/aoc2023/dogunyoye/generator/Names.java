@@ -0,0 +1,40 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+final class Names {
+
+    private Names() { }
+
+    /**
+     * @return {@code count} distinct random lowercase names, none of which are {@code reserved}.
+     * Names are {@code minLength} long, or longer if that many would not comfortably fit.
+     */
+    static List<String> lowercase(Random random, int count, int minLength, Set<String> reserved) {
+        int length = minLength;
+        while (Math.pow(26, length) < 4.0 * (count + reserved.size())) {
+            ++length;
+        }
+
+        final Set<String> seen = new HashSet<>(reserved);
+        final List<String> names = new ArrayList<>(count);
+        final char[] name = new char[length];
+
+        while (names.size() < count) {
+            for (int i = 0; i < length; i++) {
+                name[i] = (char) ('a' + random.nextInt(26));
+            }
+
+            final String candidate = new String(name);
+            if (seen.add(candidate)) {
+                names.add(candidate);
+            }
+        }
+
+        return names;
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.aoc2023.dogunyoye.generator.Generators;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Fails when a hot path allocates more than its budget, so allocation does not creep
+ * back into it unnoticed.
+ * <p>
+ * Bytes are counted for the test thread only, taking the least of several solves so the
+ * JIT has warmed up. Per item costs are the difference between two inputs which differ
+ * only in their number of items, which leaves out the fixed cost of a solve. Budgets are
+ * about half as much again as the cost when they were set, as escape analysis does not
+ * always remove the same allocations.
+ * <p>
+ * Runs in its own surefire execution with {@link Metrics} enabled (see the pom).
+ */
+public class AllocationBudgetTest {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final int RUNS = 10;
+
+    private static long allocatedBytes(Runnable solve) {
+        long least = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            final long before = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+            solve.run();
+            least = Math.min(least, THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - before);
+        }
+        return least;
+    }
+
+    private static void assertWithinBudget(String what, double bytes, double budget) {
+        assertTrue(String.format("%s: %.1f bytes, budget %.1f", what, bytes, budget), bytes <= budget);
+    }
+
+    @Test
+    public void testDay07BytesPerHand() {
+        final Solver solver = new Day07();
+        final Input small = Input.of(Generators.create(7).generate(1000, 1L));
+        final Input large = Input.of(Generators.create(7).generate(11000, 1L));
+
+        final double partOne = (allocatedBytes(() -> solver.partOne(large)) - allocatedBytes(() -> solver.partOne(small))) / 10000.0;
+        assertWithinBudget("Day07 part 1 per hand", partOne, 1300);
+
+        final double partTwo = (allocatedBytes(() -> solver.partTwo(large)) - allocatedBytes(() -> solver.partTwo(small))) / 10000.0;
+        assertWithinBudget("Day07 part 2 per hand", partTwo, 2000);
+    }
+
+    // the generated almanac, with its seeds replaced by count random seeds
+    private static Input almanac(List<String> maps, int count) {
+        final Random random = new Random(1L);
+        final StringBuilder seeds = new StringBuilder("seeds:");
+        for (int i = 0; i < count; i++) {
+            seeds.append(' ').append(random.nextLong(1L << 32));
+        }
+
+        final List<String> lines = new ArrayList<>(maps);
+        lines.set(0, seeds.toString());
+        return Input.of(lines);
+    }
+
+    @Test
+    public void testDay05BytesPerSeed() {
+        final Solver solver = new Day05();
+        final List<String> maps = Generators.create(5).generate(100, 1L);
+        final Input small = almanac(maps, 1000);
+        final Input large = almanac(maps, 11000);
+
+        // parsing the seed is included; processing it should allocate nothing
+        final double perSeed = (allocatedBytes(() -> solver.partOne(large)) - allocatedBytes(() -> solver.partOne(small))) / 10000.0;
+        assertWithinBudget("Day05 part 1 per seed", perSeed, 64);
+    }
+
+    @Test
+    public void testDay17BytesPerPop() {
+        // pops are only counted when metrics are enabled
+        assumeTrue(Metrics.ENABLED);
+
+        final Solver solver = new Day17();
+        final Input map = Input.of(Generators.create(17).generate(60, 1L));
+        final Metrics.Counter pops = Metrics.counter("GraphSearch.dial.pops");
+
+        for (int part = 1; part <= 2; part++) {
+            final boolean partOne = part == 1;
+            final Runnable solve = () -> {
+                if (partOne) {
+                    solver.partOne(map);
+                } else {
+                    solver.partTwo(map);
+                }
+            };
+
+            final long before = pops.value();
+            solve.run();
+            final long popsPerSolve = pops.value() - before;
+
+            // a pop allocates nothing, this is the search's arrays spread over its pops
+            final double perPop = (double) allocatedBytes(solve) / popsPerSolve;
+            assertWithinBudget("Day17 part " + part + " per pop", perPop, 16);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.aoc2023.dogunyoye.generator.Generators;
+
+public class BatchRunnerTest {
+
+    @Test
+    public void testRun() throws IOException, InterruptedException {
+        final Path directory = Files.createTempDirectory("aoc2023-batch");
+        directory.toFile().deleteOnExit();
+        for (int seed = 0; seed < 40; seed++) {
+            final Path input = directory.resolve(String.format("Day09-%02d.txt", seed));
+            Generators.create(9).write(input, 30, seed);
+            input.toFile().deleteOnExit();
+        }
+        final Path broken = directory.resolve("Day09-broken.txt");
+        Files.writeString(broken, "1 2 x\n");
+        broken.toFile().deleteOnExit();
+
+        final List<Path> inputs = BatchRunner.inputs(directory);
+        assertEquals(41, inputs.size());
+
+        final List<BatchRunner.Row> rows = new ArrayList<>();
+        final int errors = BatchRunner.run(9, inputs, 4, 3, rows::add);
+        assertEquals(1, errors);
+        assertEquals(inputs.size(), rows.size());
+
+        rows.sort(Comparator.comparing(BatchRunner.Row::input));
+        final Solver solver = new Day09();
+        for (int i = 0; i < inputs.size(); i++) {
+            final BatchRunner.Row row = rows.get(i);
+            assertEquals(inputs.get(i), row.input());
+            if (row.input().equals(broken)) {
+                assertNotNull(row.error());
+                continue;
+            }
+
+            final Input data = solver.load(row.input());
+            assertNull(row.error());
+            assertEquals(solver.partOne(data), row.partOne());
+            assertEquals(solver.partTwo(data), row.partTwo());
+        }
+    }
+
+    @Test
+    public void testSolveError() {
+        final Solver overflowing = new Solver() {
+            @Override
+            public Object partOne(List<String> data) {
+                return data.size();
+            }
+
+            @Override
+            public Object partTwo(List<String> data) {
+                throw new StackOverflowError();
+            }
+        };
+        final Path input = Path.of("src/test/resources/Day09TestInput.txt");
+        final BatchRunner.Row row = BatchRunner.solve(overflowing, input);
+        assertEquals(input, row.input());
+        assertNull(row.partOne());
+        assertEquals("java.lang.StackOverflowError", row.error());
+    }
+
+    @Test
+    public void testCsv() {
+        final BatchRunner.Row row = new BatchRunner.Row(Path.of("a.txt"), 1, "x,\"y\"", 10, 20, 30, null);
+        assertEquals("a.txt,1,\"x,\"\"y\"\"\",10,20,30,", row.csv());
+        assertEquals(7, BatchRunner.HEADER.split(",").length);
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * The kernels picked at runtime (the vector ones, as surefire adds the module) against
+ * the scalar ones, at lengths either side of every vector size
+ */
+public class ByteKernelsTest {
+
+    private static final byte[] ALPHABET = "..........#O123*$".getBytes();
+
+    private static byte[] random(Random random, int length) {
+        final byte[] a = new byte[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return a;
+    }
+
+    @Test
+    public void testVectorKernelsPicked() {
+        // otherwise a broken vector path would fall back to scalar, and testAgainstScalar
+        // compare the scalar kernels with themselves
+        if (!"off".equals(System.getProperty(ByteKernels.PROPERTY))) {
+            assertTrue(ByteKernels.get().getClass().getName(), ByteKernels.get() instanceof VectorByteKernels);
+        }
+    }
+
+    @Test
+    public void testAgainstScalar() {
+        final ByteKernels kernels = ByteKernels.get();
+        final ByteKernels scalar = ByteKernels.scalar();
+        final Random random = new Random(1L);
+
+        for (int length = 0; length <= 200; length++) {
+            final int from = random.nextInt(5);
+            final byte[] a = random(random, from + length + 3);
+
+            assertEquals(scalar.count(a, from, length, (byte) '.'), kernels.count(a, from, length, (byte) '.'));
+            assertEquals(scalar.indexOfSymbol(a, from, from + length), kernels.indexOfSymbol(a, from, from + length));
+
+            final byte[] expected = new byte[length];
+            final byte[] actual = new byte[length];
+            scalar.markDiffering(a, from, length, (byte) '.', expected);
+            kernels.markDiffering(a, from, length, (byte) '.', actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testIndexOfSymbol() {
+        final byte[] row = "467..114..........*.....35..633.".getBytes();
+        final ByteKernels kernels = ByteKernels.get();
+        assertEquals(18, kernels.indexOfSymbol(row, 0, row.length));
+        assertEquals(row.length, kernels.indexOfSymbol(row, 19, row.length));
+        assertEquals(10, kernels.indexOfSymbol(row, 0, 10));
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class CoordinatesTest {
+
+    @Test
+    public void testPack2D() {
+        for (final int[] p : new int[][]{{0, 0}, {-1, 5}, {7, -3}, {Integer.MIN_VALUE, Integer.MAX_VALUE}}) {
+            final long packed = Coordinates.pack(p[0], p[1]);
+            assertEquals(p[0], Coordinates.i(packed));
+            assertEquals(p[1], Coordinates.j(packed));
+        }
+
+        assertNotEquals(Coordinates.pack(1, 2), Coordinates.pack(2, 1));
+    }
+
+    @Test
+    public void testPack3D() {
+        for (final int[] p : new int[][]{{0, 0, 0}, {-1, -1, -1}, {9, 300, 1048575}, {-1048576, 2, -7}}) {
+            final long packed = Coordinates.pack(p[0], p[1], p[2]);
+            assertEquals(p[0], Coordinates.x(packed));
+            assertEquals(p[1], Coordinates.y(packed));
+            assertEquals(p[2], Coordinates.z(packed));
+        }
+
+        assertNotEquals(Coordinates.pack(1, 2, 3), Coordinates.pack(3, 2, 1));
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CyclesTest {
+
+    @Test
+    public void testDetector() {
+        // 0, 1, 2, then 3..9 over and over
+        final Cycles.Detector detector = new Cycles.Detector();
+        int iteration = 0;
+        while (!detector.add(iteration < 3 ? iteration : 3 + ((iteration - 3) % 7))) {
+            assertNull(detector.cycle());
+            iteration++;
+        }
+
+        assertEquals(new Cycles.Cycle(3, 7), detector.cycle());
+        // Brent stops within about twice the prefix plus the period
+        assertTrue(detector.iterations() <= 2 * (3 + 7) + 1);
+    }
+
+    @Test
+    public void testFixedPoint() {
+        final Cycles.Detector detector = new Cycles.Detector();
+        assertFalse(detector.add(5));
+        assertFalse(detector.add(6));
+        assertTrue(detector.add(6));
+        assertEquals(new Cycles.Cycle(1, 1), detector.cycle());
+    }
+
+    @Test
+    public void testReduce() {
+        final Cycles.Cycle cycle = new Cycles.Cycle(3, 7);
+        assertEquals(2, cycle.reduce(2));
+        assertEquals(3, cycle.reduce(10));
+        assertEquals(3 + ((1000000000L - 3) % 7), cycle.reduce(1000000000L));
+    }
+
+    @Test
+    public void testFirstCommon() {
+        // marked every 4th and every 6th iteration: their LCM
+        assertEquals(12, Cycles.firstCommon(
+            new Cycles.Cycle[] {new Cycles.Cycle(1, 4), new Cycles.Cycle(1, 6)},
+            new long[][] {{4}, {6}}));
+
+        // n = 1 (mod 4) and n = 2 (mod 6) have no solution, one odd and one even
+        assertEquals(-1, Cycles.firstCommon(
+            new Cycles.Cycle[] {new Cycles.Cycle(0, 4), new Cycles.Cycle(0, 6)},
+            new long[][] {{1}, {2}}));
+
+        // n = 2 (mod 3) and n = 3 (mod 5): 8, but the second only repeats from 10
+        assertEquals(23, Cycles.firstCommon(
+            new Cycles.Cycle[] {new Cycles.Cycle(0, 3), new Cycles.Cycle(10, 5)},
+            new long[][] {{2}, {13}}));
+
+        // a mark before the second repeats
+        assertEquals(8, Cycles.firstCommon(
+            new Cycles.Cycle[] {new Cycles.Cycle(0, 3), new Cycles.Cycle(10, 5)},
+            new long[][] {{2}, {8, 13}}));
+    }
+}
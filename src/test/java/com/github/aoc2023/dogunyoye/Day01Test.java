@@ -5,11 +5,14 @@ import static org.junit.Assert.assertEquals;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.github.aoc2023.dogunyoye.generator.Generators;
+
 public class Day01Test {
 
     private static List<String> documentLines;
@@ -30,4 +33,29 @@ public class Day01Test {
     public void testPartTwo() throws IOException {
         assertEquals(281, new Day01().sumOfAllRevisedCalibrationValues(revisedDocumentLines));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testOverlappingWords() {
+        // the first word to start and the last word to end, even where they share letters
+        assertEquals(82 + 79 + 11 + 28, new Day01().sumOfAllRevisedCalibrationValues(List.of("eightwo", "sevenine", "oneight1", "xtwonesevenineighthreeight")));
+    }
+
+    @Test
+    public void testZeroDigit() {
+        assertEquals(5 + 0 + 90, new Day01().sumOfAllCalibrationValues(List.of("0x5", "a0b", "9zero0")));
+        assertEquals(2 + 0 + 30, new Day01().sumOfAllRevisedCalibrationValues(List.of("x0two", "a0b", "three0")));
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        final List<String> lines = new ArrayList<>(Generators.create(1).generate(5000, 3L));
+        lines.addAll(List.of("0x5", "x0two", "three0"));
+        final Path file = Files.createTempFile("aoc2023-day01", ".txt");
+        file.toFile().deleteOnExit();
+
+        // CRLF terminators, and none after the last line
+        Files.writeString(file, String.join("\r\n", lines));
+        assertEquals(new Day01().sumOfAllCalibrationValues(lines), new Day01().sumOfAllCalibrationValues(file));
+        assertEquals(new Day01().sumOfAllRevisedCalibrationValues(lines), new Day01().sumOfAllRevisedCalibrationValues(file));
+    }
+}
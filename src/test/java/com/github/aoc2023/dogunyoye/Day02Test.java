@@ -1,15 +1,20 @@
 package com.github.aoc2023.dogunyoye;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.github.aoc2023.dogunyoye.generator.Generators;
+
 public class Day02Test {
     private static List<String> gamesList;
 
@@ -27,4 +32,84 @@ public class Day02Test {
     public void testPartTwo() throws IOException {
         assertEquals(2286, new Day02().sumMaxCubesPerGame(gamesList));
     }
+
+    @Test
+    public void testGameLogMatchesRounds() {
+        final Input input = Input.of(Generators.create(2).generate(500, 5L));
+        final List<Day02.Game> games = new Day02().createGames(input);
+        final Day02.GameLog log = Day02.createGameLog(input);
+
+        assertEquals(games.size(), log.size());
+        for (int i = 0; i < games.size(); i++) {
+            final List<Day02.Round> rounds = games.get(i).rounds();
+            assertEquals(games.get(i).id(), log.id(i));
+            assertEquals(rounds.stream().mapToInt(Day02.Round::redCubes).max().getAsInt(), log.maxRed(i));
+            assertEquals(rounds.stream().mapToInt(Day02.Round::greenCubes).max().getAsInt(), log.maxGreen(i));
+            assertEquals(rounds.stream().mapToInt(Day02.Round::blueCubes).max().getAsInt(), log.maxBlue(i));
+        }
+    }
+
+    @Test
+    public void testFeasibilityIndex() {
+        final Input input = Input.of(Generators.create(2).generate(2000, 9L));
+        final Day02.GameLog log = Day02.createGameLog(input);
+        final Day02.FeasibilityIndex index = new Day02().createFeasibilityIndex(input);
+
+        final long[] fixedIdSum = new long[1];
+        index.query(new int[] {12}, new int[] {13}, new int[] {14}, fixedIdSum, new int[1]);
+        assertEquals(new Day02().sumCandidateGameIds(input), fixedIdSum[0]);
+        assertEquals(new Day02().sumCandidateGameIds(input), new Day02().sumCandidateGameIds(input, 12, 13, 14));
+
+        // limits past either end of the maxima too
+        final Random random = new Random(3L);
+        final int q = 500;
+        final int[] red = new int[q];
+        final int[] green = new int[q];
+        final int[] blue = new int[q];
+        for (int i = 0; i < q; i++) {
+            red[i] = random.nextInt(-1, 23);
+            green[i] = random.nextInt(-1, 23);
+            blue[i] = random.nextInt(-1, 23);
+        }
+
+        final long[] idSums = new long[q];
+        final int[] counts = new int[q];
+        index.query(red, green, blue, idSums, counts);
+
+        for (int i = 0; i < q; i++) {
+            long idSum = 0;
+            int count = 0;
+            for (int game = 0; game < log.size(); game++) {
+                if (log.maxRed(game) <= red[i] && log.maxGreen(game) <= green[i] && log.maxBlue(game) <= blue[i]) {
+                    idSum += log.id(game);
+                    count++;
+                }
+            }
+            assertEquals(idSum, idSums[i]);
+            assertEquals(count, counts[i]);
+        }
+    }
+
+    @Test
+    public void testFeasibilityIndexSharedBetweenThreads() {
+        final Day02.FeasibilityIndex index = new Day02().createFeasibilityIndex(Input.of(Generators.create(2).generate(2000, 13L)));
+        final int q = 200;
+        final int[] red = new int[q];
+        final int[] green = new int[q];
+        final int[] blue = new int[q];
+        for (int i = 0; i < q; i++) {
+            red[i] = 1 + (i % 20);
+            green[i] = 1 + ((i * 7) % 20);
+            blue[i] = 1 + ((i * 13) % 20);
+        }
+
+        final long[] expected = new long[q];
+        index.query(red, green, blue, expected, new int[q]);
+
+        IntStream.range(0, 64).parallel().forEach((t) -> {
+            final long[] idSums = new long[q];
+            index.query(red, green, blue, idSums, new int[q]);
+            assertArrayEquals(expected, idSums);
+        });
+    }
 }
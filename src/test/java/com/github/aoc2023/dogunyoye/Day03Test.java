@@ -27,4 +27,12 @@ public class Day03Test {
     public void testPartTwo() throws IOException {
         assertEquals(467835, new Day03().sumOfAllGearRatios(schematic));
     }
+
+    @Test
+    public void testNumbersCountedOncePerSymbol() {
+        // 11 touches the first '*' twice; 5 touches both
+        final List<String> shared = List.of("11..", ".*.*", "..5.");
+        assertEquals(11 + 5 + 5, new Day03().sumOfAllPartNumbers(shared));
+        assertEquals(11 * 5, new Day03().sumOfAllGearRatios(shared));
+    }
 }
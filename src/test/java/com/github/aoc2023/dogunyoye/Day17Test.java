@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.BeforeClass;
@@ -27,4 +28,11 @@ public class Day17Test {
     public void testPartTwo() throws IOException {
         assertEquals(94, new Day17().findMinimalHeatLossOfUltraCrucible(data));
     }
+
+    // 7000 * 7000 blocks at 44 states each do not fit in an int
+    @Test(expected = ArithmeticException.class)
+    public void testPartTwoStateOverflow() {
+        final List<String> city = Collections.nCopies(7000, "1".repeat(7000));
+        new Day17().findMinimalHeatLossOfUltraCrucible(city);
+    }
 }
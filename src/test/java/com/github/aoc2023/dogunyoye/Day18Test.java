@@ -26,5 +26,25 @@ public class Day18Test {
     @Test
     public void testPartTwo() throws IOException {
         assertEquals(952408144115L, new Day18().findDigPlanAreaPart2(data));
-    }   
+    }
+
+    // part 2 instructions, the distance in hex followed by the direction (0 R, 1 D, 2 L, 3 U)
+    private static String instruction(long metres, int direction) {
+        return "R 1 (#" + Long.toHexString(metres) + direction + ")";
+    }
+
+    @Test
+    public void testPartTwoNearLongRange() {
+        // a trench one metre wide and as long as fits
+        final long metres = (Long.MAX_VALUE / 2) - 1;
+        final List<String> thin = List.of(instruction(metres, 0), instruction(1, 1), instruction(metres, 2), instruction(1, 3));
+        assertEquals(2 * (metres + 1), new Day18().findDigPlanAreaPart2(thin));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testPartTwoCornerOverflow() {
+        // the third step right takes the corner past Long.MAX_VALUE
+        final long metres = Long.MAX_VALUE / 2;
+        new Day18().findDigPlanAreaPart2(List.of(instruction(metres, 0), instruction(metres, 0), instruction(metres, 0), instruction(1, 1)));
+    }
 }
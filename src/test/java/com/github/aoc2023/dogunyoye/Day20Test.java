@@ -1,6 +1,7 @@
 package com.github.aoc2023.dogunyoye;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -10,6 +11,8 @@ import java.util.List;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.github.aoc2023.dogunyoye.generator.Generators;
+
 public class Day20Test {
     private static List<String> data;
 
@@ -22,4 +25,19 @@ public class Day20Test {
     public void testPartOne() throws IOException {
         assertEquals(32000000L, new Day20().findProductOfLowAndHighPulsesAfter1000ButtonPushes(data));
     }
+
+    @Test
+    public void testPartTwo() {
+        // the example has no rx; three counters with periods 4007, 3797 and 4091
+        final List<String> counters = Generators.create(20).generate(3, 1L);
+        assertEquals(4007L * 3797L * 4091L, new Day20().findFewestNumberOfButtonPressesToLowPulseRX(counters));
+    }
+
+    @Test
+    public void testConjunctionFingerprintBeyond64Inputs() {
+        // with 65 inputs, input 0 and input 64 would share a bit if it wrapped around
+        assertNotEquals(Day20.inputFingerprint(65, (i) -> i == 0), Day20.inputFingerprint(65, (i) -> i == 64));
+        assertNotEquals(Day20.inputFingerprint(130, (i) -> i == 1), Day20.inputFingerprint(130, (i) -> i == 129));
+        assertEquals(1L << 63, Day20.inputFingerprint(64, (i) -> i == 63));
+    }
 }
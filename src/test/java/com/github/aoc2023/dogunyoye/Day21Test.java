@@ -12,7 +12,7 @@ import org.junit.Test;
 
 public class Day21Test {
     private static List<String> data;
-    private static char[][] map;
+    private static Grid map;
 
     @BeforeClass
     public static void setUp() throws IOException {
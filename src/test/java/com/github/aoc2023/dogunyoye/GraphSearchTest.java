@@ -0,0 +1,34 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class GraphSearchTest {
+
+    // 0 -9-> 1, 0 -1-> 2 -1-> 3 -1-> 1, 1 -0-> 4, and 5 on its own
+    private static final int[][] TARGETS = {{1, 2}, {4}, {3}, {1}, {}, {}};
+    private static final int[][] WEIGHTS = {{9, 1}, {0}, {1}, {1}, {}, {}};
+
+    private static final GraphSearch.Neighbours GRAPH = (state, edges) -> {
+        for (int k = 0; k < TARGETS[state].length; k++) {
+            edges.add(TARGETS[state][k], WEIGHTS[state][k]);
+        }
+    };
+
+    @Test
+    public void testShortestDistance() {
+        assertEquals(3, GraphSearch.shortestDistance(6, 0, 9, GRAPH, (s) -> s == 1));
+        // over a zero weight move
+        assertEquals(3, GraphSearch.shortestDistance(6, 0, 9, GRAPH, (s) -> s == 4));
+        assertEquals(0, GraphSearch.shortestDistance(6, 0, 9, GRAPH, (s) -> s == 0));
+        assertEquals(GraphSearch.UNREACHED, GraphSearch.shortestDistance(6, 0, 9, GRAPH, (s) -> s == 5));
+    }
+
+    @Test
+    public void testBreadthFirst() {
+        assertArrayEquals(new int[] {0, 1, 1, 2, 2, -1}, GraphSearch.breadthFirst(6, 0, Integer.MAX_VALUE, GRAPH));
+        assertArrayEquals(new int[] {0, 1, 1, -1, -1, -1}, GraphSearch.breadthFirst(6, 0, 1, GRAPH));
+    }
+}
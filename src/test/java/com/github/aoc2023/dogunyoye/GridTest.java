@@ -0,0 +1,55 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class GridTest {
+
+    private static final List<String> DATA = List.of("ab.", ".S#");
+
+    @Test
+    public void testIndexing() {
+        final Grid grid = Grid.of(DATA, '#');
+        assertEquals(2, grid.depth());
+        assertEquals(3, grid.length());
+        assertEquals('S', grid.get(1, 1));
+
+        final int idx = grid.indexOf('S');
+        assertEquals(1, grid.row(idx));
+        assertEquals(1, grid.column(idx));
+        assertEquals(-1, grid.indexOf('z'));
+    }
+
+    @Test
+    public void testBorder() {
+        final Grid grid = Grid.of(DATA, '#');
+        final int topLeft = grid.index(0, 0);
+
+        assertEquals('#', grid.get(topLeft + grid.offset(Grid.NORTH)));
+        assertEquals('#', grid.get(topLeft + grid.offset(Grid.WEST)));
+        assertEquals('#', grid.get(topLeft + grid.surroundingOffset(7)));
+        assertEquals('b', grid.get(topLeft + grid.offset(Grid.EAST)));
+        assertEquals('S', grid.get(topLeft + grid.surroundingOffset(3)));
+
+        assertTrue(grid.isBorder(topLeft + grid.offset(Grid.NORTH)));
+        assertFalse(grid.isBorder(topLeft));
+    }
+
+    @Test
+    public void testCopyAndToString() {
+        final Grid grid = Grid.of(DATA, '#');
+        final Grid copy = grid.copy();
+        copy.set(0, 0, '.');
+
+        assertEquals("ab.\n.S#\n", grid.toString());
+        assertEquals(".b.\n.S#\n", copy.toString());
+        assertFalse(grid.equals(copy));
+        assertEquals(grid, Grid.of(DATA, '#'));
+        assertEquals("...\n...\n", Grid.filled(2, 3, '.', '#').toString());
+    }
+}
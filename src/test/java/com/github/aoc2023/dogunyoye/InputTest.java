@@ -0,0 +1,67 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+
+public class InputTest {
+
+    private static Input write(String content) throws IOException {
+        final Path file = Files.createTempFile("aoc2023", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return Input.map(file);
+    }
+
+    @Test
+    public void testLinesMatchReadAllLines() throws IOException {
+        final Path file = Path.of("src/test/resources/Day05TestInput.txt");
+        assertEquals(Files.readAllLines(file), Input.map(file).lines());
+    }
+
+    @Test
+    public void testLineTerminators() throws IOException {
+        assertEquals(List.of("a", "", "bc"), write("a\r\n\nbc\n").lines());
+        assertEquals(List.of("a", ""), write("a\n\n").lines());
+        assertEquals(List.of("a"), write("a").lines());
+        assertEquals(0, write("").lineCount());
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        final Input input = write("19, 13, 30 @ -2,  1, -2\nGame 12: 3 blue\n");
+        final Input.Cursor cursor = input.cursor().line(0);
+
+        assertEquals(19, cursor.nextLong());
+        assertEquals(13, cursor.nextLong());
+        assertEquals(30, cursor.nextLong());
+        assertEquals(-2, cursor.nextLong());
+        assertEquals(1, cursor.nextInt());
+        assertEquals(-2, cursor.nextInt());
+        assertFalse(cursor.hasNextNumber());
+
+        cursor.line(1);
+        assertTrue(cursor.startsWith("Game"));
+        assertEquals(12, cursor.nextInt());
+        assertTrue(cursor.skipPast(':'));
+        assertEquals(3, cursor.nextInt());
+        assertEquals("blue", cursor.skipWhitespace().nextToken(","));
+    }
+
+    @Test
+    public void testOfList() {
+        final List<String> lines = List.of("px{a<2006:qkq,rfg}", "", "{x=787}");
+        final Input input = Input.of(lines);
+        assertEquals(lines, input.lines());
+        assertTrue(input.isEmpty(1));
+        assertEquals("px", input.cursor().line(0).nextToken("{"));
+    }
+}
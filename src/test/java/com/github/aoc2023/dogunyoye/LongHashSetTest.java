@@ -0,0 +1,63 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class LongHashSetTest {
+
+    @Test
+    public void testAddContainsRemove() {
+        final LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(-42));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-42));
+        assertFalse(set.contains(42));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(1, set.size());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(-42));
+    }
+
+    @Test
+    public void testMatchesHashSet() {
+        final LongHashSet set = new LongHashSet(4);
+        final Set<Long> expected = new HashSet<>();
+        final Random random = new Random(2023);
+
+        // small key range so adds and removes keep colliding
+        for (int i = 0; i < 200_000; i++) {
+            final long key = random.nextInt(5_000) - 2_500;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long key = -2_500; key < 2_500; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+
+        final Set<Long> iterated = new HashSet<>();
+        set.forEach(iterated::add);
+        assertEquals(expected, iterated);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LongLongHashMapTest {
+
+    @Test
+    public void testPutGet() {
+        final LongLongHashMap map = new LongLongHashMap();
+        assertEquals(-1, map.get(0, -1));
+        assertFalse(map.containsKey(0));
+
+        map.put(0, 5);
+        map.put(Coordinates.pack(1, 2, 3), 7);
+        map.put(Coordinates.pack(1, 2, 3), 8);
+
+        assertEquals(5, map.get(0, -1));
+        assertEquals(8, map.get(Coordinates.pack(1, 2, 3), -1));
+        assertTrue(map.containsKey(Coordinates.pack(1, 2, 3)));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        final LongLongHashMap map = new LongLongHashMap(4);
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(2023);
+
+        for (int i = 0; i < 100_000; i++) {
+            final long key = random.nextLong() >> random.nextInt(64);
+            final long value = random.nextLong();
+            map.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> assertEquals((long) v, map.get(k, ~v)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class MetricsTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(Metrics.ENABLED);
+
+        final Metrics.Counter counter = Metrics.counter("MetricsTest.counter");
+        counter.increment();
+        counter.add(5);
+        assertEquals(0, counter.value());
+
+        final Metrics.Timer timer = Metrics.timer("MetricsTest.timer");
+        timer.stop(timer.start());
+        assertEquals(0, timer.count());
+        assertEquals("{}", Metrics.json());
+    }
+
+    @Test
+    public void testSameNameSameHandle() {
+        assertTrue(Metrics.counter("MetricsTest.shared") == Metrics.counter("MetricsTest.shared"));
+        assertTrue(Metrics.timer("MetricsTest.shared") == Metrics.timer("MetricsTest.shared"));
+    }
+
+    @Test
+    public void testFormats() {
+        final List<Metrics.Sample> samples = List.of(
+            new Metrics.Sample("Day17.djikstra", 2, 3_500_000, true),
+            new Metrics.Sample("Day17.djikstra.pops", 42, 0, false));
+
+        assertEquals("{\n  \"Day17.djikstra\": {\"count\": 2, \"nanos\": 3500000},\n  \"Day17.djikstra.pops\": 42\n}",
+            Metrics.json(samples));
+
+        final String[] rows = Metrics.table(samples).split(System.lineSeparator());
+        assertEquals(3, rows.length);
+        assertTrue(rows[1].startsWith("Day17.djikstra "));
+        assertTrue(rows[1].endsWith("3.500"));
+        assertTrue(rows[2].endsWith("-"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+public class PhaseEventTest {
+
+    @Test
+    public void testDay22PhasesAreRecorded() throws IOException {
+        final List<String> data = Files.readAllLines(Path.of("src/test/resources/Day22TestInput.txt"));
+        final Path dump = Files.createTempFile("phases", ".jfr");
+
+        try (final Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.NAME);
+            recording.start();
+            assertEquals(7, new Day22().calculateChainReaction(data));
+            recording.stop();
+            recording.dump(dump);
+
+            final List<String> phases = RecordingFile.readAllEvents(dump)
+                .stream()
+                .filter((e) -> e.getEventType().getName().equals(PhaseEvent.NAME))
+                .map((e) -> e.getString("day") + "." + e.getString("phase"))
+                .toList();
+
+            assertEquals(List.of("Day22.buildSupportMap", "Day22.performChainReaction"), phases);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class PolygonTest {
+
+    private static Polygon polygon(long... xys) {
+        final Polygon polygon = new Polygon();
+        for (int i = 0; i < xys.length; i += 2) {
+            polygon.add(xys[i], xys[i + 1]);
+        }
+        return polygon.close();
+    }
+
+    @Test
+    public void testSquare() {
+        final Polygon square = polygon(0, 0, 0, 4, 4, 4, 4, 0);
+        assertEquals(16, square.area());
+        assertEquals(16, square.boundaryPoints());
+        assertEquals(9, square.interiorPoints());
+        assertEquals(25, square.latticePoints());
+
+        // either way round, with collinear and repeated vertices
+        final Polygon again = polygon(0, 0, 2, 0, 4, 0, 4, 4, 4, 4, 0, 4);
+        assertEquals(16, again.area());
+        assertEquals(9, again.interiorPoints());
+    }
+
+    @Test
+    public void testTriangle() {
+        // a 3-4-5 triangle: only its corners are on the hypotenuse
+        final Polygon triangle = polygon(0, 0, 4, 0, 0, 3);
+        assertEquals(6, triangle.area());
+        assertEquals(8, triangle.boundaryPoints());
+        assertEquals(3, triangle.interiorPoints());
+    }
+
+    @Test
+    public void testCrossProductsOverflowALong() {
+        // twice the area is 1.8e19, past Long.MAX_VALUE, but the area is not
+        final long side = 3_000_000_000L;
+        final Polygon square = polygon(-side, -side, -side, 0, 0, 0, 0, -side);
+        assertEquals(side * side, square.area());
+        assertEquals((side - 1) * (side - 1), square.interiorPoints());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testResultOverflowsALong() {
+        final long side = 4_000_000_000L;
+        polygon(0, 0, side, 0, side, side, 0, side).area();
+    }
+}
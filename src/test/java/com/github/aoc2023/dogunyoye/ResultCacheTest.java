@@ -0,0 +1,140 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResultCacheTest {
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        final Path directory = Files.createTempDirectory("aoc2023-cache");
+        directory.toFile().deleteOnExit();
+        file = directory.resolve("results.log");
+        file.toFile().deleteOnExit();
+    }
+
+    @Test
+    public void testRoundTripKeepsTypes() {
+        final ResultCache cache = ResultCache.open(file, 10);
+        cache.put("a", 8);
+        cache.put("b", 952408144115L);
+        cache.put("c", "jgrapht");
+        cache.put("d", null);
+
+        assertEquals(8, cache.get("a"));
+        assertEquals(952408144115L, cache.get("b"));
+        assertEquals("jgrapht", cache.get("c"));
+        assertNull(cache.get("d"));
+        assertNull(cache.get("e"));
+
+        final ResultCache reopened = ResultCache.open(file, 10);
+        assertEquals(3, reopened.size());
+        assertEquals(8, reopened.get("a"));
+        assertEquals(952408144115L, reopened.get("b"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        final ResultCache cache = ResultCache.open(file, 2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+
+        // the hit on "a" was logged, so the order of use survives a reopen
+        final ResultCache reopened = ResultCache.open(file, 2);
+        assertEquals(1, reopened.get("a"));
+        assertEquals(3, reopened.get("c"));
+        assertNull(reopened.get("b"));
+    }
+
+    @Test
+    public void testLogIsCompacted() throws IOException {
+        final ResultCache cache = ResultCache.open(file, 3);
+        for (int i = 0; i < 50; i++) {
+            cache.put("k" + (i % 5), i);
+        }
+
+        assertTrue(Files.readAllLines(file).size() <= 6);
+        final ResultCache reopened = ResultCache.open(file, 3);
+        assertEquals(3, reopened.size());
+        assertEquals(49, reopened.get("k4"));
+        assertNull(reopened.get("k1"));
+    }
+
+    @Test
+    public void testKey() throws IOException {
+        final Path example = Path.of("src/test/resources/Day02TestInput.txt");
+        final Solver solver = Solvers.create(2);
+        final Input input = Input.map(example);
+
+        assertEquals(ResultCache.key(solver, 1, input), ResultCache.key(Solvers.create(2), 1, Input.map(example)));
+        assertNotEquals(ResultCache.key(solver, 1, input), ResultCache.key(solver, 2, input));
+        assertNotEquals(ResultCache.key(solver, 1, input),
+            ResultCache.key(solver, 1, Input.map(Path.of("src/test/resources/Day07TestInput.txt"))));
+        assertNotEquals(ResultCache.key(solver, 1, input), ResultCache.key(Solvers.create(7), 1, input));
+    }
+
+    @Test
+    public void testClassHash() {
+        assertEquals(ResultCache.classHash(Day20.class), ResultCache.classHash(Day20.class));
+        assertNotEquals(ResultCache.classHash(Day20.class), ResultCache.classHash(Day02.class));
+    }
+
+    @Test
+    public void testSharedClassChangeInvalidates() throws IOException {
+        final Path classes = Files.createTempDirectory("aoc2023-classes");
+        final Path day = classes.resolve("com/github/aoc2023/dogunyoye/Day02.class");
+        final Path helper = classes.resolve("com/github/aoc2023/dogunyoye/Grid.class");
+        Files.createDirectories(day.getParent());
+        Files.write(day, new byte[] {1, 2, 3});
+        Files.write(helper, new byte[] {4, 5, 6});
+
+        final byte[] before = ResultCache.packageHash(classes, "com/github/aoc2023/dogunyoye");
+        assertArrayEquals(before, ResultCache.packageHash(classes, "com/github/aoc2023/dogunyoye"));
+
+        // only the shared helper changes, the day's own class file does not
+        Files.write(helper, new byte[] {4, 5, 7});
+        assertFalse(Arrays.equals(before, ResultCache.packageHash(classes, "com/github/aoc2023/dogunyoye")));
+
+        try (final Stream<Path> files = Files.walk(classes)) {
+            files.sorted(Comparator.reverseOrder()).forEach((f) -> f.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testRunnerUsesCache() throws IOException {
+        final Path input = file.resolveSibling("Day02.txt");
+        Files.copy(Path.of("src/test/resources/Day02TestInput.txt"), input);
+        input.toFile().deleteOnExit();
+
+        final ResultCache cache = ResultCache.open(file, 10);
+        final SolverRunner.Result first = SolverRunner.run(2, input, cache);
+        final SolverRunner.Result second = SolverRunner.run(2, input, cache);
+
+        assertFalse(first.partOne().cached());
+        assertTrue(second.partOne().cached());
+        assertTrue(second.partTwo().cached());
+        assertEquals(first.partOne().answer(), second.partOne().answer());
+        assertEquals(first.partTwo().answer(), second.partTwo().answer());
+    }
+}
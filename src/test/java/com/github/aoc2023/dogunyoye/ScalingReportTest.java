@@ -0,0 +1,58 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ScalingReportTest {
+
+    @Test
+    public void testExponent() {
+        final double[] x = {10, 100, 1000, 10000};
+        assertEquals(2.0, ScalingReport.exponent(x, new double[] {3e2, 3e4, 3e6, 3e8}), 1e-9);
+        assertEquals(1.0, ScalingReport.exponent(x, new double[] {5e1, 5e2, 5e3, 5e4}), 1e-9);
+        assertTrue(Double.isNaN(ScalingReport.exponent(new double[] {10}, new double[] {1})));
+    }
+
+    @Test
+    public void testClimb() {
+        final List<ScalingReport.Row> rows = ScalingReport.climb(9, 1, new int[] {10, 100, 1000}, Long.MAX_VALUE, 1);
+        assertEquals(3, rows.size());
+        for (final ScalingReport.Row row : rows) {
+            assertNull(row.error());
+            assertTrue(row.inputBytes() > 0);
+            assertTrue(row.allocatedBytes() > 0);
+        }
+        assertTrue(rows.get(2).inputBytes() > rows.get(0).inputBytes());
+
+        // every run is over a budget of nothing, so the climb stops at the first size
+        assertEquals(1, ScalingReport.climb(9, 1, new int[] {10, 100, 1000}, 0, 1).size());
+    }
+
+    @Test
+    public void testReport() {
+        final List<ScalingReport.Row> rows = List.of(
+            new ScalingReport.Row(22, 2, 100, 1000, 1_000_000, 10, 10, null),
+            new ScalingReport.Row(22, 2, 1000, 10000, 300_000_000, 1000, 10, null),
+            new ScalingReport.Row(22, 2, 10000, 100000, 0, 0, 0, "java.lang.RuntimeException: x"));
+        final ScalingReport.Fit fit = ScalingReport.fit(22, 2, rows);
+        assertEquals(2.48, fit.bytesExponent(), 0.01);
+        assertTrue(fit.superlinear());
+        assertFalse(ScalingReport.fit(9, 1, rows.subList(0, 1)).superlinear());
+
+        final StringWriter markdown = new StringWriter();
+        ScalingReport.writeMarkdown(List.of(fit), new PrintWriter(markdown, true));
+        assertTrue(markdown.toString().contains("| Day22 | 2 | 100, 1000, 10000 | 300.0 | 2.48 | 2.48 | 2.00 | **superlinear** fails at 10000"));
+
+        final StringWriter csv = new StringWriter();
+        ScalingReport.writeCsv(List.of(fit), new PrintWriter(csv, true));
+        assertEquals(4, csv.toString().lines().count());
+    }
+}
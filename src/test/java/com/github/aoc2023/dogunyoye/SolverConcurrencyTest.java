@@ -0,0 +1,94 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.github.aoc2023.dogunyoye.generator.Generators;
+
+/**
+ * Solves a few hundred generated inputs at once, sharing one solver instance per day
+ * across all threads, and checks every answer matches solving the same input alone.
+ */
+public class SolverConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    // small inputs, so the whole run stays quick. Day20 part 2 expects all four of the
+    // real input's counter branches
+    private static final int[] SIZES = {
+        100, 30, 30, 60, 8, 10000, 100, 600, 30, 20,
+        30, 30, 10, 100, 100, 15, 15, 30, 40, 4,
+        31, 60, 17, 6, 30
+    };
+
+    // days whose part 2 takes seconds whatever the size (14 needs a real sized map,
+    // 20 presses the button tens of thousands of times, 24 searches rock velocities)
+    private static final int[] SLOW_DAYS = {14, 20, 24};
+
+    private static final int SEEDS = 10;
+
+    private record Case(int day, long seed, Input input) { }
+
+    private static boolean isSlow(int day) {
+        for (final int d : SLOW_DAYS) {
+            if (d == day) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Object> solve(Solver solver, Input input) {
+        final List<Object> answers = new ArrayList<>();
+        answers.add(solver.partOne(input));
+        answers.add(solver.partTwo(input));
+        return answers;
+    }
+
+    @Test
+    public void testConcurrentSolvesMatchIsolatedSolves() throws InterruptedException, ExecutionException {
+        final List<Case> cases = new ArrayList<>();
+        for (int day = 1; day <= Solvers.days(); day++) {
+            final int seeds = isSlow(day) ? 2 : SEEDS;
+            for (long seed = 1; seed <= seeds; seed++) {
+                cases.add(new Case(day, seed, Input.of(Generators.create(day).generate(SIZES[day - 1], seed))));
+            }
+        }
+
+        final List<List<Object>> expected = new ArrayList<>();
+        for (final Case c : cases) {
+            expected.add(solve(Solvers.create(c.day()), c.input()));
+        }
+
+        final Solver[] shared = new Solver[Solvers.days() + 1];
+        for (int day = 1; day <= Solvers.days(); day++) {
+            shared[day] = Solvers.create(day);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<List<Object>>> futures = new ArrayList<>();
+            // interleave the days, so the same solver instance is busy on several threads at once
+            for (int i = 0; i < cases.size(); i++) {
+                final Case c = cases.get((int) ((i * 7919L) % cases.size()));
+                futures.add(executor.submit(() -> solve(shared[c.day()], c.input())));
+            }
+
+            for (int i = 0; i < cases.size(); i++) {
+                final int idx = (int) ((i * 7919L) % cases.size());
+                final Case c = cases.get(idx);
+                assertEquals("Day " + c.day() + " seed " + c.seed(), expected.get(idx), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class SolverDaemonTest {
+
+    private static final String DAY_02 = Path.of("src/test/resources/Day02TestInput.txt").toAbsolutePath().toString();
+
+    private static String answer(String reply) {
+        assertTrue(reply, reply.startsWith("OK "));
+        return reply.split(" ", 4)[3];
+    }
+
+    // the socket file appears on bind, slightly before the daemon is listening
+    private static String sendWhenListening(Path socket, String request) throws InterruptedException {
+        while (true) {
+            try {
+                return SolverClient.send(socket, request);
+            } catch (IOException e) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    public void testHandle() {
+        final SolverDaemon daemon = new SolverDaemon();
+        assertEquals("8", answer(daemon.handle("2 1 " + DAY_02)));
+        assertEquals("2286", answer(daemon.handle("2 2 " + DAY_02)));
+
+        assertTrue(daemon.handle("26 1 " + DAY_02).startsWith("ERR unknown day"));
+        assertTrue(daemon.handle("2 3 " + DAY_02).startsWith("ERR unknown part"));
+        assertTrue(daemon.handle("2 1").startsWith("ERR expected"));
+        assertTrue(daemon.handle("2 1 does/not/exist.txt").startsWith("ERR "));
+    }
+
+    @Test
+    public void testHandleError() {
+        final Solver overflowing = new Solver() {
+            @Override
+            public Object partOne(List<String> data) {
+                throw new StackOverflowError();
+            }
+
+            @Override
+            public Object partTwo(List<String> data) {
+                throw new OutOfMemoryError("Java heap space");
+            }
+        };
+        final SolverDaemon daemon = new SolverDaemon(new Solver[] {overflowing});
+        assertEquals("ERR java.lang.StackOverflowError", daemon.handle("1 1 " + DAY_02));
+        assertEquals("ERR java.lang.OutOfMemoryError: Java heap space", daemon.handle("1 2 " + DAY_02));
+    }
+
+    @Test(timeout = 10000)
+    public void testServe() throws Exception {
+        final Path directory = Files.createTempDirectory("aoc2023-daemon");
+        final Path socket = directory.resolve("aoc.sock");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> served = executor.submit(() -> {
+                new SolverDaemon().serve(socket);
+                return null;
+            });
+            assertEquals("8", answer(sendWhenListening(socket, "2 1 " + DAY_02)));
+            assertEquals("2286", answer(SolverClient.send(socket, "2 2 " + DAY_02)));
+            assertEquals("OK", SolverClient.send(socket, SolverDaemon.SHUTDOWN));
+
+            served.get();
+            assertTrue(Files.notExists(socket));
+        } finally {
+            executor.shutdownNow();
+            Files.deleteIfExists(socket);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
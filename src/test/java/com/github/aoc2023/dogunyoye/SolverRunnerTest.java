@@ -0,0 +1,51 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SolverRunnerTest {
+    private static Path inputDirectory;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        inputDirectory = Files.createTempDirectory("aoc2023");
+        inputDirectory.toFile().deleteOnExit();
+        for (final String day : List.of("Day02", "Day07", "Day09")) {
+            final Path input = inputDirectory.resolve(day + ".txt");
+            Files.copy(Path.of("src/test/resources/" + day + "TestInput.txt"), input, StandardCopyOption.REPLACE_EXISTING);
+            input.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testRun() {
+        final SolverRunner.Result result = SolverRunner.run(2, inputDirectory.resolve("Day02.txt"));
+        assertNull(result.error());
+        assertEquals("8", result.partOne().answer().toString());
+        assertEquals("2286", result.partTwo().answer().toString());
+    }
+
+    @Test
+    public void testRunAll() {
+        final List<SolverRunner.Result> results = SolverRunner.runAll(inputDirectory, 4);
+        assertEquals(Solvers.days(), results.size());
+
+        assertEquals("6440", results.get(6).partOne().answer().toString());
+        assertEquals("5905", results.get(6).partTwo().answer().toString());
+        assertEquals("114", results.get(8).partOne().answer().toString());
+        assertEquals("2", results.get(8).partTwo().answer().toString());
+
+        // days without an input are reported rather than failing the whole run
+        assertNotNull(results.get(0).error());
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.aoc2023.dogunyoye.generator.Generators;
+
+public class StreamingSolversTest {
+
+    private static final int[][] PARTS = {{1, 1}, {1, 2}, {2, 1}, {2, 2}, {4, 1}, {9, 1}, {9, 2}, {12, 1}, {12, 2}};
+
+    // by day; only the streamed days are used
+    private static final int[] SIZES = {2000, 1000, 0, 800, 0, 0, 0, 0, 600, 0, 0, 200};
+
+    private static long expected(int day, int part, List<String> lines) {
+        final Solver solver = Solvers.create(day);
+        final Object answer = part == 1 ? solver.partOne(lines) : solver.partTwo(lines);
+        return ((Number) answer).longValue();
+    }
+
+    @Test
+    public void testSolve() throws IOException {
+        for (final int[] p : PARTS) {
+            final List<String> lines = Generators.create(p[0]).generate(SIZES[p[0] - 1], 7L);
+            final byte[] bytes = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+
+            try (final InputStream in = new ByteArrayInputStream(bytes)) {
+                assertEquals(Solvers.name(p[0]) + " part " + p[1], expected(p[0], p[1], lines), StreamingSolvers.solve(p[0], p[1], in));
+            }
+        }
+    }
+
+    @Test
+    public void testSolveParallel() throws IOException {
+        final Path file = Files.createTempFile("aoc2023-stream", ".txt");
+        file.toFile().deleteOnExit();
+
+        for (final int[] p : PARTS) {
+            final List<String> lines = Generators.create(p[0]).generate(SIZES[p[0] - 1], 11L);
+            Files.write(file, lines);
+
+            for (final int chunks : new int[] {1, 3, 16}) {
+                assertEquals(Solvers.name(p[0]) + " part " + p[1] + ", " + chunks + " chunks",
+                    expected(p[0], p[1], lines), StreamingSolvers.solveParallel(p[0], p[1], file, chunks));
+            }
+        }
+    }
+
+    @Test
+    public void testSmallBlocks() throws IOException {
+        // lines longer than the block, and no terminator after the last one
+        final String input =
+            "Game 1: 3 blue, 4 red; 1 red, 2 green, 6 blue; 2 green\r\n" +
+            "Game 2: 1 blue, 2 green; 3 green, 4 blue, 1 red; 1 green, 1 blue\r\n" +
+            "Game 3: 8 green, 6 blue, 20 red; 5 blue, 4 red, 13 green; 5 green, 1 red";
+
+        final long sum = StreamingSolvers.sum(
+            Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+            (block) -> new Day02().sumCandidateGameIds(block), 8);
+        assertEquals(3, sum);
+    }
+
+    @Test
+    public void testChunkBounds() throws IOException {
+        final Path file = Files.createTempFile("aoc2023-stream", ".txt");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "aaaa\nbb\ncccccccccccc\nd\n");
+
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long[] bounds = StreamingSolvers.chunkBounds(channel, 6);
+            assertEquals(0, bounds[0]);
+            assertEquals(channel.size(), bounds[6]);
+            for (int i = 1; i < bounds.length; i++) {
+                assertTrue(bounds[i] >= bounds[i - 1]);
+            }
+            for (int i = 1; i < 6; i++) {
+                final String before = Files.readString(file).substring(0, (int) bounds[i]);
+                assertTrue(before.isEmpty() || before.endsWith("\n"));
+            }
+        }
+    }
+
+    @Test
+    public void testSupports() {
+        assertTrue(StreamingSolvers.supports(4, 1));
+        assertFalse(StreamingSolvers.supports(4, 2));
+        assertFalse(StreamingSolvers.supports(17, 1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.aoc2023.dogunyoye;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.github.aoc2023.dogunyoye.generator.Generators;
+
+public class TailSolverTest {
+
+    private static Path tempFile() throws IOException {
+        final Path file = Files.createTempFile("aoc2023-tail", ".txt");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    private static void append(Path file, String text) throws IOException {
+        Files.writeString(file, text, StandardOpenOption.APPEND);
+    }
+
+    @Test
+    public void testUpdate() throws IOException {
+        final List<String> lines = Generators.create(9).generate(200, 5L);
+        final Path file = tempFile();
+        final TailSolver tail = new TailSolver(9, file);
+        final Day09 day09 = new Day09();
+
+        for (int i = 0; i < lines.size(); i += 50) {
+            append(file, String.join("\n", lines.subList(i, i + 50)) + "\n");
+            assertTrue(tail.update());
+
+            final List<String> read = lines.subList(0, i + 50);
+            assertEquals(day09.calculateSumOfExrapolatedValues(read, true), tail.total(1));
+            assertEquals(day09.calculateSumOfExrapolatedValues(read, false), tail.total(2));
+        }
+
+        assertFalse(tail.update());
+        assertEquals(Files.size(file), tail.position());
+    }
+
+    @Test
+    public void testPartialLine() throws IOException {
+        final Path file = tempFile();
+        final TailSolver tail = new TailSolver(2, file);
+
+        append(file, "Game 1: 3 blue, 4 red; 1 red, 2 green, 6 blue; 2 green\nGame 2: 1 blue, 2 gr");
+        tail.update();
+        assertEquals(1, tail.total(1));
+        assertEquals(48, tail.total(2));
+
+        append(file, "een; 3 green, 4 blue, 1 red; 1 green, 1 blue\n");
+        tail.update();
+        assertEquals(3, tail.total(1));
+        assertEquals(60, tail.total(2));
+        assertTrue(tail.supports(2));
+    }
+
+    @Test
+    public void testReplacedFile() throws IOException {
+        final Path file = tempFile();
+        final TailSolver tail = new TailSolver(1, file);
+
+        append(file, "1abc2\npqr3stu8vwx\n");
+        tail.update();
+        assertEquals(50, tail.total(1));
+
+        Files.writeString(file, "a1b2c3d4e5f\n");
+        tail.update();
+        assertEquals(15, tail.total(1));
+    }
+
+    @Test(timeout = 30000)
+    public void testWatch() throws Exception {
+        final Path file = tempFile();
+        append(file, "1abc2\n");
+
+        final BlockingQueue<Long> totals = new LinkedBlockingQueue<>();
+        final Thread watcher = new Thread(() -> {
+            try {
+                new TailSolver(1, file).watch((t) -> totals.add(t.total(1)));
+            } catch (InterruptedException e) {
+                // stopped by the test
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        watcher.start();
+
+        try {
+            assertEquals(12L, (long) totals.poll(10, TimeUnit.SECONDS));
+            append(file, "treb7uchet\n");
+
+            // the append may be seen as more than one change
+            long total = 0;
+            while (total != 89) {
+                total = totals.poll(20, TimeUnit.SECONDS);
+            }
+        } finally {
+            watcher.interrupt();
+            watcher.join();
+        }
+    }
+}
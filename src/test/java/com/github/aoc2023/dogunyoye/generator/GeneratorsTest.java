@@ -0,0 +1,67 @@
+package com.github.aoc2023.dogunyoye.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.aoc2023.dogunyoye.Input;
+import com.github.aoc2023.dogunyoye.Solver;
+import com.github.aoc2023.dogunyoye.Solvers;
+
+public class GeneratorsTest {
+
+    // small enough that every day solves quickly
+    private static final int[] SIZES = {
+        200, 50, 40, 100, 10, 100000, 200, 2000, 50, 30,
+        40, 50, 20, 100, 200, 20, 20, 40, 60, 4,
+        131, 100, 23, 10, 40
+    };
+
+    @Test
+    public void testEveryDayIsRegistered() {
+        assertEquals(Solvers.days(), Generators.days());
+        assertEquals(Generators.days(), SIZES.length);
+    }
+
+    @Test
+    public void testSameSeedSameInput() {
+        for (int day = 1; day <= Generators.days(); day++) {
+            final InputGenerator generator = Generators.create(day);
+            assertEquals("Day " + day, generator.generate(SIZES[day - 1], 7L), generator.generate(SIZES[day - 1], 7L));
+        }
+    }
+
+    @Test
+    public void testEveryDaySolvesGeneratedInput() {
+        for (int day = 1; day <= Generators.days(); day++) {
+            final List<String> lines = Generators.create(day).generate(SIZES[day - 1], 2023L);
+            assertFalse("Day " + day, lines.isEmpty());
+
+            final Solver solver = Solvers.create(day);
+            final Input input = Input.of(lines);
+            assertNotNull("Day " + day, solver.partOne(input));
+            // there is no part 2 on the last day
+            if (day < Generators.days()) {
+                assertNotNull("Day " + day, solver.partTwo(input));
+            }
+        }
+    }
+
+    @Test
+    public void testDay20CountersMultiply() {
+        final Day20Generator generator = new Day20Generator();
+        for (int branches = 2; branches <= 4; branches++) {
+            long product = 1;
+            for (final int period : generator.periods(branches, 2023L)) {
+                product *= period;
+            }
+
+            final List<String> lines = generator.generate(branches, 2023L);
+            assertEquals("Branches " + branches, product, Solvers.create(20).partTwo(Input.of(lines)));
+        }
+    }
+}